@@ -0,0 +1,215 @@
+package jimmy;
+
+import jimmy.command.Parser;
+import jimmy.exception.JimmyException;
+import jimmy.storage.StorageEngine;
+import jimmy.task.TaskList;
+import jimmy.ui.Ui;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.util.Scanner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Processes a large piped input in stages that overlap, instead of reading, parsing,
+ * running and printing each line before starting on the next. A reader thread reads
+ * lines and hands them to a pool that parses several at once; the calling thread runs
+ * the parsed commands one at a time, in input order, so commands behave exactly as in
+ * {@link Jimmy#run}; a writer thread prints the replies. The stages are joined by
+ * bounded queues, so a fast reader cannot run ahead of the commands by more than a
+ * fixed number of lines.
+ *
+ * <p>The output is the same, line for line, as that of {@link Jimmy#run} on the same input.</p>
+ */
+public class CommandPipeline {
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    /** Placed in the parse queue after the last line */
+    private static final Future<ParsedLine> END_OF_INPUT = CompletableFuture.completedFuture(null);
+
+    /** Placed in the reply queue after the last reply; compared by identity, so no reply can match it */
+    private static final String END_OF_OUTPUT = new String();
+
+    /**
+     * One line of input after the parse stage: either the parsed command or the error it gave.
+     */
+    private static final class ParsedLine {
+        private final Parser.ParsedCommand command;
+        private final JimmyException error;
+
+        private ParsedLine(Parser.ParsedCommand command, JimmyException error) {
+            this.command = command;
+            this.error = error;
+        }
+    }
+
+    private final int parseThreads;
+    private final int queueCapacity;
+
+    /**
+     * Constructs a pipeline with one parse thread per processor.
+     */
+    public CommandPipeline() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Constructs a pipeline.
+     *
+     * @param parseThreads The number of threads parsing lines at the same time
+     * @param queueCapacity The number of lines or replies each stage may run ahead of the next
+     */
+    public CommandPipeline(int parseThreads, int queueCapacity) {
+        assert parseThreads > 0 && queueCapacity > 0 : "Pipeline needs at least one thread and one queue slot";
+        this.parseThreads = parseThreads;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Runs every line of the input as a command until the input ends or "bye" is run.
+     * Lines after "bye" may already have been read and parsed, but are never run.
+     *
+     * @param taskList The list of tasks to manage
+     * @param scanner Scanner for reading user input
+     * @param output Where the replies are printed
+     * @param storage Storage engine for persisting tasks
+     */
+    public void run(TaskList taskList, Scanner scanner, PrintStream output, StorageEngine storage) {
+        BlockingQueue<Future<ParsedLine>> parsedLines = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<String> replies = new ArrayBlockingQueue<>(queueCapacity);
+        ExecutorService parsers = Executors.newFixedThreadPool(parseThreads, daemonThreads("jimmy-parse"));
+        Thread reader = daemonThreads("jimmy-read").newThread(() -> read(scanner, parsers, parsedLines));
+        Thread writer = daemonThreads("jimmy-write").newThread(() -> write(replies, output));
+        reader.start();
+        writer.start();
+        try {
+            execute(parsedLines, replies, taskList, storage);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // The reader may be waiting for room in the queue, or for input that is no longer needed
+            reader.interrupt();
+            parsers.shutdownNow();
+            finishOutput(replies, writer);
+        }
+    }
+
+    /**
+     * The reader stage: reads lines and queues their parsing, in input order.
+     */
+    private static void read(Scanner scanner, ExecutorService parsers, BlockingQueue<Future<ParsedLine>> parsedLines) {
+        try {
+            while (scanner.hasNextLine()) {
+                String line = scanner.nextLine();
+                parsedLines.put(parsers.submit(() -> parse(line)));
+            }
+            parsedLines.put(END_OF_INPUT);
+        } catch (InterruptedException | RejectedExecutionException e) {
+            // The commands have ended, so the rest of the input is not needed
+        }
+    }
+
+    /**
+     * The parse stage, run on several threads at once.
+     */
+    private static ParsedLine parse(String line) {
+        try {
+            return new ParsedLine(Parser.parseCommand(line), null);
+        } catch (JimmyException e) {
+            return new ParsedLine(null, e);
+        }
+    }
+
+    /**
+     * The execute stage: runs the parsed commands one at a time, in input order,
+     * and queues the reply to each.
+     */
+    private static void execute(BlockingQueue<Future<ParsedLine>> parsedLines, BlockingQueue<String> replies,
+            TaskList taskList, StorageEngine storage) throws InterruptedException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        Ui ui = new Ui(new PrintStream(buffer, true, Charset.defaultCharset()));
+        boolean isRunning = true;
+        while (isRunning) {
+            ParsedLine line = await(parsedLines.take());
+            if (line == null) {
+                break;
+            }
+            try {
+                if (line.error != null) {
+                    throw line.error;
+                }
+                isRunning = Jimmy.execute(line.command, taskList, ui, storage);
+            } catch (JimmyException e) {
+                ui.showError(e.getMessage());
+            }
+            if (buffer.size() > 0) {
+                replies.put(buffer.toString(Charset.defaultCharset()));
+                buffer.reset();
+            }
+        }
+    }
+
+    /**
+     * The writer stage: prints the replies in the order they were queued.
+     */
+    private static void write(BlockingQueue<String> replies, PrintStream output) {
+        try {
+            for (String reply = replies.take(); reply != END_OF_OUTPUT; reply = replies.take()) {
+                output.print(reply);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        output.flush();
+    }
+
+    /**
+     * Waits for the parse stage to finish a line.
+     *
+     * @return The parsed line, or null at the end of the input
+     */
+    private static ParsedLine await(Future<ParsedLine> parsedLine) throws InterruptedException {
+        try {
+            return parsedLine.get();
+        } catch (ExecutionException e) {
+            // Parsing only fails with a JimmyException, which parse turns into a result
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Parsing a command failed", e.getCause());
+        }
+    }
+
+    /**
+     * Lets the writer print every queued reply, then waits for it to finish.
+     */
+    private static void finishOutput(BlockingQueue<String> replies, Thread writer) {
+        boolean isInterrupted = Thread.interrupted();
+        try {
+            replies.put(END_OF_OUTPUT);
+            writer.join();
+        } catch (InterruptedException e) {
+            isInterrupted = true;
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
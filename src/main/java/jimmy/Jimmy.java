@@ -1,14 +1,27 @@
 package jimmy;
 
 import jimmy.task.Task;
+import jimmy.task.VersionedTaskList;
 import jimmy.task.TaskList;
 import jimmy.task.Todo;
 import jimmy.task.Deadline;
 import jimmy.task.Event;
+import jimmy.command.CommandRegistry;
 import jimmy.command.Parser;
-import jimmy.storage.Storage;
+import jimmy.command.TaskSelection;
+import jimmy.storage.DeferredStorage;
+import jimmy.storage.DurabilityPolicy;
+import jimmy.storage.StorageBackend;
+import jimmy.storage.StorageEngine;
 import jimmy.ui.Ui;
 import jimmy.exception.JimmyException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
 import java.nio.file.Path;
@@ -22,42 +35,148 @@ import java.nio.file.Files;
  * Todo, Deadline, and Event tasks.
  */
 public class Jimmy {
+    private static final String JOURNAL_OPTION = "--journal";
+    private static final String DURABILITY_OPTION = "--durability=";
+    private static final String STORAGE_OPTION = "--storage=";
+    private static final String SCRIPT_OPTION = "--script";
+    private static final String SAVE_EVERY_OPTION = "--save-every=";
+    private static final String VERBOSE_OPTION = "--verbose";
+    private static final String PIPELINE_OPTION = "--pipeline";
+    private static final String ERR_SCRIPT_MISSING = "The --script option needs the file to run, "
+            + "as in '--script commands.txt'.";
+    /** Number of slots the free command lists when no count is given */
+    private static final int DEFAULT_FREE_SLOTS = 5;
+    private static final String ERR_UNKNOWN_COMMAND = "I don't know what that means. Please use a valid command "
+            + "like 'todo', 'deadline', 'event', 'list', 'mark', 'unmark', 'delete', 'find', 'on', 'between', "
+            + "'overdue', 'conflicts', or 'free'.";
+
+    /** The commands Jimmy understands, shared by every session */
+    private static final CommandRegistry COMMANDS = createCommands();
+
+    /**
+     * Builds the registry of the built-in commands.
+     *
+     * @return The registry
+     */
+    private static CommandRegistry createCommands() {
+        CommandRegistry commands = new CommandRegistry();
+        commands.register("bye", false, Jimmy::bye);
+        commands.register("list", false, (fullInput, taskList, ui, storage) -> {
+            ui.showTaskList(taskList.asList());
+            return true;
+        });
+        commands.register("mark", true, Jimmy::mark);
+        commands.register("unmark", true, Jimmy::unmark);
+        commands.register("todo", true, Jimmy::todo);
+        commands.register("deadline", true, Jimmy::deadline);
+        commands.register("event", true, Jimmy::event);
+        commands.register("find", false, Jimmy::find);
+        commands.register("on", false, Jimmy::on);
+        commands.register("between", false, Jimmy::between);
+        commands.register("overdue", false, (fullInput, taskList, ui, storage) -> {
+            ui.showTasksByDate("Here are your overdue deadlines:", taskList.findOverdueTasks(LocalDateTime.now()));
+            return true;
+        });
+        commands.register("conflicts", false, (fullInput, taskList, ui, storage) -> {
+            ui.showConflicts(taskList.findConflicts());
+            return true;
+        });
+        commands.register("free", false, Jimmy::free);
+        commands.register("delete", true, Jimmy::delete);
+        commands.register("blah", false, (fullInput, taskList, ui, storage) -> {
+            throw new JimmyException("I don't know what blah is. Bleh.");
+        });
+        commands.registerAlias("dl", "deadline");
+        return commands;
+    }
+
     /**
-     * Command keywords supported by the application.
-     * Using an enum avoids magic strings and reduces deep nesting.
+     * Returns the registry of commands, to which more commands can be added while Jimmy runs.
+     *
+     * @return The registry shared by every session
      */
-    private enum CommandKeyword {
-        BYE, LIST, MARK, UNMARK, TODO, DEADLINE, EVENT, FIND, DELETE, BLAH, UNKNOWN
+    public static CommandRegistry getCommands() {
+        return COMMANDS;
     }
 
-    private static CommandKeyword toKeyword(String word) {
-        if (word == null) {
-            return CommandKeyword.UNKNOWN;
+    /**
+     * Resolves a task reference, either a 1-based position or a stable id such as "#12",
+     * to the 0-based index of the task.
+     *
+     * @param taskList The list of tasks
+     * @param fullInput The reference typed by the user
+     * @return The 0-based index of the referenced task
+     * @throws JimmyException if the reference is invalid or no task matches it
+     */
+    private static int resolveTaskIndex(TaskList taskList, String fullInput) throws JimmyException {
+        if (Parser.isTaskIdReference(fullInput)) {
+            long id = Parser.parseTaskId(fullInput);
+            int index = taskList.indexOfId(id);
+            if (index < 0) {
+                throw new JimmyException("There is no task with id #" + id + ".");
+            }
+            return index;
+        }
+        int index = Parser.parseTaskIndex(fullInput);
+        if (index >= taskList.getSize()) {
+            throw new JimmyException("Task index " + (index + 1) + " is out of range. You have "
+                    + taskList.getSize() + " tasks.");
         }
-        switch (word) {
-        case "bye":
-            return CommandKeyword.BYE;
-        case "list":
-            return CommandKeyword.LIST;
-        case "mark":
-            return CommandKeyword.MARK;
-        case "unmark":
-            return CommandKeyword.UNMARK;
-        case "todo":
-            return CommandKeyword.TODO;
-        case "deadline":
-            return CommandKeyword.DEADLINE;
-        case "event":
-            return CommandKeyword.EVENT;
-        case "find":
-            return CommandKeyword.FIND;
-        case "delete":
-            return CommandKeyword.DELETE;
-        case "blah":
-            return CommandKeyword.BLAH;
+        return index;
+    }
+
+    /**
+     * Resolves a selection of several tasks, such as "1-500", "all" or "done",
+     * to the 0-based indices of the tasks it refers to.
+     *
+     * @param taskList The list of tasks
+     * @param selection The parsed selection
+     * @return The indices in ascending order
+     * @throws JimmyException if a position is out of range or no task is selected
+     */
+    private static int[] resolveSelection(TaskList taskList, TaskSelection selection) throws JimmyException {
+        int[] indices;
+        switch (selection.getKind()) {
+        case ALL:
+            indices = new int[taskList.getSize()];
+            Arrays.setAll(indices, i -> i);
+            break;
+        case DONE:
+            int[] done = new int[taskList.getSize()];
+            int doneCount = 0;
+            int position = 0;
+            for (Task task : taskList) {
+                if (task.isDone()) {
+                    done[doneCount++] = position;
+                }
+                position++;
+            }
+            indices = Arrays.copyOf(done, doneCount);
+            break;
+        case POSITIONS:
         default:
-            return CommandKeyword.UNKNOWN;
+            if (selection.getLastIndex() >= taskList.getSize()) {
+                throw new JimmyException("Task index " + (selection.getLastIndex() + 1L)
+                        + " is out of range. You have " + taskList.getSize() + " tasks.");
+            }
+            indices = selection.toIndices();
+            break;
         }
+        if (indices.length == 0) {
+            throw new JimmyException("No tasks match that selection.");
+        }
+        return indices;
+    }
+
+    /**
+     * Returns the tasks at the given indices, in the same order.
+     */
+    private static List<Task> tasksAt(TaskList taskList, int[] indices) {
+        List<Task> selected = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            selected.add(taskList.getTask(index));
+        }
+        return selected;
     }
 
     /**
@@ -90,27 +209,108 @@ public class Jimmy {
         System.out.println("DEBUG: Running in development mode, using relative path: data/jimmy.txt");
         return "data/jimmy.txt";
     }
-    private TaskList guiTaskList; // persisted across GUI inputs
-    private Storage guiStorage;
+    private TaskList guiTaskList; // persisted across GUI inputs, safe to share with other sessions
+    private StorageEngine guiStorage;
     
     /**
      * Main entry point for the Jimmy application.
      * Initializes the storage, UI, and task list, then starts the main application loop.
      *
-     * @param args Command line arguments (not used)
+     * @param args Command line arguments; "--storage=&lt;backend&gt;" selects the storage
+     *             backend (text, journal, binary, segmented or memory), "--journal" is
+     *             short for "--storage=journal", and "--durability=&lt;policy&gt;" chooses
+     *             when changes reach the disk; "--script &lt;file&gt;" runs the commands in a
+     *             file with one save at the end, or one every "--save-every=&lt;n&gt;" changes,
+     *             showing every reply only with "--verbose"; "--pipeline" reads, parses and
+     *             runs piped input on separate threads. An unknown or incomplete option is
+     *             reported and Jimmy exits with status 1
      */
     public static void main(String[] args) {
-        Storage storage = new Storage(getDataFilePath());
+        StorageBackend backend = StorageBackend.TEXT;
+        DurabilityPolicy policy = DurabilityPolicy.everyCommand();
+        String scriptPath = null;
+        int saveEvery = 0;
+        boolean isVerbose = false;
+        boolean isPipelined = false;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if (arg.equals(JOURNAL_OPTION)) {
+                    backend = StorageBackend.JOURNAL;
+                } else if (arg.startsWith(DURABILITY_OPTION)) {
+                    policy = DurabilityPolicy.parse(arg.substring(DURABILITY_OPTION.length()));
+                } else if (arg.startsWith(STORAGE_OPTION)) {
+                    backend = StorageBackend.parse(arg.substring(STORAGE_OPTION.length()));
+                } else if (arg.equals(SCRIPT_OPTION)) {
+                    if (i + 1 >= args.length) {
+                        throw new JimmyException(ERR_SCRIPT_MISSING);
+                    }
+                    scriptPath = args[++i];
+                } else if (arg.startsWith(SAVE_EVERY_OPTION)) {
+                    saveEvery = Parser.parseSaveInterval(arg.substring(SAVE_EVERY_OPTION.length()));
+                } else if (arg.equals(VERBOSE_OPTION)) {
+                    isVerbose = true;
+                } else if (arg.equals(PIPELINE_OPTION)) {
+                    isPipelined = true;
+                } else {
+                    throw new JimmyException("Unknown option: " + arg);
+                }
+            }
+        } catch (JimmyException e) {
+            new Ui().showError(e.getMessage());
+            System.exit(1);
+            return;
+        }
+        if (scriptPath != null) {
+            runScript(Paths.get(scriptPath), backend.open(getDataFilePath(), policy), saveEvery, isVerbose);
+            return;
+        }
+        StorageEngine storage = backend.open(getDataFilePath(), policy);
+        // Writes still pending under a deferred policy must not be lost on Ctrl-C
+        Runtime.getRuntime().addShutdownHook(new Thread(storage::close));
         Ui ui = new Ui();
         
         List<Task> loadedTasks = storage.load();
-        TaskList taskList = new TaskList(loadedTasks);
+        TaskList taskList = new TaskList(loadedTasks, storage.getNextId());
         
         ui.showWelcome();
 
         // User input
         Scanner scanner = new Scanner(System.in);
-        run(taskList, scanner, ui, storage);
+        if (isPipelined) {
+            new CommandPipeline().run(taskList, scanner, System.out, storage);
+        } else {
+            run(taskList, scanner, ui, storage);
+        }
+        storage.close();
+    }
+
+    /**
+     * Runs a script of commands with deferred saving, then shows a summary of the run.
+     *
+     * @param script The file holding one command per line
+     * @param backend The storage engine the changes are finally written to
+     * @param saveEvery The number of changes written together, or 0 to write once at the end
+     * @param isVerbose Whether to show every reply, as in an interactive session
+     */
+    private static void runScript(Path script, StorageEngine backend, int saveEvery, boolean isVerbose) {
+        DeferredStorage storage = new DeferredStorage(backend, saveEvery);
+        // Changes held back for the final save must not be lost on Ctrl-C
+        Runtime.getRuntime().addShutdownHook(new Thread(storage::close));
+        Ui ui = new Ui();
+        TaskList taskList = new TaskList(storage.load(), storage.getNextId());
+        if (isVerbose) {
+            ui.showWelcome();
+        }
+        try (BufferedReader reader = Files.newBufferedReader(script)) {
+            ScriptRunner.Summary summary = new ScriptRunner(isVerbose).run(reader, taskList, ui, storage);
+            ui.showFormattedLines(summary.toLines());
+        } catch (IOException e) {
+            ui.showError("Could not open the script " + script + ".");
+        } catch (JimmyException e) {
+            ui.showError(e.getMessage());
+        }
+        storage.close();
     }
 
     /**
@@ -121,117 +321,14 @@ public class Jimmy {
      * @param taskList The list of tasks to manage
      * @param scanner Scanner for reading user input
      * @param ui User interface for displaying messages
-     * @param storage Storage system for persisting tasks
+     * @param storage Storage engine for persisting tasks
      */
-    public static void run(TaskList taskList, Scanner scanner, Ui ui, Storage storage) {
+    public static void run(TaskList taskList, Scanner scanner, Ui ui, StorageEngine storage) {
         boolean running = true;
         while (scanner.hasNextLine() && running) {
             String userInput = scanner.nextLine();
             try {
-                Parser.ParsedCommand parsed = Parser.parseCommand(userInput);
-                String command = parsed.command;
-                CommandKeyword keyword = toKeyword(command);
-
-                switch (keyword) {
-                case BYE:
-                    ui.showGoodbye();
-                    running = false;
-                    break;
-                case LIST:
-                    ui.showTaskList(taskList.getAllTasks());
-                    break;
-                case MARK:
-                    if (!Parser.isValidMarkCommand(parsed.fullInput)) {
-                        throw new JimmyException("The description of a mark cannot be empty.");
-                    }
-                    int markIndex = Parser.parseTaskIndex(parsed.fullInput);
-                    if (markIndex >= taskList.getSize()) {
-                        throw new JimmyException("Task index " + (markIndex + 1) + " is out of range. You have " + taskList.getSize() + " tasks.");
-                    }
-                    Task markedTask = taskList.getTask(markIndex);
-                    taskList.markTaskAsDone(markIndex);
-                    storage.save(taskList.getAllTasks());
-                    ui.showTaskMarkedAsDone(markedTask);
-                    break;
-                case UNMARK:
-                    if (!Parser.isValidUnmarkCommand(parsed.fullInput)) {
-                        throw new JimmyException("The description of an unmark cannot be empty.");
-                    }
-                    int unmarkIndex = Parser.parseTaskIndex(parsed.fullInput);
-                    if (unmarkIndex >= taskList.getSize()) {
-                        throw new JimmyException("Task index " + (unmarkIndex + 1) + " is out of range. You have " + taskList.getSize() + " tasks.");
-                    }
-                    Task unmarkedTask = taskList.getTask(unmarkIndex);
-                    taskList.markTaskAsNotDone(unmarkIndex);
-                    storage.save(taskList.getAllTasks());
-                    ui.showTaskMarkedAsNotDone(unmarkedTask);
-                    break;
-                case TODO:
-                    if (!Parser.isValidTodoCommand(parsed.fullInput)) {
-                        throw new JimmyException("The description of a todo cannot be empty.");
-                    }
-                    Task todoTask = new Todo(parsed.fullInput);
-                    taskList.addTask(todoTask);
-                    storage.save(taskList.getAllTasks());
-                    ui.showTaskAdded(todoTask, taskList.getSize());
-                    break;
-                case DEADLINE:
-                    if (!Parser.isValidDeadlineCommand(parsed.fullInput)) {
-                        throw new JimmyException("The description of a deadline must include '/by'.");
-                    }
-                    String deadlineDesc = Parser.extractDeadlineDescription(parsed.fullInput);
-                    String by = Parser.extractDeadlineDate(parsed.fullInput);
-                    try {
-                        Task deadlineTask = new Deadline(deadlineDesc, by);
-                        taskList.addTask(deadlineTask);
-                        storage.save(taskList.getAllTasks());
-                        ui.showTaskAdded(deadlineTask, taskList.getSize());
-                    } catch (IllegalArgumentException e) {
-                        throw new JimmyException("Invalid date format: " + e.getMessage());
-                    }
-                    break;
-                case EVENT:
-                    if (!Parser.isValidEventCommand(parsed.fullInput)) {
-                        throw new JimmyException("The description of an event must include '/from' and '/to'.");
-                    }
-                    String eventDesc = Parser.extractEventDescription(parsed.fullInput);
-                    String from = Parser.extractEventFrom(parsed.fullInput);
-                    String to = Parser.extractEventTo(parsed.fullInput);
-                    try {
-                        Task eventTask = new Event(eventDesc, from, to);
-                        taskList.addTask(eventTask);
-                        storage.save(taskList.getAllTasks());
-                        ui.showTaskAdded(eventTask, taskList.getSize());
-                    } catch (IllegalArgumentException e) {
-                        throw new JimmyException("Invalid date format: " + e.getMessage());
-                    }
-                    break;
-                case FIND:
-                    if (!Parser.isValidFindCommand(parsed.fullInput)) {
-                        throw new JimmyException("The description of a find cannot be empty.");
-                    }
-                    java.util.List<Task> matches = taskList.findByKeyword(parsed.fullInput);
-                    ui.showMatchingTasks(matches);
-                    break;
-                case BLAH:
-                    throw new JimmyException("I don't know what blah is. Bleh.");
-                case DELETE:
-                    if (!Parser.isValidDeleteCommand(parsed.fullInput)) {
-                        throw new JimmyException("The description of a delete cannot be empty.");
-                    }
-                    int deleteIndex = Parser.parseTaskIndex(parsed.fullInput);
-                    if (deleteIndex >= taskList.getSize()) {
-                        throw new JimmyException("Task index " + (deleteIndex + 1) + " is out of range. You have " + taskList.getSize() + " tasks.");
-                    }
-                    Task removedTask = taskList.getTask(deleteIndex);
-                    taskList.removeTask(deleteIndex);
-                    storage.save(taskList.getAllTasks());
-                    ui.showTaskDeleted(removedTask, taskList.getSize());
-                    break;
-                case UNKNOWN:
-                default:
-                    throw new JimmyException("I don't know what that means. Please use a valid command like 'todo', 'deadline', 'event', 'list', 'mark', 'unmark', 'delete', or 'find'.");
-                }
+                running = execute(userInput, taskList, ui, storage);
             } catch (JimmyException e) {
                 ui.showError(e.getMessage());
             }
@@ -239,14 +336,214 @@ public class Jimmy {
         scanner.close();
     }
 
+    /**
+     * Parses and executes one line of input.
+     *
+     * @param userInput The line typed by the user
+     * @param taskList The list of tasks to manage
+     * @param ui User interface for displaying messages
+     * @param storage Storage engine for persisting tasks
+     * @return false if the command ends the session, true otherwise
+     * @throws JimmyException if the command is invalid or cannot be carried out
+     */
+    static boolean execute(String userInput, TaskList taskList, Ui ui, StorageEngine storage)
+            throws JimmyException {
+        return execute(Parser.parseCommand(userInput), taskList, ui, storage);
+    }
+
+    /**
+     * Executes one command that has already been parsed.
+     *
+     * @param parsed The parsed command
+     * @param taskList The list of tasks to manage
+     * @param ui User interface for displaying messages
+     * @param storage Storage engine for persisting tasks
+     * @return false if the command ends the session, true otherwise
+     * @throws JimmyException if the command is invalid or cannot be carried out
+     */
+    static boolean execute(Parser.ParsedCommand parsed, TaskList taskList, Ui ui, StorageEngine storage)
+            throws JimmyException {
+        CommandRegistry.Command command = COMMANDS.lookup(parsed.command);
+        if (command == null) {
+            throw new JimmyException(ERR_UNKNOWN_COMMAND);
+        }
+        return COMMANDS.execute(command, parsed.fullInput, taskList, ui, storage);
+    }
+
+    private static boolean bye(String fullInput, TaskList taskList, Ui ui, StorageEngine storage) {
+        storage.flush();
+        ui.showGoodbye();
+        return false;
+    }
+
+    private static boolean mark(String fullInput, TaskList taskList, Ui ui, StorageEngine storage)
+            throws JimmyException {
+        if (!Parser.isValidMarkCommand(fullInput)) {
+            throw new JimmyException("The description of a mark cannot be empty.");
+        }
+        if (Parser.isTaskSelection(fullInput)) {
+            int[] indices = resolveSelection(taskList, Parser.parseTaskSelection(fullInput));
+            taskList.markTasksAsDone(indices);
+            storage.recordBatch(taskList);
+            ui.showTasksMarkedAsDone(tasksAt(taskList, indices));
+            return true;
+        }
+        int index = resolveTaskIndex(taskList, fullInput);
+        taskList.markTaskAsDone(index);
+        storage.recordMark(taskList, index);
+        // Read the task after the change, as a versioned list replaces it with a marked copy
+        ui.showTaskMarkedAsDone(taskList.getTask(index));
+        return true;
+    }
+
+    private static boolean unmark(String fullInput, TaskList taskList, Ui ui, StorageEngine storage)
+            throws JimmyException {
+        if (!Parser.isValidUnmarkCommand(fullInput)) {
+            throw new JimmyException("The description of an unmark cannot be empty.");
+        }
+        if (Parser.isTaskSelection(fullInput)) {
+            int[] indices = resolveSelection(taskList, Parser.parseTaskSelection(fullInput));
+            taskList.markTasksAsNotDone(indices);
+            storage.recordBatch(taskList);
+            ui.showTasksMarkedAsNotDone(tasksAt(taskList, indices));
+            return true;
+        }
+        int index = resolveTaskIndex(taskList, fullInput);
+        taskList.markTaskAsNotDone(index);
+        storage.recordUnmark(taskList, index);
+        // Read the task after the change, as a versioned list replaces it with a marked copy
+        ui.showTaskMarkedAsNotDone(taskList.getTask(index));
+        return true;
+    }
+
+    private static boolean todo(String fullInput, TaskList taskList, Ui ui, StorageEngine storage)
+            throws JimmyException {
+        if (!Parser.isValidTodoCommand(fullInput)) {
+            throw new JimmyException("The description of a todo cannot be empty.");
+        }
+        Task todoTask = new Todo(fullInput);
+        taskList.addTask(todoTask);
+        storage.recordAdd(taskList, todoTask);
+        ui.showTaskAdded(todoTask, taskList.getSize());
+        return true;
+    }
+
+    private static boolean deadline(String fullInput, TaskList taskList, Ui ui, StorageEngine storage)
+            throws JimmyException {
+        if (!Parser.isValidDeadlineCommand(fullInput)) {
+            throw new JimmyException("The description of a deadline must include '/by'.");
+        }
+        String description = Parser.extractDeadlineDescription(fullInput);
+        String by = Parser.extractDeadlineDate(fullInput);
+        try {
+            Task deadlineTask = new Deadline(description, by);
+            taskList.addTask(deadlineTask);
+            storage.recordAdd(taskList, deadlineTask);
+            ui.showTaskAdded(deadlineTask, taskList.getSize());
+        } catch (IllegalArgumentException e) {
+            throw new JimmyException("Invalid date format: " + e.getMessage());
+        }
+        return true;
+    }
+
+    private static boolean event(String fullInput, TaskList taskList, Ui ui, StorageEngine storage)
+            throws JimmyException {
+        if (!Parser.isValidEventCommand(fullInput)) {
+            throw new JimmyException("The description of an event must include '/from' and '/to'.");
+        }
+        String description = Parser.extractEventDescription(fullInput);
+        String from = Parser.extractEventFrom(fullInput);
+        String to = Parser.extractEventTo(fullInput);
+        try {
+            Event eventTask = new Event(description, from, to);
+            taskList.addTask(eventTask);
+            storage.recordAdd(taskList, eventTask);
+            ui.showTaskAdded(eventTask, taskList.getSize());
+            List<Task> overlapping = taskList.findOverlappingEvents(eventTask);
+            if (!overlapping.isEmpty()) {
+                ui.showEventOverlaps(overlapping);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new JimmyException("Invalid date format: " + e.getMessage());
+        }
+        return true;
+    }
+
+    private static boolean find(String fullInput, TaskList taskList, Ui ui, StorageEngine storage)
+            throws JimmyException {
+        if (!Parser.isValidFindCommand(fullInput)) {
+            throw new JimmyException("The description of a find cannot be empty.");
+        }
+        ui.showMatchingTasks(taskList.findByKeyword(fullInput));
+        return true;
+    }
+
+    private static boolean on(String fullInput, TaskList taskList, Ui ui, StorageEngine storage)
+            throws JimmyException {
+        if (!Parser.isValidOnCommand(fullInput)) {
+            throw new JimmyException("The date of an on cannot be empty.");
+        }
+        LocalDate onDate = TaskList.parseSearchDate(fullInput);
+        ui.showTasksByDate("Here are the tasks on " + onDate + ":", taskList.findTasksOn(onDate));
+        return true;
+    }
+
+    private static boolean between(String fullInput, TaskList taskList, Ui ui, StorageEngine storage)
+            throws JimmyException {
+        String[] range = Parser.extractDateRange(fullInput);
+        LocalDate startDate = TaskList.parseSearchDate(range[0]);
+        LocalDate endDate = TaskList.parseSearchDate(range[1]);
+        if (endDate.isBefore(startDate)) {
+            throw new JimmyException("The end date cannot be before the start date.");
+        }
+        ui.showTasksByDate("Here are the tasks between " + startDate + " and " + endDate + ":",
+                taskList.findTasksBetween(startDate, endDate));
+        return true;
+    }
+
+    private static boolean free(String fullInput, TaskList taskList, Ui ui, StorageEngine storage)
+            throws JimmyException {
+        String[] freeArguments = Parser.extractFreeArguments(fullInput);
+        LocalDate freeStart = TaskList.parseSearchDate(freeArguments[0]);
+        LocalDate freeEnd = TaskList.parseSearchDate(freeArguments[1]);
+        if (freeEnd.isBefore(freeStart)) {
+            throw new JimmyException("The end date cannot be before the start date.");
+        }
+        Duration slotLength = Duration.ofMinutes(Parser.parseDurationMinutes(freeArguments[2]));
+        int slotCount = freeArguments.length > 3 ? Parser.parseSlotCount(freeArguments[3]) : DEFAULT_FREE_SLOTS;
+        ui.showFreeSlots(taskList.findFreeSlots(freeStart.atStartOfDay(),
+                freeEnd.plusDays(1).atStartOfDay(), slotLength, slotCount));
+        return true;
+    }
+
+    private static boolean delete(String fullInput, TaskList taskList, Ui ui, StorageEngine storage)
+            throws JimmyException {
+        if (!Parser.isValidDeleteCommand(fullInput)) {
+            throw new JimmyException("The description of a delete cannot be empty.");
+        }
+        if (Parser.isTaskSelection(fullInput)) {
+            int[] indices = resolveSelection(taskList, Parser.parseTaskSelection(fullInput));
+            List<Task> removedTasks = taskList.removeTasks(indices);
+            storage.recordBatch(taskList);
+            ui.showTasksDeleted(removedTasks, taskList.getSize());
+            return true;
+        }
+        int index = resolveTaskIndex(taskList, fullInput);
+        Task removedTask = taskList.getTask(index);
+        taskList.removeTask(index);
+        storage.recordDelete(taskList, index);
+        ui.showTaskDeleted(removedTask, taskList.getSize());
+        return true;
+    }
+
     /**
      * Generates a response for the user's chat message.
      */
     public String getResponse(String input) {
         if (guiStorage == null || guiTaskList == null) {
-            guiStorage = new Storage(getDataFilePath());
+            guiStorage = StorageBackend.TEXT.open(getDataFilePath(), DurabilityPolicy.everyCommand());
             java.util.List<Task> loaded = guiStorage.load();
-            guiTaskList = new TaskList(loaded);
+            guiTaskList = new VersionedTaskList(loaded, guiStorage.getNextId());
         }
 
         StringBuilder out = new StringBuilder();
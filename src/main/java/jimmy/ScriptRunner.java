@@ -0,0 +1,189 @@
+package jimmy;
+
+import jimmy.command.CommandRegistry;
+import jimmy.exception.JimmyException;
+import jimmy.storage.DeferredStorage;
+import jimmy.task.TaskList;
+import jimmy.ui.Ui;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a file of commands, one per line, as a batch job such as a migration.
+ * Each line runs exactly as if it had been typed, but changes are persisted through a
+ * {@link DeferredStorage}, so the whole script costs one save (or one per given number
+ * of changes) rather than one per command. By default the replies to each command are
+ * not shown and errors are reported with their line number; in verbose mode the output
+ * is the same as in an interactive session. Either way a summary of the run follows.
+ */
+public class ScriptRunner {
+    private static final long NANOS_PER_MICRO = TimeUnit.MICROSECONDS.toNanos(1);
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * What happened during one run of a script.
+     */
+    public static final class Summary {
+        private final int lineCount;
+        private final int failureCount;
+        private final long elapsedNanos;
+        private final long saveCount;
+        private final int taskCount;
+        private final List<String> commandLines;
+
+        private Summary(int lineCount, int failureCount, long elapsedNanos, long saveCount, int taskCount,
+                List<String> commandLines) {
+            this.lineCount = lineCount;
+            this.failureCount = failureCount;
+            this.elapsedNanos = elapsedNanos;
+            this.saveCount = saveCount;
+            this.taskCount = taskCount;
+            this.commandLines = commandLines;
+        }
+
+        /**
+         * Returns the number of commands run, including failed ones.
+         *
+         * @return The command count
+         */
+        public int getLineCount() {
+            return lineCount;
+        }
+
+        /**
+         * Returns the number of commands that ended with an error.
+         *
+         * @return The failure count
+         */
+        public int getFailureCount() {
+            return failureCount;
+        }
+
+        /**
+         * Returns the number of saves made by the run, including the final one.
+         *
+         * @return The save count
+         */
+        public long getSaveCount() {
+            return saveCount;
+        }
+
+        /**
+         * Returns the time taken by the run, including the final save.
+         *
+         * @return The time in nanoseconds
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * Returns the lines of the summary shown to the user.
+         *
+         * @return The counts and timings, overall and for each command that ran
+         */
+        public String[] toLines() {
+            long millis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+            long perSecond = elapsedNanos == 0 ? lineCount : lineCount * NANOS_PER_SECOND / elapsedNanos;
+            List<String> lines = new ArrayList<>();
+            lines.add("Ran " + lineCount + " commands in " + millis + " ms (" + perSecond + " per second).");
+            lines.add((lineCount - failureCount) + " succeeded, " + failureCount + " failed. You now have "
+                    + taskCount + " tasks.");
+            lines.add("Saved " + saveCount + (saveCount == 1 ? " time." : " times."));
+            lines.addAll(commandLines);
+            return lines.toArray(new String[0]);
+        }
+    }
+
+    private final boolean isVerbose;
+
+    /**
+     * Constructs a runner.
+     *
+     * @param isVerbose Whether to show the replies to every command, as in an interactive session
+     */
+    public ScriptRunner(boolean isVerbose) {
+        this.isVerbose = isVerbose;
+    }
+
+    /**
+     * Runs every line of a script against the task list, up to the end or a "bye",
+     * then writes the pending changes.
+     *
+     * @param script The commands, one per line
+     * @param taskList The list of tasks to manage
+     * @param ui User interface for errors, and for every reply in verbose mode
+     * @param storage Storage engine that holds back saves until the script ends
+     * @return The summary of the run, which has not been shown yet
+     * @throws JimmyException if the script cannot be read or the changes cannot be saved
+     */
+    public Summary run(BufferedReader script, TaskList taskList, Ui ui, DeferredStorage storage)
+            throws JimmyException {
+        Ui replies = isVerbose ? ui : new Ui(new PrintStream(OutputStream.nullOutputStream()));
+        Map<String, long[]> before = countRuns();
+        long start = System.nanoTime();
+        int lineCount = 0;
+        int failureCount = 0;
+        try {
+            boolean isRunning = true;
+            String line;
+            while (isRunning && (line = script.readLine()) != null) {
+                lineCount++;
+                try {
+                    isRunning = Jimmy.execute(line, taskList, replies, storage);
+                } catch (JimmyException e) {
+                    failureCount++;
+                    if (isVerbose) {
+                        ui.showError(e.getMessage());
+                    } else {
+                        ui.showError("Line " + lineCount + ": " + e.getMessage());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new JimmyException("Could not read the script: " + e.getMessage());
+        }
+        storage.flush();
+        long elapsedNanos = System.nanoTime() - start;
+        return new Summary(lineCount, failureCount, elapsedNanos, storage.getSaveCount(), taskList.getSize(),
+                describeRuns(before));
+    }
+
+    /**
+     * Returns the number of runs, failures and nanoseconds of each registered command so far.
+     */
+    private static Map<String, long[]> countRuns() {
+        Map<String, long[]> counts = new HashMap<>();
+        for (CommandRegistry.Command command : Jimmy.getCommands().getCommands()) {
+            counts.put(command.getName(),
+                    new long[] {command.getCalls(), command.getFailures(), command.getTotalNanos()});
+        }
+        return counts;
+    }
+
+    /**
+     * Describes the runs of each command since the given counts were taken, skipping commands that did not run.
+     */
+    private static List<String> describeRuns(Map<String, long[]> before) {
+        List<String> lines = new ArrayList<>();
+        for (CommandRegistry.Command command : Jimmy.getCommands().getCommands()) {
+            long[] counts = before.getOrDefault(command.getName(), new long[3]);
+            long calls = command.getCalls() - counts[0];
+            if (calls <= 0) {
+                continue;
+            }
+            long failures = command.getFailures() - counts[1];
+            long averageMicros = (command.getTotalNanos() - counts[2]) / calls / NANOS_PER_MICRO;
+            lines.add("  " + command.getName() + ": " + calls + (calls == 1 ? " run, " : " runs, ")
+                    + failures + " failed, " + averageMicros + " us on average");
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,25 @@
+package jimmy.command;
+
+import jimmy.exception.JimmyException;
+import jimmy.storage.StorageEngine;
+import jimmy.task.TaskList;
+import jimmy.ui.Ui;
+
+/**
+ * Carries out one kind of command, such as "todo" or "delete", once it has been
+ * looked up in a {@link CommandRegistry}.
+ */
+@FunctionalInterface
+public interface CommandHandler {
+    /**
+     * Executes the command.
+     *
+     * @param fullInput The text typed after the command word
+     * @param taskList The list of tasks to manage
+     * @param ui User interface for displaying messages
+     * @param storage Storage engine for persisting tasks
+     * @return false if the command ends the session, true otherwise
+     * @throws JimmyException if the command is invalid or cannot be carried out
+     */
+    boolean execute(String fullInput, TaskList taskList, Ui ui, StorageEngine storage) throws JimmyException;
+}
@@ -0,0 +1,280 @@
+package jimmy.command;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import jimmy.exception.JimmyException;
+import jimmy.storage.StorageEngine;
+import jimmy.task.TaskList;
+import jimmy.ui.Ui;
+
+/**
+ * The commands Jimmy understands, each a {@link CommandHandler} registered under a name.
+ * A command word is looked up in a hash table of names and aliases in constant time; a
+ * word that is not registered but starts exactly one command, such as "unm" for "unmark",
+ * is resolved through a trie of the names. Commands can be added or replaced at any time.
+ *
+ * <p>Every command runs through {@link #execute}, which takes the task list's write lock
+ * for commands that change it and keeps count of how often and how long each command ran.</p>
+ */
+public class CommandRegistry {
+    private static final int LETTERS = 26;
+
+    /**
+     * A registered command, with the statistics of its runs.
+     */
+    public static final class Command {
+        private final String name;
+        private final boolean isMutating;
+        private final CommandHandler handler;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private Command(String name, boolean isMutating, CommandHandler handler) {
+            this.name = name;
+            this.isMutating = isMutating;
+            this.handler = handler;
+        }
+
+        /**
+         * Returns the name the command was registered under.
+         *
+         * @return The name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns whether the command changes the task list.
+         *
+         * @return true if the command runs under the task list's write lock
+         */
+        public boolean isMutating() {
+            return isMutating;
+        }
+
+        /**
+         * Returns how many times the command has run.
+         *
+         * @return The number of runs, including failed ones
+         */
+        public long getCalls() {
+            return calls.sum();
+        }
+
+        /**
+         * Returns how many runs of the command ended with an error.
+         *
+         * @return The number of failed runs
+         */
+        public long getFailures() {
+            return failures.sum();
+        }
+
+        /**
+         * Returns the time spent in all runs of the command, including waiting for the write lock.
+         *
+         * @return The total time in nanoseconds
+         */
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        /**
+         * Returns the time taken by the slowest run of the command.
+         *
+         * @return The time in nanoseconds, 0 if the command has not run
+         */
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        private void record(long nanos, boolean isFailure) {
+            calls.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            if (isFailure) {
+                failures.increment();
+            }
+        }
+    }
+
+    /**
+     * A node of the trie of names. Only names of lowercase letters are added to the trie.
+     */
+    private static final class TrieNode {
+        private final TrieNode[] children = new TrieNode[LETTERS];
+        /** The name of the command every word through this node leads to, or null if none or several */
+        private String only;
+        /** Whether words through this node lead to more than one command */
+        private boolean isAmbiguous;
+        /** The command name a word ending here stands for, or null if no word ends here */
+        private String target;
+    }
+
+    /** Every name and alias, mapped to its command */
+    private final Map<String, Command> commands = new ConcurrentHashMap<>();
+
+    /** Names and aliases by letter; guarded by itself */
+    private final TrieNode root = new TrieNode();
+
+    /** Commands in the order they were first registered; guarded by the trie */
+    private final List<Command> registered = new ArrayList<>();
+
+    /**
+     * Registers a command, replacing any command already registered under the name.
+     *
+     * @param name The command word
+     * @param isMutating Whether the command changes the task list
+     * @param handler The handler that carries out the command
+     */
+    public void register(String name, boolean isMutating, CommandHandler handler) {
+        Command command = new Command(name, isMutating, handler);
+        synchronized (root) {
+            Command replaced = commands.put(name, command);
+            if (replaced != null) {
+                registered.remove(replaced);
+                // Aliases follow the command they were made for
+                commands.replaceAll((word, existing) -> existing == replaced ? command : existing);
+            }
+            registered.add(command);
+            addToTrie(name, name);
+        }
+    }
+
+    /**
+     * Registers another word for a command, such as "dl" for "deadline".
+     *
+     * @param alias The extra command word
+     * @param name The name of a registered command
+     */
+    public void registerAlias(String alias, String name) {
+        synchronized (root) {
+            Command command = commands.get(name);
+            assert command != null : "An alias must be for a registered command";
+            commands.put(alias, command);
+            addToTrie(alias, command.getName());
+        }
+    }
+
+    /**
+     * Finds the command for a word: a registered name or alias, or else the start of exactly one of them.
+     *
+     * @param word The command word typed by the user
+     * @return The command, or null if no command matches
+     * @throws JimmyException if the word starts more than one command
+     */
+    public Command lookup(String word) throws JimmyException {
+        Command command = commands.get(word);
+        if (command != null || word.isEmpty()) {
+            return command;
+        }
+        String name;
+        synchronized (root) {
+            TrieNode node = root;
+            for (int i = 0; i < word.length() && node != null; i++) {
+                int letter = word.charAt(i) - 'a';
+                node = letter >= 0 && letter < LETTERS ? node.children[letter] : null;
+            }
+            if (node == null) {
+                return null;
+            }
+            if (node.isAmbiguous) {
+                TreeSet<String> candidates = new TreeSet<>();
+                collectTargets(node, candidates);
+                throw new JimmyException("'" + word + "' could be any of these commands: "
+                        + String.join(", ", candidates) + ".");
+            }
+            name = node.only;
+        }
+        return commands.get(name);
+    }
+
+    /**
+     * Runs a command, under the task list's write lock if it changes the list, and records
+     * how long it took and whether it failed.
+     *
+     * @param command The command, as returned by {@link #lookup(String)}
+     * @param fullInput The text typed after the command word
+     * @param taskList The list of tasks to manage
+     * @param ui User interface for displaying messages
+     * @param storage Storage engine for persisting tasks
+     * @return false if the command ends the session, true otherwise
+     * @throws JimmyException if the command is invalid or cannot be carried out
+     */
+    public boolean execute(Command command, String fullInput, TaskList taskList, Ui ui, StorageEngine storage)
+            throws JimmyException {
+        long start = System.nanoTime();
+        boolean isFailure = true;
+        try {
+            boolean isRunning;
+            if (command.isMutating) {
+                // Resolving a task and changing it must not interleave with other sessions
+                isRunning = taskList.callExclusively(() -> command.handler.execute(fullInput, taskList, ui, storage));
+            } else {
+                isRunning = command.handler.execute(fullInput, taskList, ui, storage);
+            }
+            isFailure = false;
+            return isRunning;
+        } finally {
+            command.record(System.nanoTime() - start, isFailure);
+        }
+    }
+
+    /**
+     * Returns the registered commands, in the order they were first registered.
+     *
+     * @return The commands, without aliases
+     */
+    public List<Command> getCommands() {
+        synchronized (root) {
+            return new ArrayList<>(registered);
+        }
+    }
+
+    /**
+     * Adds a word to the trie, leading to the given command name. Called while holding the trie.
+     */
+    private void addToTrie(String word, String name) {
+        for (int i = 0; i < word.length(); i++) {
+            int letter = word.charAt(i) - 'a';
+            if (letter < 0 || letter >= LETTERS) {
+                // Words with other characters can only be typed in full
+                return;
+            }
+        }
+        TrieNode node = root;
+        for (int i = 0; i < word.length(); i++) {
+            int letter = word.charAt(i) - 'a';
+            if (node.children[letter] == null) {
+                node.children[letter] = new TrieNode();
+            }
+            node = node.children[letter];
+            if (node.only == null && !node.isAmbiguous) {
+                node.only = name;
+            } else if (!name.equals(node.only)) {
+                node.only = null;
+                node.isAmbiguous = true;
+            }
+        }
+        node.target = name;
+    }
+
+    private static void collectTargets(TrieNode node, TreeSet<String> targets) {
+        if (node.target != null) {
+            targets.add(node.target);
+        }
+        for (TrieNode child : node.children) {
+            if (child != null) {
+                collectTargets(child, targets);
+            }
+        }
+    }
+}
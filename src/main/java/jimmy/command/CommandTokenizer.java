@@ -0,0 +1,246 @@
+package jimmy.command;
+
+/**
+ * Hand-written scanning helpers behind {@link Parser}, working on index spans of the
+ * input instead of regular expressions, {@code split} and {@code replace}.
+ * Each helper makes one pass over the characters it looks at and allocates at most
+ * the string it returns, while matching what the regular expressions used to accept:
+ * whitespace means the characters of {@code \s} and trimming drops the characters
+ * {@link String#trim()} drops.
+ */
+final class CommandTokenizer {
+    private CommandTokenizer() {
+    }
+
+    /**
+     * Trims the input and collapses every run of whitespace inside it to a single space,
+     * like {@code input.trim().replaceAll("\\s+", " ")}.
+     * Input that is already in this form is returned as is.
+     *
+     * @param input The raw input
+     * @return The normalized input, empty if the input is blank
+     */
+    static String normalize(String input) {
+        int start = 0;
+        int end = input.length();
+        while (start < end && isTrimmed(input.charAt(start))) {
+            start++;
+        }
+        while (end > start && isTrimmed(input.charAt(end - 1))) {
+            end--;
+        }
+        // The trimmed ends are never whitespace, so a run always has a character before it
+        int firstChange = -1;
+        for (int i = start + 1; i < end && firstChange < 0; i++) {
+            char c = input.charAt(i);
+            if (isWhitespace(c) && (c != ' ' || isWhitespace(input.charAt(i - 1)))) {
+                firstChange = i;
+            }
+        }
+        if (firstChange < 0) {
+            return start == 0 && end == input.length() ? input : input.substring(start, end);
+        }
+
+        char[] normalized = new char[end - start];
+        int length = 0;
+        for (int i = start; i < end; i++) {
+            char c = input.charAt(i);
+            if (!isWhitespace(c)) {
+                normalized[length++] = c;
+            } else if (!isWhitespace(input.charAt(i - 1))) {
+                normalized[length++] = ' ';
+            }
+        }
+        return new String(normalized, 0, length);
+    }
+
+    /**
+     * Checks that normalized input holds only letters, digits, whitespace, the punctuation
+     * {@code . , ! ? / - :} and task id references: a '#' at the start of a word followed
+     * by digits up to the end of that word.
+     *
+     * @param text The normalized input
+     * @return true if every character is allowed
+     */
+    static boolean hasOnlyAllowedCharacters(String text) {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (isAllowed(c)) {
+                continue;
+            }
+            if (c != '#' || (i > 0 && !isWhitespace(text.charAt(i - 1)))) {
+                return false;
+            }
+            int digitsEnd = i + 1;
+            while (digitsEnd < length && isDigit(text.charAt(digitsEnd))) {
+                digitsEnd++;
+            }
+            if (digitsEnd == i + 1 || (digitsEnd < length && !isWhitespace(text.charAt(digitsEnd)))) {
+                return false;
+            }
+            i = digitsEnd - 1;
+        }
+        return true;
+    }
+
+    /**
+     * Counts the non-overlapping occurrences of a key in the text.
+     *
+     * @param text The text to search
+     * @param key The non-empty key to count
+     * @return The number of occurrences
+     */
+    static int countOccurrences(String text, String key) {
+        int count = 0;
+        for (int i = text.indexOf(key); i >= 0; i = text.indexOf(key, i + key.length())) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Splits the trimmed text into words at runs of whitespace, like {@code text.trim().split("\\s+")}.
+     *
+     * @param text The text to split
+     * @return The words, or a single empty word if the text is blank
+     */
+    static String[] splitWords(String text) {
+        int start = 0;
+        int end = text.length();
+        while (start < end && isTrimmed(text.charAt(start))) {
+            start++;
+        }
+        while (end > start && isTrimmed(text.charAt(end - 1))) {
+            end--;
+        }
+        if (start == end) {
+            return new String[] {""};
+        }
+        // The trimmed ends are never whitespace, so every run lies between two words
+        int count = 1;
+        for (int i = start + 1; i < end; i++) {
+            if (isWhitespace(text.charAt(i)) && !isWhitespace(text.charAt(i - 1))) {
+                count++;
+            }
+        }
+        String[] words = new String[count];
+        int word = 0;
+        int wordStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || isWhitespace(text.charAt(i))) {
+                if (wordStart < i) {
+                    words[word++] = text.substring(wordStart, i);
+                }
+                wordStart = i + 1;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Returns whether the text starts with digits, then optional whitespace, then a hyphen,
+     * like {@code text.matches("\\d+\\s*-.*")} for text on a single line.
+     *
+     * @param text The text to check
+     * @return true if the text begins like a range of numbers
+     */
+    static boolean startsWithRange(String text) {
+        int i = 0;
+        while (i < text.length() && isDigit(text.charAt(i))) {
+            i++;
+        }
+        if (i == 0) {
+            return false;
+        }
+        while (i < text.length() && isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        return i < text.length() && text.charAt(i) == '-';
+    }
+
+    /**
+     * Returns whether the text is empty once trimmed.
+     *
+     * @param text The text to check
+     * @return true if every character would be trimmed
+     */
+    static boolean isBlank(String text) {
+        return isBlank(text, 0, text.length());
+    }
+
+    /**
+     * Returns whether a span of the text is empty once trimmed.
+     *
+     * @param text The text holding the span
+     * @param from The start of the span, inclusive
+     * @param to The end of the span, exclusive
+     * @return true if every character of the span would be trimmed
+     */
+    static boolean isBlank(String text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!isTrimmed(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a span of the text with its ends trimmed, like {@code substring(from, to).trim()}.
+     *
+     * @param text The text holding the span
+     * @param from The start of the span, inclusive
+     * @param to The end of the span, exclusive
+     * @return The trimmed span
+     */
+    static String trimmedSpan(String text, int from, int to) {
+        int start = from;
+        int end = to;
+        while (start < end && isTrimmed(text.charAt(start))) {
+            start++;
+        }
+        while (end > start && isTrimmed(text.charAt(end - 1))) {
+            end--;
+        }
+        return text.substring(start, end);
+    }
+
+    /**
+     * Returns the first character of the text that would survive trimming.
+     *
+     * @param text The text to look at
+     * @return The character, or 0 if the text is blank
+     */
+    static char firstNonBlank(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (!isTrimmed(text.charAt(i))) {
+                return text.charAt(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns whether the character is one that {@link String#trim()} removes.
+     */
+    private static boolean isTrimmed(char c) {
+        return c <= ' ';
+    }
+
+    /**
+     * Returns whether the character is whitespace in the sense of the regex {@code \s}.
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isAllowed(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || isDigit(c) || isWhitespace(c)
+                || c == '.' || c == ',' || c == '!' || c == '?' || c == '/' || c == '-' || c == ':';
+    }
+}
@@ -13,12 +13,31 @@ public class Parser {
     private static final String KEY_TO = "/to";
     private static final String ERR_POSITIVE_INDEX = "Task index must be a positive number.";
     private static final String ERR_VALID_NUMBER = "Task index must be a valid number.";
+    private static final String ERR_VALID_ID = "Task id must be a valid number, like #12.";
+    private static final String ID_PREFIX = "#";
     private static final String ERR_EMPTY_INPUT = "Input cannot be empty or contain only whitespace.";
     private static final String ERR_INVALID_CHARACTERS = "Input contains invalid special characters.";
     private static final String ERR_MULTIPLE_SPACES = "Multiple consecutive spaces are not allowed.";
     private static final String ERR_DUPLICATE_KEYWORD = "Keyword appears multiple times in the command.";
     private static final String ERR_MISSING_DESCRIPTION = "Description cannot be empty.";
     private static final String ERR_MISSING_DATE = "Date/time parameter is missing or empty.";
+    private static final String ERR_MISSING_START = "Start time cannot be empty.";
+    private static final String ERR_MISSING_END = "End time cannot be empty.";
+    private static final String ERR_FREE_ARGUMENTS =
+            "A free command needs a start date, an end date and a length, like 'free 1/12/2024 7/12/2024 90m'.";
+    private static final String ERR_DURATION = "Length must be a positive number of minutes or hours, like 90m or 2h.";
+    private static final String ERR_SLOT_COUNT = "Number of slots must be a positive number.";
+    private static final String ERR_SAVE_INTERVAL = "Number of changes per save must be a positive number.";
+    private static final long MINUTES_PER_HOUR = 60;
+    /** Largest slot length accepted, in minutes (a year), keeping the value far from overflow */
+    private static final long MAX_DURATION_MINUTES = 366L * 24 * 60;
+    private static final String ERR_TASK_RANGES =
+            "Task numbers must be numbers or ranges separated by commas, like 3,7,9-20.";
+    private static final String ERR_RANGE_ORDER = "A range of tasks must not end before it starts, like 9-20.";
+    private static final String SELECT_ALL = "all";
+    private static final String SELECT_DONE = "done";
+    private static final String ERR_DATE_RANGE =
+            "A between command needs a start and an end date, like 'between 1/12/2024 31/12/2024'.";
     
     /**
      * Represents a parsed command with its type and full input.
@@ -58,33 +77,22 @@ public class Parser {
         }
         
         // Normalize input: trim and collapse multiple spaces
-        String normalizedInput = userInput.trim().replaceAll("\\s+", " ");
+        String normalizedInput = CommandTokenizer.normalize(userInput);
         
         if (normalizedInput.isEmpty()) {
             throw new JimmyException(ERR_EMPTY_INPUT);
         }
         
-        // Check for invalid characters (basic validation)
-        if (containsInvalidCharacters(normalizedInput)) {
+        // Allow alphanumeric, spaces, common punctuation, task keywords and #id references
+        if (!CommandTokenizer.hasOnlyAllowedCharacters(normalizedInput)) {
             throw new JimmyException(ERR_INVALID_CHARACTERS);
         }
         
-        String[] inputParts = normalizedInput.split(" ", 2);
-        String command = inputParts[0];
-        String fullInput = inputParts.length > 1 ? inputParts[1] : "";
-        
-        return new ParsedCommand(command, fullInput);
-    }
-    
-    /**
-     * Validates if input contains invalid special characters.
-     * 
-     * @param input The input string to validate
-     * @return true if input contains invalid characters, false otherwise
-     */
-    private static boolean containsInvalidCharacters(String input) {
-        // Allow alphanumeric, spaces, common punctuation, and task keywords
-        return !input.matches("^[a-zA-Z0-9\\s.,!?/\\-:]+$");
+        int space = normalizedInput.indexOf(' ');
+        if (space < 0) {
+            return new ParsedCommand(normalizedInput, "");
+        }
+        return new ParsedCommand(normalizedInput.substring(0, space), normalizedInput.substring(space + 1));
     }
     
     /**
@@ -95,7 +103,7 @@ public class Parser {
      * @return true if the mark command is valid, false otherwise
      */
     public static boolean isValidMarkCommand(String fullInput) {
-        return !fullInput.trim().isEmpty();
+        return !CommandTokenizer.isBlank(fullInput);
     }
     
     /**
@@ -106,7 +114,7 @@ public class Parser {
      * @return true if the unmark command is valid, false otherwise
      */
     public static boolean isValidUnmarkCommand(String fullInput) {
-        return !fullInput.trim().isEmpty();
+        return !CommandTokenizer.isBlank(fullInput);
     }
     
     /**
@@ -117,7 +125,7 @@ public class Parser {
      * @return true if the todo command is valid, false otherwise
      */
     public static boolean isValidTodoCommand(String fullInput) {
-        return !fullInput.trim().isEmpty();
+        return !CommandTokenizer.isBlank(fullInput);
     }
     
     /**
@@ -129,26 +137,26 @@ public class Parser {
      * @throws JimmyException if command format is invalid
      */
     public static boolean isValidDeadlineCommand(String fullInput) throws JimmyException {
-        if (fullInput.trim().isEmpty()) {
+        if (CommandTokenizer.isBlank(fullInput)) {
             throw new JimmyException(ERR_MISSING_DESCRIPTION);
         }
         
         // Check for duplicate /by keywords
-        int byCount = (fullInput.length() - fullInput.replace(KEY_BY, "").length()) / KEY_BY.length();
+        int byCount = CommandTokenizer.countOccurrences(fullInput, KEY_BY);
         if (byCount > 1) {
             throw new JimmyException(ERR_DUPLICATE_KEYWORD + " (" + KEY_BY + ")");
         }
         
-        if (!fullInput.contains(KEY_BY)) {
+        if (byCount == 0) {
             throw new JimmyException("Deadline command must include '/by' keyword.");
         }
         
         // Validate that description and date are not empty
-        String[] parts = fullInput.split(KEY_BY);
-        if (parts[0].trim().isEmpty()) {
+        int by = fullInput.indexOf(KEY_BY);
+        if (CommandTokenizer.isBlank(fullInput, 0, by)) {
             throw new JimmyException(ERR_MISSING_DESCRIPTION);
         }
-        if (parts.length < 2 || parts[1].trim().isEmpty()) {
+        if (CommandTokenizer.isBlank(fullInput, by + KEY_BY.length(), fullInput.length())) {
             throw new JimmyException(ERR_MISSING_DATE);
         }
         
@@ -164,13 +172,13 @@ public class Parser {
      * @throws JimmyException if command format is invalid
      */
     public static boolean isValidEventCommand(String fullInput) throws JimmyException {
-        if (fullInput.trim().isEmpty()) {
+        if (CommandTokenizer.isBlank(fullInput)) {
             throw new JimmyException(ERR_MISSING_DESCRIPTION);
         }
         
         // Check for duplicate keywords
-        int fromCount = (fullInput.length() - fullInput.replace(KEY_FROM, "").length()) / KEY_FROM.length();
-        int toCount = (fullInput.length() - fullInput.replace(KEY_TO, "").length()) / KEY_TO.length();
+        int fromCount = CommandTokenizer.countOccurrences(fullInput, KEY_FROM);
+        int toCount = CommandTokenizer.countOccurrences(fullInput, KEY_TO);
         
         if (fromCount > 1) {
             throw new JimmyException(ERR_DUPLICATE_KEYWORD + " (" + KEY_FROM + ")");
@@ -179,22 +187,25 @@ public class Parser {
             throw new JimmyException(ERR_DUPLICATE_KEYWORD + " (" + KEY_TO + ")");
         }
         
-        if (!containsAllKeywords(fullInput, KEY_FROM, KEY_TO)) {
+        if (fromCount == 0 || toCount == 0) {
             throw new JimmyException("Event command must include both '/from' and '/to' keywords.");
         }
         
         // Validate that all parts are not empty
-        String[] fromParts = fullInput.split(KEY_FROM);
-        if (fromParts[0].trim().isEmpty()) {
+        int from = fullInput.indexOf(KEY_FROM);
+        if (CommandTokenizer.isBlank(fullInput, 0, from)) {
             throw new JimmyException(ERR_MISSING_DESCRIPTION);
         }
         
-        String[] toParts = fromParts[1].split(KEY_TO);
-        if (toParts[0].trim().isEmpty()) {
-            throw new JimmyException("Start time cannot be empty.");
+        int startTime = from + KEY_FROM.length();
+        int to = fullInput.indexOf(KEY_TO, startTime);
+        // A '/to' before '/from' leaves the text after '/from' as the start time, with no end time
+        int startTimeEnd = to < 0 ? fullInput.length() : to;
+        if (CommandTokenizer.isBlank(fullInput, startTime, startTimeEnd)) {
+            throw new JimmyException(ERR_MISSING_START);
         }
-        if (toParts.length < 2 || toParts[1].trim().isEmpty()) {
-            throw new JimmyException("End time cannot be empty.");
+        if (to < 0 || CommandTokenizer.isBlank(fullInput, to + KEY_TO.length(), fullInput.length())) {
+            throw new JimmyException(ERR_MISSING_END);
         }
         
         return true;
@@ -208,11 +219,120 @@ public class Parser {
      * @return true if the delete command is valid, false otherwise
      */
     public static boolean isValidDeleteCommand(String fullInput) {
-        return !fullInput.trim().isEmpty();
+        return !CommandTokenizer.isBlank(fullInput);
     }
     
     public static boolean isValidFindCommand(String fullInput) {
-        return !fullInput.trim().isEmpty();
+        return !CommandTokenizer.isBlank(fullInput);
+    }
+
+    /**
+     * Validates if an on command has valid arguments.
+     * Checks that the command has a non-empty date.
+     *
+     * @param fullInput The full input string after the command
+     * @return true if the on command is valid, false otherwise
+     */
+    public static boolean isValidOnCommand(String fullInput) {
+        return !CommandTokenizer.isBlank(fullInput);
+    }
+
+    /**
+     * Extracts the start and end dates from a between command, as in "1/12/2024 31/12/2024".
+     *
+     * @param fullInput The full input string after the between command
+     * @return The start date string followed by the end date string
+     * @throws JimmyException if the input does not hold exactly two dates
+     */
+    public static String[] extractDateRange(String fullInput) throws JimmyException {
+        String[] dates = CommandTokenizer.splitWords(fullInput);
+        if (dates.length != 2 || dates[0].isEmpty()) {
+            throw new JimmyException(ERR_DATE_RANGE);
+        }
+        return dates;
+    }
+
+    /**
+     * Extracts the arguments of a free command, as in "1/12/2024 7/12/2024 90m 3".
+     *
+     * @param fullInput The full input string after the free command
+     * @return The start date, end date and length strings, followed by the slot count if given
+     * @throws JimmyException if the input does not hold three or four arguments
+     */
+    public static String[] extractFreeArguments(String fullInput) throws JimmyException {
+        String[] arguments = CommandTokenizer.splitWords(fullInput);
+        if (arguments.length < 3 || arguments.length > 4) {
+            throw new JimmyException(ERR_FREE_ARGUMENTS);
+        }
+        return arguments;
+    }
+
+    /**
+     * Parses a length of time given in minutes ("90" or "90m") or hours ("2h").
+     *
+     * @param input The length string
+     * @return The length in minutes
+     * @throws JimmyException if the length is not a positive whole number of minutes or hours
+     */
+    public static long parseDurationMinutes(String input) throws JimmyException {
+        String trimmed = input.trim().toLowerCase();
+        long unit = 1;
+        if (trimmed.endsWith("h")) {
+            unit = MINUTES_PER_HOUR;
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        } else if (trimmed.endsWith("m")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        long amount;
+        try {
+            amount = Long.parseLong(trimmed);
+        } catch (NumberFormatException e) {
+            throw new JimmyException(ERR_DURATION);
+        }
+        if (amount <= 0 || amount > MAX_DURATION_MINUTES / unit) {
+            throw new JimmyException(ERR_DURATION);
+        }
+        return amount * unit;
+    }
+
+    /**
+     * Parses the number of slots a free command asks for.
+     *
+     * @param input The count string
+     * @return The count
+     * @throws JimmyException if the count is not a positive number
+     */
+    public static int parseSlotCount(String input) throws JimmyException {
+        int count;
+        try {
+            count = Integer.parseInt(input.trim());
+        } catch (NumberFormatException e) {
+            throw new JimmyException(ERR_SLOT_COUNT);
+        }
+        if (count <= 0) {
+            throw new JimmyException(ERR_SLOT_COUNT);
+        }
+        return count;
+    }
+
+    /**
+     * Parses how many changes a script may make before they are saved, as given to "--save-every=".
+     *
+     * @param input The number typed by the user
+     * @return The number of changes
+     * @throws JimmyException if the input is not a positive number
+     */
+    public static int parseSaveInterval(String input) throws JimmyException {
+        int count;
+        try {
+            count = Integer.parseInt(input.trim());
+        } catch (NumberFormatException e) {
+            throw new JimmyException(ERR_SAVE_INTERVAL);
+        }
+        if (count <= 0) {
+            throw new JimmyException(ERR_SAVE_INTERVAL);
+        }
+        return count;
     }
 
     /**
@@ -240,7 +360,8 @@ public class Parser {
      * @return The description part of the deadline
      */
     public static String extractDeadlineDescription(String fullInput) {
-        return fullInput.split(KEY_BY)[0].trim();
+        int by = fullInput.indexOf(KEY_BY);
+        return CommandTokenizer.trimmedSpan(fullInput, 0, by < 0 ? fullInput.length() : by);
     }
     
     /**
@@ -251,7 +372,9 @@ public class Parser {
      * @return The date part of the deadline
      */
     public static String extractDeadlineDate(String fullInput) {
-        return fullInput.split(KEY_BY)[1].trim();
+        int by = fullInput.indexOf(KEY_BY);
+        assert by >= 0 : "Deadline must have been validated";
+        return spanUntil(fullInput, by + KEY_BY.length(), KEY_BY);
     }
     
     /**
@@ -262,7 +385,8 @@ public class Parser {
      * @return The description part of the event
      */
     public static String extractEventDescription(String fullInput) {
-        return fullInput.split(KEY_FROM)[0].trim();
+        int from = fullInput.indexOf(KEY_FROM);
+        return CommandTokenizer.trimmedSpan(fullInput, 0, from < 0 ? fullInput.length() : from);
     }
     
     /**
@@ -273,7 +397,19 @@ public class Parser {
      * @return The start time of the event
      */
     public static String extractEventFrom(String fullInput) {
-        return fullInput.split(KEY_FROM)[1].split(KEY_TO)[0].trim();
+        int from = fullInput.indexOf(KEY_FROM);
+        assert from >= 0 : "Event must have been validated";
+        int start = from + KEY_FROM.length();
+        int to = fullInput.indexOf(KEY_TO, start);
+        int nextFrom = fullInput.indexOf(KEY_FROM, start);
+        int end = fullInput.length();
+        if (to >= 0) {
+            end = to;
+        }
+        if (nextFrom >= 0 && nextFrom < end) {
+            end = nextFrom;
+        }
+        return CommandTokenizer.trimmedSpan(fullInput, start, end);
     }
     
     /**
@@ -284,9 +420,53 @@ public class Parser {
      * @return The end time of the event
      */
     public static String extractEventTo(String fullInput) {
-        return fullInput.split(KEY_TO)[1].trim();
+        int to = fullInput.indexOf(KEY_TO);
+        assert to >= 0 : "Event must have been validated";
+        return spanUntil(fullInput, to + KEY_TO.length(), KEY_TO);
     }
     
+    /**
+     * Returns the trimmed text from a position up to the next occurrence of a keyword, or to the end.
+     */
+    private static String spanUntil(String fullInput, int start, String keyword) {
+        int next = fullInput.indexOf(keyword, start);
+        return CommandTokenizer.trimmedSpan(fullInput, start, next < 0 ? fullInput.length() : next);
+    }
+
+    /**
+     * Checks whether the input refers to a task by its stable id, as in "#12".
+     *
+     * @param fullInput The input string after the command
+     * @return true if the input starts with '#'
+     */
+    public static boolean isTaskIdReference(String fullInput) {
+        return CommandTokenizer.firstNonBlank(fullInput) == ID_PREFIX.charAt(0);
+    }
+
+    /**
+     * Parses a task id reference such as "#12".
+     *
+     * @param fullInput The input string containing the reference
+     * @return The referenced id
+     * @throws JimmyException if the reference is not '#' followed by a positive number
+     */
+    public static long parseTaskId(String fullInput) throws JimmyException {
+        String trimmed = fullInput.trim();
+        if (!trimmed.startsWith(ID_PREFIX)) {
+            throw new JimmyException(ERR_VALID_ID);
+        }
+        long id;
+        try {
+            id = Long.parseLong(trimmed.substring(ID_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            throw new JimmyException(ERR_VALID_ID);
+        }
+        if (id <= 0) {
+            throw new JimmyException(ERR_VALID_ID);
+        }
+        return id;
+    }
+
     /**
      * Parses a task index from the input string.
      * Converts the string to a 1-based index and validates it.
@@ -313,4 +493,78 @@ public class Parser {
         }
         return index;
     }
+
+    /**
+     * Checks whether the input selects several tasks at once: "all", "done", a list of
+     * numbers separated by commas, or a range such as "1-500".
+     * A single number or id reference is not a selection, so it keeps its own messages.
+     *
+     * @param fullInput The input string after the command
+     * @return true if the input should be parsed with {@link #parseTaskSelection(String)}
+     */
+    public static boolean isTaskSelection(String fullInput) {
+        String trimmed = fullInput.trim();
+        return trimmed.equalsIgnoreCase(SELECT_ALL) || trimmed.equalsIgnoreCase(SELECT_DONE)
+                || trimmed.indexOf(',') >= 0 || CommandTokenizer.startsWithRange(trimmed);
+    }
+
+    /**
+     * Parses a selection of tasks, as in "all", "done" or "3,7,9-20".
+     * Numbers are 1-based and ranges include both ends.
+     *
+     * @param fullInput The input string after the command
+     * @return The selection, with 0-based positions
+     * @throws JimmyException if a part is not a positive number or a range of them
+     */
+    public static TaskSelection parseTaskSelection(String fullInput) throws JimmyException {
+        String trimmed = fullInput.trim();
+        if (trimmed.equalsIgnoreCase(SELECT_ALL)) {
+            return TaskSelection.all();
+        }
+        if (trimmed.equalsIgnoreCase(SELECT_DONE)) {
+            return TaskSelection.done();
+        }
+        int partCount = CommandTokenizer.countOccurrences(trimmed, ",") + 1;
+        int[] starts = new int[partCount];
+        int[] ends = new int[partCount];
+        int from = 0;
+        for (int i = 0; i < partCount; i++) {
+            int comma = trimmed.indexOf(',', from);
+            int to = comma < 0 ? trimmed.length() : comma;
+            int hyphen = trimmed.indexOf('-', from);
+            if (hyphen < 0 || hyphen >= to) {
+                starts[i] = parseTaskNumber(CommandTokenizer.trimmedSpan(trimmed, from, to));
+                ends[i] = starts[i];
+            } else {
+                starts[i] = parseTaskNumber(CommandTokenizer.trimmedSpan(trimmed, from, hyphen));
+                ends[i] = parseTaskNumber(CommandTokenizer.trimmedSpan(trimmed, hyphen + 1, to));
+                if (ends[i] < starts[i]) {
+                    throw new JimmyException(ERR_RANGE_ORDER);
+                }
+            }
+            from = to + 1;
+        }
+        return TaskSelection.positions(starts, ends);
+    }
+
+    /**
+     * Parses one 1-based task number within a selection.
+     *
+     * @return The 0-based index
+     */
+    private static int parseTaskNumber(String part) throws JimmyException {
+        if (part.isEmpty() || !part.chars().allMatch(Character::isDigit)) {
+            throw new JimmyException(ERR_TASK_RANGES);
+        }
+        int number;
+        try {
+            number = Integer.parseInt(part);
+        } catch (NumberFormatException e) {
+            throw new JimmyException(ERR_VALID_NUMBER);
+        }
+        if (number < 1) {
+            throw new JimmyException(ERR_POSITIVE_INDEX);
+        }
+        return number - 1;
+    }
 }
@@ -0,0 +1,123 @@
+package jimmy.command;
+
+import java.util.Arrays;
+
+/**
+ * The tasks a bulk command such as "mark 1-500" or "delete done" applies to:
+ * every task, the tasks that are done, or a set of positions given as numbers
+ * and ranges. Positions are kept as sorted, disjoint 0-based ranges, so a large
+ * range costs no more to hold than a single number.
+ */
+public final class TaskSelection {
+    /**
+     * What a selection refers to.
+     */
+    public enum Kind {
+        /** Every task in the list */
+        ALL,
+        /** The tasks marked as done */
+        DONE,
+        /** The tasks at the given positions */
+        POSITIONS
+    }
+
+    private static final TaskSelection ALL = new TaskSelection(Kind.ALL, new int[0]);
+    private static final TaskSelection DONE = new TaskSelection(Kind.DONE, new int[0]);
+
+    private final Kind kind;
+
+    /** Sorted, disjoint and non-adjacent 0-based inclusive ranges, as start and end pairs */
+    private final int[] ranges;
+
+    private TaskSelection(Kind kind, int[] ranges) {
+        this.kind = kind;
+        this.ranges = ranges;
+    }
+
+    /**
+     * Returns the selection of every task.
+     *
+     * @return The selection
+     */
+    public static TaskSelection all() {
+        return ALL;
+    }
+
+    /**
+     * Returns the selection of the tasks marked as done.
+     *
+     * @return The selection
+     */
+    public static TaskSelection done() {
+        return DONE;
+    }
+
+    /**
+     * Returns the selection of the tasks at the given positions.
+     * Ranges may overlap and come in any order; they are sorted and merged.
+     *
+     * @param starts The 0-based first position of each range
+     * @param ends The 0-based last position of each range, no smaller than its start
+     * @return The selection
+     */
+    public static TaskSelection positions(int[] starts, int[] ends) {
+        assert starts.length == ends.length && starts.length > 0 : "Each range needs a start and an end";
+        long[] sorted = new long[starts.length];
+        for (int i = 0; i < starts.length; i++) {
+            assert starts[i] >= 0 && starts[i] <= ends[i] : "Range must not end before it starts";
+            sorted[i] = ((long) starts[i] << Integer.SIZE) | ends[i];
+        }
+        Arrays.sort(sorted);
+        int[] merged = new int[sorted.length * 2];
+        int count = 0;
+        for (long range : sorted) {
+            int start = (int) (range >>> Integer.SIZE);
+            int end = (int) range;
+            if (count > 0 && start <= merged[count - 1] + 1L) {
+                merged[count - 1] = Math.max(merged[count - 1], end);
+            } else {
+                merged[count++] = start;
+                merged[count++] = end;
+            }
+        }
+        return new TaskSelection(Kind.POSITIONS, Arrays.copyOf(merged, count));
+    }
+
+    /**
+     * Returns what the selection refers to.
+     *
+     * @return The kind of selection
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns the largest position selected.
+     *
+     * @return The 0-based position, or -1 if the selection is not of positions
+     */
+    public int getLastIndex() {
+        return ranges.length == 0 ? -1 : ranges[ranges.length - 1];
+    }
+
+    /**
+     * Returns every position selected, in ascending order and without repeats.
+     *
+     * @return The 0-based positions, empty if the selection is not of positions
+     */
+    public int[] toIndices() {
+        int count = 0;
+        for (int i = 0; i < ranges.length; i += 2) {
+            count += ranges[i + 1] - ranges[i] + 1;
+        }
+        int[] indices = new int[count];
+        int next = 0;
+        for (int i = 0; i < ranges.length; i += 2) {
+            for (int index = ranges[i]; index <= ranges[i + 1]; index++) {
+                indices[next++] = index;
+            }
+        }
+        return indices;
+    }
+}
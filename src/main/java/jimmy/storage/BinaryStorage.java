@@ -0,0 +1,316 @@
+package jimmy.storage;
+
+import jimmy.task.Task;
+import jimmy.task.TaskList;
+import jimmy.task.Todo;
+import jimmy.task.Deadline;
+import jimmy.task.Event;
+import jimmy.exception.JimmyException;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores tasks in a compact binary snapshot that is read through a memory map.
+ * Loading decodes fixed-width fields straight from the mapped pages instead of
+ * splitting and re-parsing text, so start-up time is dominated by the page cache.
+ *
+ * <p>Layout (big-endian): a 20-byte header holding the magic number "JMY1",
+ * the format version, the task count and the id high-water mark, followed by one
+ * record per task: a type tag ('T', 'D' or 'E'), a done flag, zero to two dates as
+ * epoch seconds, the description as a length-prefixed UTF-8 string, and the task's
+ * stable id. Version 1 files, written before tasks had ids, and version 2 files,
+ * whose 12-byte header has no high-water mark, are still read.</p>
+ *
+ * <p>If the binary file does not exist yet, tasks are migrated from the text file
+ * written by {@link Storage} and saved in binary form.</p>
+ */
+public class BinaryStorage implements StorageEngine {
+    /** Magic number at the start of every binary task file ("JMY1") */
+    static final int MAGIC = 0x4A4D5931;
+
+    /** Current version of the binary layout */
+    static final short VERSION = 3;
+
+    /** Version of the layout without task ids */
+    private static final short VERSION_WITHOUT_IDS = 1;
+
+    /** Version of the layout without the id high-water mark */
+    private static final short VERSION_WITHOUT_NEXT_ID = 2;
+
+    private static final byte TYPE_TODO = 'T';
+    private static final byte TYPE_DEADLINE = 'D';
+    private static final byte TYPE_EVENT = 'E';
+
+    /** The path of the binary snapshot */
+    private final Path filePath;
+
+    /** The text file to migrate from when no binary snapshot exists, or null */
+    private final String legacyTextPath;
+
+    /** The smallest id no stored task has had, as of the last load or save */
+    private long nextId;
+
+    /**
+     * Constructs a binary storage at the given path without text migration.
+     *
+     * @param filePath The path of the binary snapshot
+     */
+    public BinaryStorage(String filePath) {
+        this(filePath, null);
+    }
+
+    /**
+     * Constructs a binary storage at the given path that migrates from a text file on first load.
+     *
+     * @param filePath The path of the binary snapshot
+     * @param legacyTextPath The path of the text file written by {@link Storage}, or null
+     */
+    public BinaryStorage(String filePath, String legacyTextPath) {
+        this.filePath = Paths.get(filePath);
+        assert this.filePath != null : "Storage path must not be null";
+        this.legacyTextPath = legacyTextPath;
+    }
+
+    /**
+     * Loads tasks from the binary snapshot, migrating from the text file if needed.
+     *
+     * @return A list of loaded tasks, or an empty list if neither file exists
+     * @throws JimmyException if there are file access issues or data corruption
+     */
+    @Override
+    public List<Task> load() throws JimmyException {
+        if (!Files.exists(filePath)) {
+            return migrate();
+        }
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new JimmyException("Binary task file is too large to map: " + size + " bytes.");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return decode(buffer);
+        } catch (IOException e) {
+            throw new JimmyException("Cannot access storage file: " + e.getMessage());
+        } catch (SecurityException e) {
+            throw new JimmyException("Permission denied accessing storage file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Saves the tasks as a binary snapshot.
+     * The snapshot is written to a temporary file, synced to disk and moved into place;
+     * the temporary file is removed if any step fails.
+     *
+     * @param tasks The list of tasks to save
+     * @throws JimmyException if there are file access issues
+     */
+    @Override
+    public void save(List<Task> tasks) throws JimmyException {
+        if (tasks == null) {
+            throw new JimmyException("Tasks list cannot be null.");
+        }
+        for (Task task : tasks) {
+            if (task == null) {
+                throw new JimmyException("Task in list cannot be null.");
+            }
+            nextId = Math.max(nextId, task.getId() + 1);
+        }
+        try {
+            Path parent = filePath.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, filePath.getFileName().toString(), ".tmp");
+            boolean isMoved = false;
+            try {
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                    DataOutputStream out = new DataOutputStream(
+                            new BufferedOutputStream(Channels.newOutputStream(channel)));
+                    out.writeInt(MAGIC);
+                    out.writeShort(VERSION);
+                    out.writeShort(0);
+                    out.writeInt(tasks.size());
+                    out.writeLong(nextId);
+                    for (Task task : tasks) {
+                        writeTask(out, task);
+                    }
+                    out.flush();
+                    // The snapshot must be on disk before it replaces the old one
+                    channel.force(true);
+                }
+                Files.move(temp, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                isMoved = true;
+            } finally {
+                if (!isMoved) {
+                    Files.deleteIfExists(temp);
+                }
+            }
+        } catch (IOException e) {
+            throw new JimmyException("Cannot write to storage file: " + e.getMessage());
+        } catch (SecurityException e) {
+            throw new JimmyException("Permission denied writing to storage file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the id high-water mark found by the last load.
+     *
+     * @return The smallest id never used
+     */
+    @Override
+    public long getNextId() {
+        return nextId;
+    }
+
+    /**
+     * Saves the task list, keeping its id high-water mark so the id of the removed
+     * task is not reused after a restart.
+     *
+     * @param taskList The task list after the removal
+     * @param index The 0-based index the removed task used to have
+     * @throws JimmyException if there are file access issues
+     */
+    @Override
+    public void recordDelete(TaskList taskList, int index) throws JimmyException {
+        recordBatch(taskList);
+    }
+
+    /**
+     * Saves the task list, keeping its id high-water mark so the ids of removed
+     * tasks are not reused after a restart.
+     *
+     * @param taskList The task list after the changes
+     * @throws JimmyException if there are file access issues
+     */
+    @Override
+    public void recordBatch(TaskList taskList) throws JimmyException {
+        nextId = Math.max(nextId, taskList.getNextId());
+        save(taskList.asList());
+    }
+
+    /**
+     * Loads tasks from the legacy text file and writes them as a binary snapshot.
+     *
+     * @return The migrated tasks, or an empty list if there is nothing to migrate
+     * @throws JimmyException if either file cannot be accessed
+     */
+    private List<Task> migrate() throws JimmyException {
+        if (legacyTextPath == null || !Files.exists(Paths.get(legacyTextPath))) {
+            return new ArrayList<>();
+        }
+        Storage legacy = new Storage(legacyTextPath);
+        List<Task> tasks = legacy.load();
+        nextId = legacy.getNextId();
+        save(tasks);
+        return tasks;
+    }
+
+    private static void writeTask(DataOutputStream out, Task task) throws IOException {
+        if (task instanceof Deadline) {
+            out.writeByte(TYPE_DEADLINE);
+            out.writeBoolean(task.isDone());
+            out.writeLong(((Deadline) task).getByEpochSecond());
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            out.writeByte(TYPE_EVENT);
+            out.writeBoolean(task.isDone());
+            out.writeLong(event.getFromEpochSecond());
+            out.writeLong(event.getToEpochSecond());
+        } else {
+            out.writeByte(TYPE_TODO);
+            out.writeBoolean(task.isDone());
+        }
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        out.writeInt(description.length);
+        out.write(description);
+        out.writeLong(task.getId());
+    }
+
+    /**
+     * Decodes every task from a buffer holding a complete binary snapshot.
+     *
+     * @param buffer The buffer positioned at the start of the header
+     * @return The decoded tasks in stored order
+     * @throws JimmyException if the buffer does not hold a valid snapshot
+     */
+    private List<Task> decode(ByteBuffer buffer) throws JimmyException {
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new JimmyException("Binary task file has an unknown format.");
+            }
+            short version = buffer.getShort();
+            if (version != VERSION && version != VERSION_WITHOUT_NEXT_ID && version != VERSION_WITHOUT_IDS) {
+                throw new JimmyException("Unsupported binary task file version: " + version);
+            }
+            buffer.getShort();
+            int count = buffer.getInt();
+            long storedNextId = version == VERSION ? buffer.getLong() : 0;
+            if (count < 0 || storedNextId < 0) {
+                throw new JimmyException("Binary task file is corrupted.");
+            }
+            List<Task> tasks = new ArrayList<>(Math.min(count, buffer.remaining()));
+            for (int i = 0; i < count; i++) {
+                tasks.add(readTask(buffer, version != VERSION_WITHOUT_IDS));
+            }
+            TaskList.assignMissingIds(tasks, storedNextId);
+            nextId = storedNextId;
+            for (Task task : tasks) {
+                nextId = Math.max(nextId, task.getId() + 1);
+            }
+            return tasks;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new JimmyException("Binary task file is corrupted.");
+        }
+    }
+
+    private static Task readTask(ByteBuffer buffer, boolean hasId) throws JimmyException {
+        byte type = buffer.get();
+        boolean isDone = buffer.get() != 0;
+        long from = 0;
+        long to = 0;
+        if (type == TYPE_DEADLINE) {
+            from = buffer.getLong();
+        } else if (type == TYPE_EVENT) {
+            from = buffer.getLong();
+            to = buffer.getLong();
+        } else if (type != TYPE_TODO) {
+            throw new JimmyException("Binary task file is corrupted.");
+        }
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new JimmyException("Binary task file is corrupted.");
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        String description = new String(bytes, StandardCharsets.UTF_8);
+        long id = hasId ? buffer.getLong() : 0;
+
+        Task task;
+        if (type == TYPE_DEADLINE) {
+            task = new Deadline(description, from);
+        } else if (type == TYPE_EVENT) {
+            task = new Event(description, from, to);
+        } else {
+            task = new Todo(description);
+        }
+        if (isDone) {
+            task.markAsDone();
+        }
+        if (id > 0) {
+            task.setId(id);
+        }
+        return task;
+    }
+}
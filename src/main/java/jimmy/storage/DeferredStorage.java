@@ -0,0 +1,171 @@
+package jimmy.storage;
+
+import jimmy.task.Task;
+import jimmy.task.TaskList;
+import jimmy.exception.JimmyException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds back the saves of another storage engine, so a long run of commands such as a
+ * script is persisted as one batch instead of once per command. Changes are only
+ * remembered until the engine is flushed, or until the given number of changes has
+ * built up; then they are handed to the underlying engine in a single save.
+ *
+ * <p>Changes that have not been written yet are lost if the application stops without
+ * flushing, so this is meant for runs that can be repeated, not for interactive use.</p>
+ */
+public class DeferredStorage implements StorageEngine {
+    private final StorageEngine storage;
+
+    /** Number of changes after which they are written without waiting for a flush, or 0 for never */
+    private final int saveEvery;
+
+    /** The task list most recently reported through a record method, or null */
+    private TaskList pendingTaskList;
+
+    /** Tasks most recently saved as a whole, used when no task list has been recorded since */
+    private List<Task> pendingTasks;
+
+    /** Number of changes not yet written */
+    private int pendingChanges;
+
+    /** Number of batches written to the underlying engine */
+    private long saveCount;
+
+    /**
+     * Constructs a storage that writes only when flushed or closed.
+     *
+     * @param storage The engine that changes are written to
+     */
+    public DeferredStorage(StorageEngine storage) {
+        this(storage, 0);
+    }
+
+    /**
+     * Constructs a storage that writes when flushed or closed, and after every given number of changes.
+     *
+     * @param storage The engine that changes are written to
+     * @param saveEvery The number of changes written together, or 0 to write only when flushed
+     */
+    public DeferredStorage(StorageEngine storage, int saveEvery) {
+        assert saveEvery >= 0 : "Number of changes per save must not be negative";
+        this.storage = storage;
+        this.saveEvery = saveEvery;
+    }
+
+    @Override
+    public List<Task> load() throws JimmyException {
+        return storage.load();
+    }
+
+    @Override
+    public long getNextId() {
+        return storage.getNextId();
+    }
+
+    @Override
+    public void save(List<Task> tasks) throws JimmyException {
+        if (tasks == null) {
+            throw new JimmyException("Tasks list cannot be null.");
+        }
+        pendingTasks = new ArrayList<>(tasks);
+        pendingTaskList = null;
+        addChange();
+    }
+
+    @Override
+    public void recordAdd(TaskList taskList, Task task) throws JimmyException {
+        record(taskList);
+    }
+
+    @Override
+    public void recordMark(TaskList taskList, int index) throws JimmyException {
+        record(taskList);
+    }
+
+    @Override
+    public void recordUnmark(TaskList taskList, int index) throws JimmyException {
+        record(taskList);
+    }
+
+    @Override
+    public void recordDelete(TaskList taskList, int index) throws JimmyException {
+        record(taskList);
+    }
+
+    @Override
+    public void recordBatch(TaskList taskList) throws JimmyException {
+        record(taskList);
+    }
+
+    /**
+     * Writes the pending changes as one batch and flushes the underlying engine.
+     *
+     * @throws JimmyException if there are file access issues
+     */
+    @Override
+    public void flush() throws JimmyException {
+        writePending();
+        storage.flush();
+    }
+
+    /**
+     * Writes the pending changes as one batch and closes the underlying engine.
+     *
+     * @throws JimmyException if there are file access issues
+     */
+    @Override
+    public void close() throws JimmyException {
+        writePending();
+        storage.close();
+    }
+
+    /**
+     * Returns the number of batches written to the underlying engine so far.
+     *
+     * @return The save count
+     */
+    public long getSaveCount() {
+        return saveCount;
+    }
+
+    /**
+     * Returns the number of changes that have not been written yet.
+     *
+     * @return The pending change count
+     */
+    public int getPendingChanges() {
+        return pendingChanges;
+    }
+
+    private void record(TaskList taskList) throws JimmyException {
+        assert taskList != null : "Recorded task list must not be null";
+        pendingTaskList = taskList;
+        pendingTasks = null;
+        addChange();
+    }
+
+    private void addChange() throws JimmyException {
+        pendingChanges++;
+        if (saveEvery > 0 && pendingChanges >= saveEvery) {
+            writePending();
+        }
+    }
+
+    /**
+     * Hands every pending change to the underlying engine in a single save.
+     */
+    private void writePending() throws JimmyException {
+        if (pendingChanges == 0) {
+            return;
+        }
+        if (pendingTaskList != null) {
+            storage.recordBatch(pendingTaskList);
+        } else {
+            storage.save(pendingTasks);
+        }
+        pendingChanges = 0;
+        saveCount++;
+    }
+}
@@ -0,0 +1,110 @@
+package jimmy.storage;
+
+import jimmy.exception.JimmyException;
+
+/**
+ * Describes when pending changes are forced to disk by the storage writer.
+ * The policy bounds how much work can be lost if the application stops unexpectedly:
+ * nothing for EVERY_COMMAND, at most one interval for INTERVAL, and everything
+ * since start-up for ON_EXIT.
+ */
+public final class DurabilityPolicy {
+    /**
+     * When pending changes are written.
+     */
+    public enum Mode {
+        /** Every save is written and synced before the command returns */
+        EVERY_COMMAND,
+        /** Saves are written in the background at a fixed interval */
+        INTERVAL,
+        /** Saves are only written when the storage is flushed or closed */
+        ON_EXIT
+    }
+
+    private static final String INTERVAL_PREFIX = "interval:";
+
+    private final Mode mode;
+    private final long intervalMillis;
+
+    private DurabilityPolicy(Mode mode, long intervalMillis) {
+        this.mode = mode;
+        this.intervalMillis = intervalMillis;
+    }
+
+    /**
+     * Returns a policy that writes every save before the command returns.
+     *
+     * @return The every-command policy
+     */
+    public static DurabilityPolicy everyCommand() {
+        return new DurabilityPolicy(Mode.EVERY_COMMAND, 0);
+    }
+
+    /**
+     * Returns a policy that writes pending saves in the background every given number of milliseconds.
+     *
+     * @param intervalMillis The maximum time a save may stay unwritten
+     * @return The interval policy
+     * @throws JimmyException if the interval is not positive
+     */
+    public static DurabilityPolicy interval(long intervalMillis) throws JimmyException {
+        if (intervalMillis <= 0) {
+            throw new JimmyException("Durability interval must be a positive number of milliseconds.");
+        }
+        return new DurabilityPolicy(Mode.INTERVAL, intervalMillis);
+    }
+
+    /**
+     * Returns a policy that only writes when the storage is flushed or closed.
+     *
+     * @return The on-exit policy
+     */
+    public static DurabilityPolicy onExit() {
+        return new DurabilityPolicy(Mode.ON_EXIT, 0);
+    }
+
+    /**
+     * Parses a policy from its command-line form:
+     * "every-command", "on-exit" or "interval:&lt;millis&gt;".
+     *
+     * @param text The policy name
+     * @return The parsed policy
+     * @throws JimmyException if the text does not name a policy
+     */
+    public static DurabilityPolicy parse(String text) throws JimmyException {
+        String trimmed = text == null ? "" : text.trim();
+        if (trimmed.equals("every-command")) {
+            return everyCommand();
+        }
+        if (trimmed.equals("on-exit")) {
+            return onExit();
+        }
+        if (trimmed.startsWith(INTERVAL_PREFIX)) {
+            try {
+                return interval(Long.parseLong(trimmed.substring(INTERVAL_PREFIX.length())));
+            } catch (NumberFormatException e) {
+                throw new JimmyException("Durability interval must be a valid number.");
+            }
+        }
+        throw new JimmyException("Unknown durability policy '" + trimmed
+                + "'. Expected every-command, on-exit or interval:<millis>.");
+    }
+
+    /**
+     * Returns when pending changes are written under this policy.
+     *
+     * @return The policy mode
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Returns the background write interval, or 0 if the policy does not write periodically.
+     *
+     * @return The interval in milliseconds
+     */
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+}
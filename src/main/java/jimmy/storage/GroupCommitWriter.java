@@ -0,0 +1,283 @@
+package jimmy.storage;
+
+import jimmy.task.Task;
+import jimmy.exception.JimmyException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects pending saves and writes them to disk in batches.
+ * A full snapshot supersedes everything queued before it, and journal records
+ * queued together are appended with a single write and sync, so a burst of
+ * commands costs one disk round trip instead of one per command.
+ * Whichever thread finds the writer idle performs the write for every save
+ * queued so far (group commit); under an INTERVAL policy that is a background thread.
+ */
+public class GroupCommitWriter {
+    /**
+     * Destination of the batched writes.
+     */
+    public interface Sink {
+        /**
+         * Writes a full snapshot of the tasks, replacing everything written before.
+         *
+         * @param tasks The tasks to write
+         * @throws JimmyException if the snapshot cannot be written
+         */
+        void writeSnapshot(List<Task> tasks) throws JimmyException;
+
+        /**
+         * Appends journal records to the data written so far and syncs them.
+         *
+         * @param records The records to append, in order
+         * @throws JimmyException if the records cannot be written
+         */
+        void appendRecords(List<String> records) throws JimmyException;
+    }
+
+    private final Sink sink;
+    private final DurabilityPolicy policy;
+    private final ScheduledExecutorService scheduler;
+
+    /** Latest snapshot waiting to be written, or null if none is pending */
+    private List<Task> pendingSnapshot;
+
+    /** Journal records waiting to be written after the pending snapshot */
+    private List<String> pendingRecords = new ArrayList<>();
+
+    /** Sequence number of the most recent submission */
+    private long submitted;
+
+    /** Sequence number up to which all submissions have been written */
+    private long written;
+
+    /** Whether some thread is currently writing a batch */
+    private boolean isWriting;
+
+    /** Failure of the most recent batch, reported to the next caller */
+    private RuntimeException failure;
+
+    private boolean isClosed;
+
+    /**
+     * Constructs a writer that sends batches to the given sink under the given policy.
+     *
+     * @param sink The destination of the writes
+     * @param policy When pending saves are written
+     */
+    public GroupCommitWriter(Sink sink, DurabilityPolicy policy) {
+        assert sink != null : "Writer sink must not be null";
+        assert policy != null : "Durability policy must not be null";
+        this.sink = sink;
+        this.policy = policy;
+        if (policy.getMode() == DurabilityPolicy.Mode.INTERVAL) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "jimmy-storage-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = policy.getIntervalMillis();
+            scheduler.scheduleWithFixedDelay(this::flushInBackground, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Queues a full snapshot, discarding any earlier pending snapshot and records.
+     * The list must not be modified by the caller afterwards.
+     * A failure of an earlier background batch is reported here; the snapshot stays queued.
+     *
+     * @param tasks The tasks to write
+     * @throws JimmyException if this or an earlier batch could not be written
+     */
+    public void submitSnapshot(List<Task> tasks) throws JimmyException {
+        long ticket;
+        synchronized (this) {
+            pendingSnapshot = tasks;
+            pendingRecords = new ArrayList<>();
+            ticket = ++submitted;
+            reportFailure();
+        }
+        afterSubmit(ticket);
+    }
+
+    /**
+     * Queues a journal record to be appended after everything queued before it.
+     *
+     * @param record The encoded record
+     * @throws JimmyException if this or an earlier batch could not be written
+     */
+    public void submitRecord(String record) throws JimmyException {
+        long ticket;
+        synchronized (this) {
+            pendingRecords.add(record);
+            ticket = ++submitted;
+            reportFailure();
+        }
+        afterSubmit(ticket);
+    }
+
+    /**
+     * Queues several records to be appended together after everything queued before them.
+     *
+     * @param records The encoded records, in order
+     * @throws JimmyException if this or an earlier batch could not be written
+     */
+    public void submitRecords(List<String> records) throws JimmyException {
+        long ticket;
+        synchronized (this) {
+            pendingRecords.addAll(records);
+            ticket = ++submitted;
+            reportFailure();
+        }
+        afterSubmit(ticket);
+    }
+
+    /**
+     * Writes everything queued so far and waits for it to reach the disk.
+     *
+     * @throws JimmyException if the pending saves could not be written
+     */
+    public void flush() throws JimmyException {
+        long ticket;
+        synchronized (this) {
+            // A failed batch has been requeued, so retrying it supersedes the old failure
+            failure = null;
+            ticket = submitted;
+        }
+        awaitWritten(ticket);
+        synchronized (this) {
+            reportFailure();
+        }
+    }
+
+    /**
+     * Flushes pending saves and stops the background thread, if any.
+     * Calling close more than once has no further effect.
+     *
+     * @throws JimmyException if the pending saves could not be written
+     */
+    public void close() throws JimmyException {
+        synchronized (this) {
+            if (isClosed) {
+                return;
+            }
+            isClosed = true;
+        }
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        flush();
+    }
+
+    /**
+     * Returns whether any submitted save has not been written yet.
+     *
+     * @return true if saves are pending
+     */
+    public synchronized boolean hasPending() {
+        return written < submitted;
+    }
+
+    private void afterSubmit(long ticket) {
+        if (policy.getMode() == DurabilityPolicy.Mode.EVERY_COMMAND) {
+            awaitWritten(ticket);
+            synchronized (this) {
+                reportFailure();
+            }
+        }
+    }
+
+    private void flushInBackground() {
+        long ticket;
+        synchronized (this) {
+            ticket = submitted;
+        }
+        // Failures are kept and reported to the next caller on the command thread
+        awaitWritten(ticket);
+    }
+
+    /**
+     * Blocks until every submission up to the ticket is written, writing
+     * the pending batch on this thread whenever no other thread is doing so.
+     */
+    private void awaitWritten(long ticket) {
+        while (true) {
+            List<Task> snapshot;
+            List<String> records;
+            long batchEnd;
+            synchronized (this) {
+                while (isWriting && written < ticket) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                if (written >= ticket || failure != null) {
+                    return;
+                }
+                snapshot = pendingSnapshot;
+                records = pendingRecords;
+                batchEnd = submitted;
+                pendingSnapshot = null;
+                pendingRecords = new ArrayList<>();
+                isWriting = true;
+            }
+
+            RuntimeException error = null;
+            try {
+                if (snapshot != null) {
+                    sink.writeSnapshot(snapshot);
+                }
+                if (!records.isEmpty()) {
+                    sink.appendRecords(records);
+                }
+            } catch (RuntimeException e) {
+                error = e;
+            }
+
+            synchronized (this) {
+                isWriting = false;
+                if (error == null) {
+                    written = batchEnd;
+                } else {
+                    failure = error;
+                    requeue(snapshot, records);
+                }
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Puts a failed batch back in front of anything queued since, so a later flush retries it.
+     */
+    private void requeue(List<Task> snapshot, List<String> records) {
+        if (pendingSnapshot != null) {
+            // A newer snapshot already supersedes the failed batch
+            return;
+        }
+        List<String> retry = new ArrayList<>(records);
+        retry.addAll(pendingRecords);
+        pendingRecords = retry;
+        pendingSnapshot = snapshot;
+    }
+
+    private void reportFailure() {
+        if (failure == null) {
+            return;
+        }
+        RuntimeException error = failure;
+        failure = null;
+        if (error instanceof JimmyException) {
+            throw error;
+        }
+        throw new JimmyException("Unexpected error saving tasks: " + error.getMessage());
+    }
+}
@@ -0,0 +1,103 @@
+package jimmy.storage;
+
+import jimmy.task.Task;
+import jimmy.task.TaskList;
+import jimmy.exception.JimmyException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps tasks in memory only, for tests and for benchmarking the rest of the
+ * application without disk costs. Recording a mutation only remembers the
+ * task list, so every operation takes constant time; the state is copied when
+ * it is loaded again.
+ */
+public class InMemoryStorage implements StorageEngine {
+    /** Tasks saved as a whole, used when no task list has been recorded since */
+    private List<Task> savedTasks = new ArrayList<>();
+
+    /** The task list most recently reported through a record method, or null */
+    private TaskList recordedTaskList;
+
+    /** Number of saves and recorded mutations, for benchmarks */
+    private long writeCount;
+
+    /**
+     * Constructs an empty in-memory storage.
+     */
+    public InMemoryStorage() {
+    }
+
+    /**
+     * Constructs an in-memory storage holding the given tasks.
+     *
+     * @param tasks The initial tasks
+     */
+    public InMemoryStorage(List<Task> tasks) {
+        this.savedTasks = new ArrayList<>(tasks);
+    }
+
+    @Override
+    public List<Task> load() {
+        if (recordedTaskList != null) {
+            return recordedTaskList.getAllTasks();
+        }
+        return new ArrayList<>(savedTasks);
+    }
+
+    @Override
+    public long getNextId() {
+        return recordedTaskList != null ? recordedTaskList.getNextId() : 0;
+    }
+
+    @Override
+    public void save(List<Task> tasks) throws JimmyException {
+        if (tasks == null) {
+            throw new JimmyException("Tasks list cannot be null.");
+        }
+        savedTasks = new ArrayList<>(tasks);
+        recordedTaskList = null;
+        writeCount++;
+    }
+
+    @Override
+    public void recordAdd(TaskList taskList, Task task) {
+        record(taskList);
+    }
+
+    @Override
+    public void recordMark(TaskList taskList, int index) {
+        record(taskList);
+    }
+
+    @Override
+    public void recordUnmark(TaskList taskList, int index) {
+        record(taskList);
+    }
+
+    @Override
+    public void recordDelete(TaskList taskList, int index) {
+        record(taskList);
+    }
+
+    @Override
+    public void recordBatch(TaskList taskList) {
+        record(taskList);
+    }
+
+    /**
+     * Returns the number of saves and recorded mutations so far.
+     *
+     * @return The write count
+     */
+    public long getWriteCount() {
+        return writeCount;
+    }
+
+    private void record(TaskList taskList) {
+        assert taskList != null : "Recorded task list must not be null";
+        recordedTaskList = taskList;
+        taskList.markClean();
+        writeCount++;
+    }
+}
@@ -0,0 +1,203 @@
+package jimmy.storage;
+
+import jimmy.task.Task;
+import jimmy.exception.JimmyException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+
+/**
+ * Loads large task files by parsing newline-aligned byte ranges in parallel.
+ * Every range is memory-mapped and parsed on the common fork/join pool, and the
+ * per-range results are concatenated in file order, so the loaded list is
+ * identical to a sequential load and task numbering is unchanged.
+ */
+public class ParallelTaskLoader {
+    /** Files smaller than this are loaded sequentially; splitting them costs more than it saves */
+    public static final long PARALLEL_THRESHOLD = 4L * 1024 * 1024;
+
+    /** Smallest byte range handed to one parsing task */
+    private static final long MIN_CHUNK_SIZE = 1024 * 1024;
+
+    /** Largest byte range handed to one parsing task, well below the 2 GB limit of a single mapping */
+    private static final long MAX_CHUNK_SIZE = 256L * 1024 * 1024;
+
+    /** Number of ranges per worker thread, so uneven ranges still balance out */
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    /** Size of the blocks read while searching for the next line break */
+    private static final int SCAN_BLOCK_SIZE = 4096;
+
+    /**
+     * Parses one newline-aligned byte range of the file.
+     */
+    private static class ChunkTask implements Callable<List<Task>> {
+        private final FileChannel channel;
+        private final long start;
+        private final long end;
+
+        ChunkTask(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public List<Task> call() throws IOException {
+            List<Task> tasks = new ArrayList<>();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            String text = StandardCharsets.UTF_8.newDecoder().decode(buffer).toString();
+            BufferedReader reader = new BufferedReader(new StringReader(text));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Task task = TaskRecordParser.parse(line);
+                if (task != null) {
+                    tasks.add(task);
+                }
+            }
+            return tasks;
+        }
+    }
+
+    /**
+     * Loads every task in the file, splitting it into ranges sized for the common pool.
+     *
+     * @param path The file to load
+     * @param crc The checksum to update with the whole file, or null if not needed
+     * @return The tasks in file order
+     * @throws IOException if the file cannot be read or is not valid UTF-8
+     * @throws JimmyException if a stored date cannot be parsed
+     */
+    public static List<Task> load(Path path, CRC32 crc) throws IOException, JimmyException {
+        int workers = ForkJoinPool.getCommonPoolParallelism();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long chunkSize = channel.size() / ((long) workers * CHUNKS_PER_WORKER);
+            chunkSize = Math.min(MAX_CHUNK_SIZE, Math.max(MIN_CHUNK_SIZE, chunkSize));
+            return load(channel, crc, chunkSize);
+        }
+    }
+
+    /**
+     * Loads every task in the file using byte ranges of roughly the given size.
+     *
+     * @param path The file to load
+     * @param crc The checksum to update with the whole file, or null if not needed
+     * @param chunkSize The target size of each range in bytes
+     * @return The tasks in file order
+     * @throws IOException if the file cannot be read or is not valid UTF-8
+     * @throws JimmyException if a stored date cannot be parsed
+     */
+    static List<Task> load(Path path, CRC32 crc, long chunkSize) throws IOException, JimmyException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return load(channel, crc, chunkSize);
+        }
+    }
+
+    private static List<Task> load(FileChannel channel, CRC32 crc, long chunkSize) throws IOException {
+        List<Long> boundaries = findBoundaries(channel, chunkSize);
+        List<Future<List<Task>>> chunks = new ArrayList<>();
+        for (int i = 0; i + 1 < boundaries.size(); i++) {
+            chunks.add(ForkJoinPool.commonPool().submit(
+                    new ChunkTask(channel, boundaries.get(i), boundaries.get(i + 1))));
+        }
+
+        if (crc != null) {
+            // The checksum is inherently sequential, so compute it while the ranges are parsed
+            updateChecksum(channel, crc, chunkSize);
+        }
+
+        List<Task> tasks = new ArrayList<>();
+        for (Future<List<Task>> chunk : chunks) {
+            tasks.addAll(await(chunk));
+        }
+        return tasks;
+    }
+
+    /**
+     * Waits for a range to be parsed, rethrowing whatever the parsing threw.
+     */
+    private static List<Task> await(Future<List<Task>> chunk) throws IOException {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while loading tasks");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Parsing a range of the file failed", cause);
+        }
+    }
+
+    /**
+     * Finds range boundaries roughly chunkSize apart, each placed just after a line break.
+     *
+     * @return The ascending boundaries, starting with 0 and ending with the file size
+     */
+    private static List<Long> findBoundaries(FileChannel channel, long chunkSize) throws IOException {
+        long size = channel.size();
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+        long position = chunkSize;
+        while (position < size) {
+            long lineEnd = nextLineStart(channel, position, size);
+            if (lineEnd >= size) {
+                break;
+            }
+            boundaries.add(lineEnd);
+            position = lineEnd + chunkSize;
+        }
+        boundaries.add(size);
+        return boundaries;
+    }
+
+    /**
+     * Returns the offset just after the first '\n' at or after the given position,
+     * or the file size if there is none.
+     */
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer block = ByteBuffer.allocate(SCAN_BLOCK_SIZE);
+        long offset = position;
+        while (offset < size) {
+            block.clear();
+            int read = channel.read(block, offset);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (block.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+        return size;
+    }
+
+    private static void updateChecksum(FileChannel channel, CRC32 crc, long windowSize) throws IOException {
+        long size = channel.size();
+        for (long offset = 0; offset < size; offset += windowSize) {
+            long length = Math.min(windowSize, size - offset);
+            crc.update(channel.map(FileChannel.MapMode.READ_ONLY, offset, length));
+        }
+    }
+}
@@ -0,0 +1,485 @@
+package jimmy.storage;
+
+import jimmy.task.Task;
+import jimmy.task.TaskList;
+import jimmy.exception.JimmyException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Stores tasks in a directory of bounded segment files plus a small manifest.
+ * Each segment holds a run of consecutive tasks in the text format of {@link Storage},
+ * and the manifest lists the segments in order with their task counts.
+ * A mutation rewrites only the segment holding the affected task (and the manifest
+ * when counts change), so the cost of a save is bounded by the segment size rather
+ * than the size of the whole list. Segments are parsed concurrently on load.
+ *
+ * <p>The manifest also keeps the id high-water mark, so the ids of deleted tasks
+ * are not given out again.</p>
+ *
+ * <p>If the directory has no manifest yet, tasks are migrated from the text file
+ * written by {@link Storage}.</p>
+ */
+public class SegmentedStorage implements StorageEngine {
+    /** Default maximum number of tasks per segment */
+    public static final int DEFAULT_SEGMENT_SIZE = 1000;
+
+    /** Name of the manifest file inside the storage directory */
+    static final String MANIFEST_NAME = "manifest.txt";
+
+    private static final String SEPARATOR = " | ";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".txt";
+
+    /**
+     * A segment file and the number of tasks it holds.
+     */
+    private static class Segment {
+        private final String name;
+        private int count;
+
+        Segment(String name, int count) {
+            this.name = name;
+            this.count = count;
+        }
+    }
+
+    /** The directory holding the manifest and segments */
+    private final Path directory;
+
+    /** The text file to migrate from when no manifest exists, or null */
+    private final String legacyTextPath;
+
+    /** Maximum number of tasks per segment */
+    private final int segmentSize;
+
+    /** The segments in task order, as last loaded or written */
+    private final List<Segment> segments = new ArrayList<>();
+
+    /** Number used for the next new segment file */
+    private int nextSegmentNumber;
+
+    /** The smallest id no stored task has had, as of the last load or manifest write */
+    private long nextId;
+
+    /**
+     * Constructs a segmented storage in the given directory without text migration.
+     *
+     * @param directory The directory holding the manifest and segments
+     */
+    public SegmentedStorage(String directory) {
+        this(directory, null);
+    }
+
+    /**
+     * Constructs a segmented storage in the given directory that migrates from a text file on first load.
+     *
+     * @param directory The directory holding the manifest and segments
+     * @param legacyTextPath The path of the text file written by {@link Storage}, or null
+     */
+    public SegmentedStorage(String directory, String legacyTextPath) {
+        this(directory, legacyTextPath, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Constructs a segmented storage with the given segment size.
+     *
+     * @param directory The directory holding the manifest and segments
+     * @param legacyTextPath The path of the text file written by {@link Storage}, or null
+     * @param segmentSize The maximum number of tasks per segment
+     */
+    public SegmentedStorage(String directory, String legacyTextPath, int segmentSize) {
+        this.directory = Paths.get(directory);
+        assert this.directory != null : "Storage directory must not be null";
+        assert segmentSize > 0 : "Segment size must be positive";
+        this.legacyTextPath = legacyTextPath;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Loads tasks from every segment listed in the manifest, reading segments concurrently.
+     * The manifest counts are only hints; the tasks actually found in each segment are used.
+     *
+     * @return A list of loaded tasks in order, or an empty list if nothing is stored
+     * @throws JimmyException if there are file access issues or data corruption
+     */
+    @Override
+    public List<Task> load() throws JimmyException {
+        Path manifest = directory.resolve(MANIFEST_NAME);
+        if (!Files.exists(manifest)) {
+            return migrate();
+        }
+        try {
+            segments.clear();
+            nextSegmentNumber = 0;
+            nextId = 0;
+            readManifest(manifest);
+
+            List<ForkJoinTask<List<Task>>> reads = new ArrayList<>();
+            for (Segment segment : segments) {
+                Path path = directory.resolve(segment.name);
+                reads.add(ForkJoinPool.commonPool().submit(() -> readSegment(path)));
+            }
+            List<Task> tasks = new ArrayList<>();
+            for (int i = 0; i < reads.size(); i++) {
+                List<Task> segmentTasks = reads.get(i).join();
+                segments.get(i).count = segmentTasks.size();
+                tasks.addAll(segmentTasks);
+            }
+            segments.removeIf(segment -> segment.count == 0);
+            TaskList.assignMissingIds(tasks, nextId);
+            noteIds(tasks);
+            return tasks;
+        } catch (IOException e) {
+            throw new JimmyException("Cannot access storage file: " + e.getMessage());
+        } catch (UncheckedIOException e) {
+            throw new JimmyException("Cannot access storage file: " + e.getCause().getMessage());
+        } catch (SecurityException e) {
+            throw new JimmyException("Permission denied accessing storage file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Saves all tasks, splitting them into full segments and replacing any existing ones.
+     *
+     * @param tasks The list of tasks to save
+     * @throws JimmyException if there are file access issues
+     */
+    @Override
+    public void save(List<Task> tasks) throws JimmyException {
+        if (tasks == null) {
+            throw new JimmyException("Tasks list cannot be null.");
+        }
+        for (Task task : tasks) {
+            if (task == null) {
+                throw new JimmyException("Task in list cannot be null.");
+            }
+        }
+        noteIds(tasks);
+        try {
+            Files.createDirectories(directory);
+            List<Segment> oldSegments = new ArrayList<>(segments);
+            segments.clear();
+            for (int start = 0; start < tasks.size(); start += segmentSize) {
+                int end = Math.min(tasks.size(), start + segmentSize);
+                Segment segment = new Segment(newSegmentName(), end - start);
+                writeSegment(segment, tasks.subList(start, end));
+                segments.add(segment);
+            }
+            writeManifest();
+            for (Segment segment : oldSegments) {
+                Files.deleteIfExists(directory.resolve(segment.name));
+            }
+        } catch (IOException e) {
+            throw new JimmyException("Cannot write to storage file: " + e.getMessage());
+        } catch (SecurityException e) {
+            throw new JimmyException("Permission denied writing to storage file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Persists a task that was appended to the end of the task list.
+     * Only the last segment, or a new one if it is full, and the manifest are written.
+     *
+     * @param taskList The task list after the addition
+     * @param task The task that was added
+     * @throws JimmyException if there are file access issues
+     */
+    @Override
+    public void recordAdd(TaskList taskList, Task task) throws JimmyException {
+        nextId = Math.max(nextId, taskList.getNextId());
+        if (countTasks() != taskList.getSize() - 1) {
+            save(taskList.asList());
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            Segment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            if (last == null || last.count >= segmentSize) {
+                last = new Segment(newSegmentName(), 0);
+                segments.add(last);
+            }
+            last.count++;
+            writeSegment(last, segmentTasks(taskList, segments.size() - 1));
+            writeManifest();
+        } catch (IOException e) {
+            throw new JimmyException("Cannot write to storage file: " + e.getMessage());
+        } catch (SecurityException e) {
+            throw new JimmyException("Permission denied writing to storage file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Persists that the task at the given index was marked as done by rewriting its segment.
+     *
+     * @param taskList The task list after the change
+     * @param index The 0-based index of the marked task
+     * @throws JimmyException if there are file access issues
+     */
+    @Override
+    public void recordMark(TaskList taskList, int index) throws JimmyException {
+        rewriteSegmentOf(taskList, index);
+    }
+
+    /**
+     * Persists that the task at the given index was marked as not done by rewriting its segment.
+     *
+     * @param taskList The task list after the change
+     * @param index The 0-based index of the unmarked task
+     * @throws JimmyException if there are file access issues
+     */
+    @Override
+    public void recordUnmark(TaskList taskList, int index) throws JimmyException {
+        rewriteSegmentOf(taskList, index);
+    }
+
+    /**
+     * Persists that the task at the given index was removed.
+     * Only the segment that held the task and the manifest are written;
+     * a segment left empty is dropped.
+     *
+     * @param taskList The task list after the removal
+     * @param index The 0-based index the removed task used to have
+     * @throws JimmyException if there are file access issues
+     */
+    @Override
+    public void recordDelete(TaskList taskList, int index) throws JimmyException {
+        nextId = Math.max(nextId, taskList.getNextId());
+        if (countTasks() != taskList.getSize() + 1) {
+            save(taskList.asList());
+            return;
+        }
+        try {
+            int segmentIndex = findSegment(index);
+            Segment segment = segments.get(segmentIndex);
+            segment.count--;
+            if (segment.count == 0) {
+                segments.remove(segmentIndex);
+                writeManifest();
+                Files.deleteIfExists(directory.resolve(segment.name));
+            } else {
+                writeSegment(segment, segmentTasks(taskList, segmentIndex));
+                writeManifest();
+            }
+        } catch (IOException e) {
+            throw new JimmyException("Cannot write to storage file: " + e.getMessage());
+        } catch (SecurityException e) {
+            throw new JimmyException("Permission denied writing to storage file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Saves the task list, keeping its id high-water mark so the ids of removed
+     * tasks are not reused after a restart.
+     *
+     * @param taskList The task list after the changes
+     * @throws JimmyException if there are file access issues
+     */
+    @Override
+    public void recordBatch(TaskList taskList) throws JimmyException {
+        nextId = Math.max(nextId, taskList.getNextId());
+        save(taskList.asList());
+    }
+
+    /**
+     * Returns the id high-water mark found by the last load.
+     *
+     * @return The smallest id never used
+     */
+    @Override
+    public long getNextId() {
+        return nextId;
+    }
+
+    /**
+     * Returns the number of segments currently in use.
+     *
+     * @return The segment count
+     */
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    private void rewriteSegmentOf(TaskList taskList, int index) throws JimmyException {
+        if (countTasks() != taskList.getSize()) {
+            save(taskList.asList());
+            return;
+        }
+        try {
+            int segmentIndex = findSegment(index);
+            writeSegment(segments.get(segmentIndex), segmentTasks(taskList, segmentIndex));
+        } catch (IOException e) {
+            throw new JimmyException("Cannot write to storage file: " + e.getMessage());
+        } catch (SecurityException e) {
+            throw new JimmyException("Permission denied writing to storage file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Loads tasks from the legacy text file and writes them as segments.
+     *
+     * @return The migrated tasks, or an empty list if there is nothing to migrate
+     * @throws JimmyException if either location cannot be accessed
+     */
+    private List<Task> migrate() throws JimmyException {
+        segments.clear();
+        if (legacyTextPath == null || !Files.exists(Paths.get(legacyTextPath))) {
+            return new ArrayList<>();
+        }
+        Storage legacy = new Storage(legacyTextPath);
+        List<Task> tasks = legacy.load();
+        nextId = legacy.getNextId();
+        save(tasks);
+        return tasks;
+    }
+
+    /**
+     * Returns the position in the segment list of the segment holding the task at the given index.
+     */
+    private int findSegment(int index) {
+        int start = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            start += segments.get(i).count;
+            if (index < start) {
+                return i;
+            }
+        }
+        throw new JimmyException("Task index " + (index + 1) + " is not in any segment.");
+    }
+
+    /**
+     * Returns the tasks of the task list that belong to the given segment.
+     */
+    private List<Task> segmentTasks(TaskList taskList, int segmentIndex) {
+        int start = 0;
+        for (int i = 0; i < segmentIndex; i++) {
+            start += segments.get(i).count;
+        }
+        List<Task> tasks = new ArrayList<>();
+        for (int i = start; i < start + segments.get(segmentIndex).count; i++) {
+            tasks.add(taskList.getTask(i));
+        }
+        return tasks;
+    }
+
+    /**
+     * Raises the id high-water mark above the ids of the given tasks.
+     */
+    private void noteIds(List<Task> tasks) {
+        for (Task task : tasks) {
+            nextId = Math.max(nextId, task.getId() + 1);
+        }
+    }
+
+    private int countTasks() {
+        int count = 0;
+        for (Segment segment : segments) {
+            count += segment.count;
+        }
+        return count;
+    }
+
+    private String newSegmentName() {
+        return String.format("%s%04d%s", SEGMENT_PREFIX, nextSegmentNumber++, SEGMENT_SUFFIX);
+    }
+
+    /**
+     * Reads the id high-water mark and the segment list from the manifest.
+     * Lines that do not name a segment are skipped defensively.
+     */
+    private void readManifest(Path manifest) throws IOException {
+        for (String line : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+            long storedNextId = TaskRecordParser.parseNextId(line);
+            if (storedNextId > 0) {
+                nextId = storedNextId;
+                continue;
+            }
+            String[] parts = line.split(" \\| ");
+            if (parts.length < 2 || !parts[0].startsWith(SEGMENT_PREFIX) || !parts[0].endsWith(SEGMENT_SUFFIX)) {
+                continue;
+            }
+            int number;
+            int count;
+            try {
+                number = Integer.parseInt(parts[0].substring(SEGMENT_PREFIX.length(),
+                        parts[0].length() - SEGMENT_SUFFIX.length()));
+                count = Integer.parseInt(parts[1].trim());
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            segments.add(new Segment(parts[0], count));
+            nextSegmentNumber = Math.max(nextSegmentNumber, number + 1);
+        }
+    }
+
+    private List<Task> readSegment(Path path) {
+        List<Task> tasks = new ArrayList<>();
+        if (!Files.exists(path)) {
+            return tasks;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(path),
+                StandardCharsets.UTF_8.newDecoder()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Task task = TaskRecordParser.parse(line);
+                if (task != null) {
+                    tasks.add(task);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return tasks;
+    }
+
+    private void writeSegment(Segment segment, List<Task> tasks) throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (Task task : tasks) {
+            content.append(TaskRecordParser.format(task)).append(System.lineSeparator());
+        }
+        replaceAtomically(directory.resolve(segment.name), content.toString());
+    }
+
+    private void writeManifest() throws IOException {
+        StringBuilder content = new StringBuilder();
+        content.append(TaskRecordParser.formatNextId(nextId)).append(System.lineSeparator());
+        for (Segment segment : segments) {
+            content.append(segment.name).append(SEPARATOR).append(segment.count).append(System.lineSeparator());
+        }
+        replaceAtomically(directory.resolve(MANIFEST_NAME), content.toString());
+    }
+
+    /**
+     * Writes the contents to a temporary file, syncs it and moves it over the target,
+     * so a crash leaves either the old or the new file intact.
+     */
+    private void replaceAtomically(Path target, String content) throws IOException {
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
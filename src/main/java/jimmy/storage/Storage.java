@@ -1,29 +1,100 @@
 package jimmy.storage;
 
 import jimmy.task.Task;
-import jimmy.task.Todo;
-import jimmy.task.Deadline;
-import jimmy.task.Event;
 import jimmy.exception.JimmyException;
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import jimmy.task.TaskList;
+import jimmy.task.TaskListSnapshot;
 
 /**
  * Manages the persistence of tasks in the Jimmy task management system.
  * Handles loading tasks from files and saving tasks to files.
  * Supports various task types (Todo, Deadline, Event) with proper serialization.
+ * Changes tracked by {@link TaskList} are written incrementally: a status change
+ * patches one byte of the task's line in place and an added task is appended,
+ * so only removals rewrite the whole file.
+ *
+ * <p>A file that has lost its newest tasks starts with a header holding the id
+ * high-water mark, so the ids of deleted tasks are not given out again.</p>
  */
-public class Storage {
+public class Storage implements StorageEngine {
+    /** Number of journal records after which the journal is folded back into the snapshot */
+    private static final int COMPACTION_THRESHOLD = 1000;
+
+    /** Suffix appended to the storage file name to form the journal file name */
+    private static final String JOURNAL_SUFFIX = ".journal";
+
+    /** Position of the status digit within a line, after the type tag and separator ("T | ") */
+    private static final int STATUS_OFFSET = 4;
+
+    /** Initial capacity of the line offset table */
+    private static final int INITIAL_LAYOUT_CAPACITY = 16;
+
     /** The file path where tasks are stored */
     private final Path filePath;
 
+    /** Whether mutations are appended to a journal instead of rewriting the file */
+    private final boolean isJournaled;
+
+    /** The mutation journal, or null when journaling is disabled */
+    private final TaskJournal journal;
+
+    /** Whether the journal on disk applies to the current snapshot and can be appended to */
+    private boolean isJournalOpen;
+
+    /** Length in bytes of the snapshot the journal applies to */
+    private long snapshotLength;
+
+    /** CRC32 of the snapshot the journal applies to */
+    private long snapshotCrc;
+
+    /** Journal records submitted since the last compaction */
+    private int journalRecordCount;
+
+    /** Batches saves and writes them according to the durability policy */
+    private final GroupCommitWriter writer;
+
+    /** Frozen copies of the tasks most recently loaded or saved as a whole, in file order */
+    private List<Task> lastSnapshot;
+
+    /** Whether the file is known to hold exactly the rendering of lastSnapshot */
+    private boolean isSnapshotCanonical;
+
+    /** The task list the line offsets describe, or null if they must be rebuilt */
+    private TaskList layoutOwner;
+
+    /** Byte offset of the line of each task of layoutOwner that has been written */
+    private long[] lineOffsets;
+
+    /** Number of valid entries in lineOffsets */
+    private int lineCount;
+
+    /** Length of the file once every submitted write has landed */
+    private long layoutLength;
+
+    /** The smallest id no task in the file has had, as of the last load or full save; read by the writer */
+    private volatile long nextId;
+
     /**
      * Constructs a new Storage object with the specified file path.
      * The file path will be used for both loading and saving tasks.
@@ -31,8 +102,55 @@ public class Storage {
      * @param filePath The path to the file for storing tasks
      */
     public Storage(String filePath) {
+        this(filePath, false);
+    }
+
+    /**
+     * Constructs a new Storage object with the specified file path and journal mode.
+     * In journal mode each mutation is appended to a journal beside the file
+     * and replayed on load; the journal is compacted back into the file
+     * once it grows past a fixed number of records.
+     *
+     * @param filePath The path to the file for storing tasks
+     * @param isJournaled Whether to record mutations in a journal
+     */
+    public Storage(String filePath, boolean isJournaled) {
+        this(filePath, isJournaled, DurabilityPolicy.everyCommand());
+    }
+
+    /**
+     * Constructs a new Storage object with the specified file path, journal mode and durability policy.
+     * Under a policy other than every-command, saves return without waiting for the disk
+     * and are written in batches; call {@link #flush()} or {@link #close()} before exiting.
+     *
+     * @param filePath The path to the file for storing tasks
+     * @param isJournaled Whether to record mutations in a journal
+     * @param policy When pending saves are written to disk
+     */
+    public Storage(String filePath, boolean isJournaled, DurabilityPolicy policy) {
         this.filePath = Paths.get(filePath);
         assert this.filePath != null : "Storage path must not be null";
+        this.isJournaled = isJournaled;
+        this.journal = isJournaled ? new TaskJournal(Paths.get(filePath + JOURNAL_SUFFIX)) : null;
+        this.writer = new GroupCommitWriter(new GroupCommitWriter.Sink() {
+            @Override
+            public void writeSnapshot(List<Task> tasks) throws JimmyException {
+                if (Storage.this.isJournaled) {
+                    writeCompactedSnapshot(tasks);
+                } else {
+                    writePlainSnapshot(tasks);
+                }
+            }
+
+            @Override
+            public void appendRecords(List<String> records) throws JimmyException {
+                if (Storage.this.isJournaled) {
+                    writeJournalRecords(records);
+                } else {
+                    writePatches(records);
+                }
+            }
+        }, policy);
     }
 
     /**
@@ -43,62 +161,33 @@ public class Storage {
      * @return A list of loaded tasks, or an empty list if the file doesn't exist
      * @throws JimmyException if there are file access issues or data corruption
      */
+    @Override
     public List<Task> load() throws JimmyException {
         List<Task> tasks = new ArrayList<>();
         try {
+            CRC32 crc = new CRC32();
             if (Files.exists(filePath)) {
-                List<String> lines = Files.readAllLines(filePath);
-                for (String line : lines) {
-                    if (line.trim().isEmpty()) {
-                        continue;
-                    }
-
-                    String[] parts = line.split(" \\| ");
-                    if (parts.length < 3) {
-                        continue;
-                    }
-                    
-                    String type = parts[0];
-                    boolean isDone = parts[1].equals("1");
-                    String description = parts[2];
-                    Task task;
-                    
-                    if (type.equals("T")) {
-                        task = new Todo(description);
-                    } else if (type.equals("D")) {
-                        if (parts.length < 4) {
-                            continue; 
-                        }
-                        String by = parts[3];
-                        try {
-                            task = new Deadline(description, by);
-                        } catch (IllegalArgumentException e) {
-                            System.out.println("Warning: Could not parse deadline date '" + by + "' for task: " + description);
-                            continue; 
-                        }
-                    } else if (type.equals("E")) {
-                        if (parts.length < 5) {
-                            continue; 
-                        }
-                        String from = parts[3];
-                        String to = parts[4];
-                        try {
-                            task = new Event(description, from, to);
-                        } catch (IllegalArgumentException e) {
-                            System.out.println("Warning: Could not parse event dates for task: " + description);
-                            continue; 
-                        }
-                    } else {
-                        // unknown record type; skip defensively
-                        continue; 
-                    }
-                    
-                    if (isDone) {
-                        task.markAsDone();
-                    }
-                    tasks.add(task);
+                CRC32 snapshotChecksum = isJournaled ? crc : null;
+                if (Files.size(filePath) >= ParallelTaskLoader.PARALLEL_THRESHOLD) {
+                    tasks.addAll(ParallelTaskLoader.load(filePath, snapshotChecksum));
+                } else {
+                    readTasks(tasks, snapshotChecksum);
                 }
             }
+            long storedNextId = Files.exists(filePath) ? readNextId() : 0;
+            // Ids given to tasks stored without one are the same on every load until they are written
+            TaskList.assignMissingIds(tasks, storedNextId);
+            nextId = Math.max(storedNextId, maxId(tasks) + 1);
+            if (isJournaled) {
+                snapshotLength = Files.exists(filePath) ? Files.size(filePath) : 0;
+                snapshotCrc = crc.getValue();
+                replayJournal(tasks);
+            } else {
+                // The file may have been edited by hand, so it is checked before being patched
+                lastSnapshot = freeze(tasks);
+                isSnapshotCanonical = false;
+                layoutOwner = null;
+            }
         } catch (IOException e) {
             throw new JimmyException("Cannot access storage file: " + e.getMessage());
         } catch (SecurityException e) {
@@ -110,6 +199,55 @@ public class Storage {
         return tasks;
     }
 
+    /**
+     * Returns the id high-water mark found by the last load, including tasks added and
+     * deleted through the journal since the snapshot was written.
+     *
+     * @return The smallest id never used
+     */
+    @Override
+    public long getNextId() {
+        return nextId;
+    }
+
+    /**
+     * Reads the id high-water mark from the header of the storage file.
+     *
+     * @return The stored mark, or 0 if the file has no header
+     * @throws IOException if the file cannot be read
+     */
+    private long readNextId() throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(filePath, StandardCharsets.UTF_8)) {
+            String firstLine = reader.readLine();
+            return firstLine == null ? 0 : TaskRecordParser.parseNextId(firstLine);
+        }
+    }
+
+    /**
+     * Streams the storage file line by line into the task list.
+     * Files above {@link ParallelTaskLoader#PARALLEL_THRESHOLD} are loaded in parallel instead.
+     *
+     * @param tasks The list receiving the parsed tasks
+     * @param crc The checksum to update with the file contents in the same pass, or null
+     * @throws IOException if the file cannot be read
+     */
+    private void readTasks(List<Task> tasks, CRC32 crc) throws IOException {
+        InputStream in = Files.newInputStream(filePath);
+        if (crc != null) {
+            in = new CheckedInputStream(in, crc);
+        }
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, decoder))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Task task = TaskRecordParser.parse(line);
+                if (task != null) {
+                    tasks.add(task);
+                }
+            }
+        }
+    }
+
     /**
      * Saves the given list of tasks to the storage file.
      * Converts each task to its file representation and writes to disk.
@@ -118,23 +256,217 @@ public class Storage {
      * @param tasks The list of tasks to save
      * @throws JimmyException if there are file access issues
      */
+    @Override
     public void save(List<Task> tasks) throws JimmyException {
         if (tasks == null) {
             throw new JimmyException("Tasks list cannot be null.");
         }
-        
-        List<String> lines = new ArrayList<>(tasks.size());
         for (Task task : tasks) {
             if (task == null) {
                 throw new JimmyException("Task in list cannot be null.");
             }
-            lines.add(task.toFileString());
         }
-        
+        journalRecordCount = 0;
+        lastSnapshot = freeze(tasks);
+        isSnapshotCanonical = true;
+        layoutOwner = null;
+        writer.submitSnapshot(lastSnapshot);
+    }
+
+    /**
+     * Returns the tasks as they are now, unaffected by later changes to their status.
+     * The tasks of a task list snapshot never change, so it is returned as is; other
+     * tasks are copied, so the writer thread never renders a task the caller is changing
+     * and the file can later be compared against what was actually written.
+     *
+     * @param tasks The tasks to freeze
+     * @return The frozen tasks
+     */
+    private static List<Task> freeze(List<Task> tasks) {
+        if (tasks instanceof TaskListSnapshot) {
+            return tasks;
+        }
+        List<Task> copies = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            copies.add(task.copy());
+        }
+        return copies;
+    }
+
+    /**
+     * Saves every task of the task list, keeping its id high-water mark so the ids of
+     * tasks it has removed are not reused after a restart.
+     *
+     * @param taskList The task list to save
+     * @throws JimmyException if there are file access issues
+     */
+    private void saveAll(TaskList taskList) throws JimmyException {
+        nextId = Math.max(nextId, taskList.getNextId());
+        save(taskList.asList());
+    }
+
+    /**
+     * Persists the changes tracked by the task list since it was last marked clean,
+     * then marks it clean. Status changes patch the status digit of each changed line
+     * and added tasks are appended; removals, and files whose layout is not known,
+     * fall back to rewriting the whole file.
+     *
+     * @param taskList The task list holding the changes
+     * @throws JimmyException if there are file access issues
+     */
+    public void saveChanges(TaskList taskList) throws JimmyException {
+        if (isJournaled || taskList.hasStructuralChanges() || !hasLayoutFor(taskList)) {
+            taskList.markClean();
+            saveAll(taskList);
+            return;
+        }
+
+        List<String> patches = new ArrayList<>();
+        for (int index : taskList.getDirtyIndices()) {
+            Task task = taskList.getTask(index);
+            TaskJournal.Operation operation = task.isDone()
+                    ? TaskJournal.Operation.MARK : TaskJournal.Operation.UNMARK;
+            patches.add(operation.name() + TaskJournal.SEPARATOR + (lineOffsets[index] + STATUS_OFFSET));
+        }
+        for (Task task : taskList.getAddedTasks()) {
+            patches.add(TaskJournal.encodeAdd(task));
+            addLine(task);
+        }
+        taskList.markClean();
+        if (!patches.isEmpty()) {
+            writer.submitRecords(patches);
+        }
+    }
+
+    /**
+     * Writes any saves still pending under the durability policy and waits for them to reach the disk.
+     *
+     * @throws JimmyException if there are file access issues
+     */
+    @Override
+    public void flush() throws JimmyException {
+        writer.flush();
+    }
+
+    /**
+     * Flushes pending saves and releases the background writer.
+     * The storage should not be used after it is closed.
+     *
+     * @throws JimmyException if there are file access issues
+     */
+    @Override
+    public void close() throws JimmyException {
+        writer.close();
+    }
+
+    /**
+     * Persists a task that was appended to the end of the task list.
+     *
+     * @param taskList The task list after the addition
+     * @param task The task that was added
+     * @throws JimmyException if there are file access issues
+     */
+    @Override
+    public void recordAdd(TaskList taskList, Task task) throws JimmyException {
+        if (!isJournaled) {
+            saveChanges(taskList);
+            return;
+        }
+        appendToJournal(taskList, TaskJournal.encodeAdd(task));
+        taskList.markClean();
+    }
+
+    /**
+     * Persists that the task at the given index was marked as done.
+     *
+     * @param taskList The task list after the change
+     * @param index The 0-based index of the marked task
+     * @throws JimmyException if there are file access issues
+     */
+    @Override
+    public void recordMark(TaskList taskList, int index) throws JimmyException {
+        if (!isJournaled) {
+            saveChanges(taskList);
+            return;
+        }
+        appendToJournal(taskList, TaskJournal.encodeIndexed(TaskJournal.Operation.MARK, index));
+        taskList.markClean();
+    }
+
+    /**
+     * Persists that the task at the given index was marked as not done.
+     *
+     * @param taskList The task list after the change
+     * @param index The 0-based index of the unmarked task
+     * @throws JimmyException if there are file access issues
+     */
+    @Override
+    public void recordUnmark(TaskList taskList, int index) throws JimmyException {
+        if (!isJournaled) {
+            saveChanges(taskList);
+            return;
+        }
+        appendToJournal(taskList, TaskJournal.encodeIndexed(TaskJournal.Operation.UNMARK, index));
+        taskList.markClean();
+    }
+
+    /**
+     * Persists that the task at the given index was removed.
+     *
+     * @param taskList The task list after the removal
+     * @param index The 0-based index the removed task used to have
+     * @throws JimmyException if there are file access issues
+     */
+    @Override
+    public void recordDelete(TaskList taskList, int index) throws JimmyException {
+        if (!isJournaled) {
+            saveChanges(taskList);
+            return;
+        }
+        appendToJournal(taskList, TaskJournal.encodeIndexed(TaskJournal.Operation.DELETE, index));
+        taskList.markClean();
+    }
+
+    /**
+     * Persists the changes of a bulk command at once. Status changes are patched in
+     * place and removals rewrite the file once; a journaled store writes a fresh
+     * snapshot rather than one journal record per task.
+     *
+     * @param taskList The task list after the changes
+     * @throws JimmyException if there are file access issues
+     */
+    @Override
+    public void recordBatch(TaskList taskList) throws JimmyException {
+        if (!isJournaled) {
+            saveChanges(taskList);
+            return;
+        }
+        taskList.markClean();
+        saveAll(taskList);
+    }
+
+    /**
+     * Writes the given tasks as a fresh snapshot and empties the journal.
+     *
+     * @param tasks The complete list of tasks to keep
+     * @throws JimmyException if there are file access issues
+     */
+    public void compact(List<Task> tasks) throws JimmyException {
+        assert isJournaled : "Compaction only applies to journaled storage";
+        save(tasks);
+    }
+
+    /**
+     * Writes the tasks to the storage file, one line per task, and syncs it.
+     *
+     * @param tasks The tasks to write
+     * @throws JimmyException if there are file access issues
+     */
+    private void writePlainSnapshot(List<Task> tasks) throws JimmyException {
         try {
             // Ensure directory exists
             Files.createDirectories(filePath.getParent());
-            Files.write(filePath, lines); 
+            writeAndSync(filePath, render(tasks, nextId));
         } catch (IOException e) {
             throw new JimmyException("Cannot write to storage file: " + e.getMessage());
         } catch (SecurityException e) {
@@ -143,4 +475,317 @@ public class Storage {
             throw new JimmyException("Unexpected error saving tasks: " + e.getMessage());
         }
     }
+
+    /**
+     * Writes the tasks as a fresh snapshot and empties the journal.
+     * The snapshot is written to a temporary file and moved into place, so an
+     * interrupted compaction leaves either the old or the new snapshot intact.
+     *
+     * @param tasks The tasks to write
+     * @throws JimmyException if there are file access issues
+     */
+    private void writeCompactedSnapshot(List<Task> tasks) throws JimmyException {
+        byte[] bytes = render(tasks, nextId);
+        try {
+            Path parent = filePath.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, filePath.getFileName().toString(), ".tmp");
+            writeAndSync(temp, bytes);
+            Files.move(temp, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            snapshotLength = bytes.length;
+            snapshotCrc = checksum(bytes);
+            journal.reset(snapshotLength, snapshotCrc);
+            isJournalOpen = true;
+        } catch (IOException e) {
+            throw new JimmyException("Cannot write to storage file: " + e.getMessage());
+        } catch (SecurityException e) {
+            throw new JimmyException("Permission denied writing to storage file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Appends a batch of records to the journal with a single write and sync.
+     *
+     * @param records The records to append
+     * @throws JimmyException if there are file access issues
+     */
+    private void writeJournalRecords(List<String> records) throws JimmyException {
+        try {
+            if (!isJournalOpen) {
+                startJournal();
+            }
+            journal.append(records);
+        } catch (IOException e) {
+            throw new JimmyException("Cannot write to journal file: " + e.getMessage());
+        } catch (SecurityException e) {
+            throw new JimmyException("Permission denied writing to journal file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Applies a batch of in-place patches to the storage file with a single sync.
+     * A MARK or UNMARK record holds the byte offset of a status digit to overwrite,
+     * and an ADD record holds a line to append.
+     *
+     * @param records The patches to apply, in order
+     * @throws JimmyException if there are file access issues
+     */
+    private void writePatches(List<String> records) throws JimmyException {
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.WRITE)) {
+            StringBuilder appended = new StringBuilder();
+            for (String record : records) {
+                int separator = record.indexOf(TaskJournal.SEPARATOR);
+                String operation = record.substring(0, separator);
+                String argument = record.substring(separator + TaskJournal.SEPARATOR.length());
+                if (operation.equals(TaskJournal.Operation.ADD.name())) {
+                    appended.append(argument).append(System.lineSeparator());
+                    continue;
+                }
+                // Appended lines go first, as a patch may target one of them
+                appendText(channel, appended);
+                byte status = (byte) (operation.equals(TaskJournal.Operation.MARK.name()) ? '1' : '0');
+                writeFully(channel, ByteBuffer.wrap(new byte[] {status}), Long.parseLong(argument));
+            }
+            appendText(channel, appended);
+            channel.force(true);
+        } catch (IOException e) {
+            throw new JimmyException("Cannot write to storage file: " + e.getMessage());
+        } catch (SecurityException e) {
+            throw new JimmyException("Permission denied writing to storage file: " + e.getMessage());
+        }
+    }
+
+    private static void appendText(FileChannel channel, StringBuilder text) throws IOException {
+        if (text.length() == 0) {
+            return;
+        }
+        writeFully(channel, ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8)), channel.size());
+        text.setLength(0);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            offset += channel.write(buffer, offset);
+        }
+    }
+
+    /**
+     * Makes sure the line offsets describe the file as last persisted for the given task list,
+     * rebuilding them from the last snapshot if needed.
+     * A loaded file is compared against its canonical rendering once before it is patched.
+     *
+     * @param taskList The task list about to be persisted
+     * @return true if the offsets are valid for the task list
+     */
+    private boolean hasLayoutFor(TaskList taskList) {
+        if (layoutOwner != null) {
+            return layoutOwner == taskList && lineCount == taskList.getCleanSize();
+        }
+        if (lastSnapshot == null || lastSnapshot.size() != taskList.getCleanSize()) {
+            return false;
+        }
+        for (int i = 0; i < lastSnapshot.size(); i++) {
+            if (!lastSnapshot.get(i).isSameRecordAs(taskList.getTask(i))) {
+                return false;
+            }
+        }
+        if (!isSnapshotCanonical && !isFileCanonical()) {
+            return false;
+        }
+        isSnapshotCanonical = true;
+
+        lineOffsets = new long[Math.max(INITIAL_LAYOUT_CAPACITY, lastSnapshot.size())];
+        lineCount = 0;
+        layoutLength = header(lastSnapshot, nextId).getBytes(StandardCharsets.UTF_8).length;
+        for (Task task : lastSnapshot) {
+            addLine(task);
+        }
+        layoutOwner = taskList;
+        return true;
+    }
+
+    /**
+     * Checks whether the file on disk is exactly the rendering of the last loaded tasks.
+     * Files with blank or hand-edited lines, or other line endings, are not.
+     *
+     * @return true if the file can be patched at computed offsets
+     */
+    private boolean isFileCanonical() {
+        if (writer.hasPending() || !Files.exists(filePath)) {
+            return false;
+        }
+        try {
+            return Arrays.equals(Files.readAllBytes(filePath), render(lastSnapshot, nextId));
+        } catch (IOException | SecurityException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Records the offset of a line appended for the given task.
+     *
+     * @param task The task whose line ends the file
+     */
+    private void addLine(Task task) {
+        if (lineCount == lineOffsets.length) {
+            lineOffsets = Arrays.copyOf(lineOffsets, lineCount * 2);
+        }
+        lineOffsets[lineCount++] = layoutLength;
+        String line = TaskRecordParser.format(task) + System.lineSeparator();
+        layoutLength += line.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    /**
+     * Converts the tasks to the contents of the storage file.
+     *
+     * @param tasks The tasks to convert
+     * @param nextId The id high-water mark to keep
+     * @return The file contents as UTF-8 bytes
+     */
+    private static byte[] render(List<Task> tasks, long nextId) {
+        StringBuilder content = new StringBuilder(header(tasks, nextId));
+        for (Task task : tasks) {
+            content.append(TaskRecordParser.format(task)).append(System.lineSeparator());
+        }
+        return content.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the header line written before the tasks: the id high-water mark when it
+     * is above every id in the tasks, so it says something they do not, or else nothing.
+     */
+    private static String header(List<Task> tasks, long nextId) {
+        if (nextId <= maxId(tasks) + 1) {
+            return "";
+        }
+        return TaskRecordParser.formatNextId(nextId) + System.lineSeparator();
+    }
+
+    private static long maxId(List<Task> tasks) {
+        long maxId = 0;
+        for (Task task : tasks) {
+            maxId = Math.max(maxId, task.getId());
+        }
+        return maxId;
+    }
+
+    /**
+     * Replaces the contents of a file and forces them to the storage device.
+     *
+     * @param path The file to write
+     * @param bytes The new contents
+     * @throws IOException if the file cannot be written
+     */
+    private static void writeAndSync(Path path, byte[] bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Appends a record to the journal, compacting first if the journal has grown too long.
+     *
+     * @param taskList The task list after the change
+     * @param record The encoded record
+     * @throws JimmyException if there are file access issues
+     */
+    private void appendToJournal(TaskList taskList, String record) throws JimmyException {
+        if (journalRecordCount >= COMPACTION_THRESHOLD) {
+            saveAll(taskList);
+            return;
+        }
+        journalRecordCount++;
+        writer.submitRecord(record);
+    }
+
+    /**
+     * Starts a journal on top of the snapshot currently on disk.
+     *
+     * @throws IOException if the snapshot cannot be read or the journal cannot be written
+     */
+    private void startJournal() throws IOException {
+        readSnapshotChecksum();
+        Path parent = journal.getPath().toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        journal.reset(snapshotLength, snapshotCrc);
+        isJournalOpen = true;
+    }
+
+    /**
+     * Applies the journal records that belong to the current snapshot to the loaded tasks.
+     * Records that cannot be applied, such as a line torn by a crash, are skipped.
+     *
+     * @param tasks The tasks loaded from the snapshot
+     * @throws IOException if the snapshot or journal cannot be read
+     */
+    private void replayJournal(List<Task> tasks) throws IOException {
+        List<String> records = journal.readRecords(snapshotLength, snapshotCrc);
+        isJournalOpen = records != null;
+        if (records == null) {
+            return;
+        }
+        journalRecordCount = records.size();
+        for (String record : records) {
+            int separator = record.indexOf(TaskJournal.SEPARATOR);
+            if (separator < 0) {
+                continue;
+            }
+            String operation = record.substring(0, separator);
+            String argument = record.substring(separator + TaskJournal.SEPARATOR.length());
+            if (operation.equals(TaskJournal.Operation.ADD.name())) {
+                Task task = TaskRecordParser.parse(argument);
+                if (task != null) {
+                    tasks.add(task);
+                    // The task may be deleted by a later record, but its id stays used
+                    nextId = Math.max(nextId, task.getId() + 1);
+                }
+                continue;
+            }
+            int index;
+            try {
+                index = Integer.parseInt(argument.trim());
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            if (index < 0 || index >= tasks.size()) {
+                continue;
+            }
+            if (operation.equals(TaskJournal.Operation.MARK.name())) {
+                tasks.get(index).markAsDone();
+            } else if (operation.equals(TaskJournal.Operation.UNMARK.name())) {
+                tasks.get(index).markAsNotDone();
+            } else if (operation.equals(TaskJournal.Operation.DELETE.name())) {
+                tasks.remove(index);
+            }
+        }
+    }
+
+    /**
+     * Records the length and checksum of the snapshot currently on disk.
+     *
+     * @throws IOException if the snapshot cannot be read
+     */
+    private void readSnapshotChecksum() throws IOException {
+        byte[] bytes = Files.exists(filePath) ? Files.readAllBytes(filePath) : new byte[0];
+        snapshotLength = bytes.length;
+        snapshotCrc = checksum(bytes);
+    }
+
+    /**
+     * Computes the CRC32 checksum of the given bytes.
+     *
+     * @param bytes The bytes to checksum
+     * @return The CRC32 value
+     */
+    private static long checksum(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return crc.getValue();
+    }
 }
@@ -0,0 +1,66 @@
+package jimmy.storage;
+
+import jimmy.exception.JimmyException;
+
+/**
+ * The storage backends that can be selected at startup.
+ * Every backend derives its files from the path of the text data file, and the
+ * binary and segmented backends migrate an existing text file on first use.
+ */
+public enum StorageBackend {
+    /** The plain text file, patched in place where possible */
+    TEXT,
+    /** The text file plus a journal of mutations */
+    JOURNAL,
+    /** A memory-mapped binary snapshot beside the text file */
+    BINARY,
+    /** A directory of bounded text segments beside the text file */
+    SEGMENTED,
+    /** No persistence at all */
+    MEMORY;
+
+    private static final String TEXT_SUFFIX = ".txt";
+
+    /**
+     * Parses a backend name such as "text" or "segmented".
+     *
+     * @param text The name to parse
+     * @return The named backend
+     * @throws JimmyException if the text does not name a backend
+     */
+    public static StorageBackend parse(String text) throws JimmyException {
+        String trimmed = text == null ? "" : text.trim();
+        for (StorageBackend backend : values()) {
+            if (backend.name().equalsIgnoreCase(trimmed)) {
+                return backend;
+            }
+        }
+        throw new JimmyException("Unknown storage backend '" + trimmed
+                + "'. Expected text, journal, binary, segmented or memory.");
+    }
+
+    /**
+     * Opens this backend for the given text data file.
+     *
+     * @param dataFilePath The path of the text data file, such as "data/jimmy.txt"
+     * @param policy When pending saves are written, for backends that batch them
+     * @return The storage engine
+     */
+    public StorageEngine open(String dataFilePath, DurabilityPolicy policy) {
+        String basePath = dataFilePath.endsWith(TEXT_SUFFIX)
+                ? dataFilePath.substring(0, dataFilePath.length() - TEXT_SUFFIX.length())
+                : dataFilePath;
+        switch (this) {
+        case JOURNAL:
+            return new Storage(dataFilePath, true, policy);
+        case BINARY:
+            return new BinaryStorage(basePath + ".bin", dataFilePath);
+        case SEGMENTED:
+            return new SegmentedStorage(basePath, dataFilePath);
+        case MEMORY:
+            return new InMemoryStorage();
+        default:
+            return new Storage(dataFilePath, false, policy);
+        }
+    }
+}
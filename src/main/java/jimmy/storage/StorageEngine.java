@@ -0,0 +1,114 @@
+package jimmy.storage;
+
+import jimmy.task.Task;
+import jimmy.task.TaskList;
+import jimmy.exception.JimmyException;
+import java.util.List;
+
+/**
+ * Persists the task list of the Jimmy task management system.
+ * Each mutation is reported through a record method right after it is applied
+ * to the task list, so a backend can write only what changed; backends that
+ * cannot do so simply save the whole list, which is what the defaults do.
+ */
+public interface StorageEngine {
+    /**
+     * Loads the stored tasks.
+     *
+     * @return A list of loaded tasks, or an empty list if nothing is stored
+     * @throws JimmyException if there are file access issues or data corruption
+     */
+    List<Task> load() throws JimmyException;
+
+    /**
+     * Returns the id high-water mark found by the last load: no task ever stored here,
+     * including tasks deleted since, has had an id at or above it. A task list built from
+     * the loaded tasks should start giving out ids from here, so a deleted id is never reused.
+     *
+     * @return The smallest id never used, or 0 if the backend keeps no mark
+     */
+    default long getNextId() {
+        return 0;
+    }
+
+    /**
+     * Saves the given list of tasks, replacing everything stored before.
+     *
+     * @param tasks The list of tasks to save
+     * @throws JimmyException if there are file access issues
+     */
+    void save(List<Task> tasks) throws JimmyException;
+
+    /**
+     * Persists a task that was appended to the end of the task list.
+     *
+     * @param taskList The task list after the addition
+     * @param task The task that was added
+     * @throws JimmyException if there are file access issues
+     */
+    default void recordAdd(TaskList taskList, Task task) throws JimmyException {
+        save(taskList.asList());
+    }
+
+    /**
+     * Persists that the task at the given index was marked as done.
+     *
+     * @param taskList The task list after the change
+     * @param index The 0-based index of the marked task
+     * @throws JimmyException if there are file access issues
+     */
+    default void recordMark(TaskList taskList, int index) throws JimmyException {
+        save(taskList.asList());
+    }
+
+    /**
+     * Persists that the task at the given index was marked as not done.
+     *
+     * @param taskList The task list after the change
+     * @param index The 0-based index of the unmarked task
+     * @throws JimmyException if there are file access issues
+     */
+    default void recordUnmark(TaskList taskList, int index) throws JimmyException {
+        save(taskList.asList());
+    }
+
+    /**
+     * Persists that the task at the given index was removed.
+     *
+     * @param taskList The task list after the removal
+     * @param index The 0-based index the removed task used to have
+     * @throws JimmyException if there are file access issues
+     */
+    default void recordDelete(TaskList taskList, int index) throws JimmyException {
+        save(taskList.asList());
+    }
+
+    /**
+     * Persists any number of changes applied to the task list as one batch,
+     * such as the marks or removals of a bulk command.
+     *
+     * @param taskList The task list after the changes
+     * @throws JimmyException if there are file access issues
+     */
+    default void recordBatch(TaskList taskList) throws JimmyException {
+        save(taskList.asList());
+    }
+
+    /**
+     * Writes any saves that are still pending and waits for them to reach the disk.
+     *
+     * @throws JimmyException if there are file access issues
+     */
+    default void flush() throws JimmyException {
+    }
+
+    /**
+     * Flushes pending saves and releases any resources held by the backend.
+     * The engine should not be used after it is closed.
+     *
+     * @throws JimmyException if there are file access issues
+     */
+    default void close() throws JimmyException {
+        flush();
+    }
+}
@@ -0,0 +1,160 @@
+package jimmy.storage;
+
+import jimmy.task.Task;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only log of task list mutations kept beside the snapshot file.
+ * Each mutation is stored as one short line so that a change costs O(1) I/O
+ * instead of a rewrite of the whole snapshot.
+ * The first line names the snapshot the journal applies to (its length and CRC32),
+ * so a journal left behind by an interrupted compaction is never replayed twice.
+ */
+public class TaskJournal {
+    /** Prefix of the header line identifying the base snapshot */
+    static final String BASE = "BASE";
+
+    /** Separator shared with the snapshot file format */
+    static final String SEPARATOR = " | ";
+
+    /**
+     * Kinds of mutation recorded in the journal.
+     */
+    public enum Operation {
+        ADD, MARK, UNMARK, DELETE
+    }
+
+    /** The path of the journal file */
+    private final Path journalPath;
+
+    /**
+     * Constructs a journal stored at the given path.
+     *
+     * @param journalPath The path of the journal file
+     */
+    public TaskJournal(Path journalPath) {
+        assert journalPath != null : "Journal path must not be null";
+        this.journalPath = journalPath;
+    }
+
+    /**
+     * Returns the path of the journal file.
+     *
+     * @return The journal path
+     */
+    public Path getPath() {
+        return journalPath;
+    }
+
+    /**
+     * Checks whether the journal file exists on disk.
+     *
+     * @return true if the journal file exists, false otherwise
+     */
+    public boolean exists() {
+        return Files.exists(journalPath);
+    }
+
+    /**
+     * Reads the records that apply to the snapshot with the given length and checksum.
+     * Returns null if the journal is missing or belongs to a different snapshot,
+     * in which case it must be reset before further records are appended.
+     *
+     * @param baseLength The length in bytes of the current snapshot
+     * @param baseCrc The CRC32 of the current snapshot
+     * @return The journal records in the order they were appended, or null if none apply
+     * @throws IOException if the journal cannot be read
+     */
+    public List<String> readRecords(long baseLength, long baseCrc) throws IOException {
+        if (!exists()) {
+            return null;
+        }
+        List<String> lines = Files.readAllLines(journalPath, StandardCharsets.UTF_8);
+        if (lines.isEmpty() || !lines.get(0).equals(encodeBase(baseLength, baseCrc))) {
+            return null;
+        }
+        List<String> records = new ArrayList<>();
+        for (int i = 1; i < lines.size(); i++) {
+            if (!lines.get(i).isEmpty()) {
+                records.add(lines.get(i));
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Appends records to the journal with a single write and forces them to the storage device.
+     *
+     * @param records The encoded records to append, in order
+     * @throws IOException if the journal cannot be written
+     */
+    public void append(List<String> records) throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (String record : records) {
+            content.append(record).append(System.lineSeparator());
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8));
+        try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Truncates the journal and starts a new one on top of the given snapshot.
+     *
+     * @param baseLength The length in bytes of the new snapshot
+     * @param baseCrc The CRC32 of the new snapshot
+     * @throws IOException if the journal cannot be written
+     */
+    public void reset(long baseLength, long baseCrc) throws IOException {
+        byte[] bytes = (encodeBase(baseLength, baseCrc) + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+        Files.write(journalPath, bytes);
+    }
+
+    /**
+     * Encodes the header line naming the base snapshot.
+     *
+     * @param baseLength The length in bytes of the snapshot
+     * @param baseCrc The CRC32 of the snapshot
+     * @return The encoded header line
+     */
+    static String encodeBase(long baseLength, long baseCrc) {
+        return BASE + SEPARATOR + baseLength + SEPARATOR + baseCrc;
+    }
+
+    /**
+     * Encodes a record for a task appended to the end of the list.
+     *
+     * @param task The task that was added
+     * @return The encoded record
+     */
+    public static String encodeAdd(Task task) {
+        assert task != null : "Journaled task must not be null";
+        return Operation.ADD + SEPARATOR + TaskRecordParser.format(task);
+    }
+
+    /**
+     * Encodes a record for an operation on the task at the given position.
+     *
+     * @param operation The operation applied (MARK, UNMARK or DELETE)
+     * @param index The 0-based index of the affected task
+     * @return The encoded record
+     */
+    public static String encodeIndexed(Operation operation, int index) {
+        assert operation != Operation.ADD : "ADD records carry a task, not an index";
+        assert index >= 0 : "Journaled index must not be negative";
+        return operation + SEPARATOR + index;
+    }
+}
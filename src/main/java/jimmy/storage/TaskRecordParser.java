@@ -0,0 +1,199 @@
+package jimmy.storage;
+
+import jimmy.task.Task;
+import jimmy.task.Todo;
+import jimmy.task.Deadline;
+import jimmy.task.Event;
+import jimmy.task.DateTimeCodec;
+import jimmy.exception.JimmyException;
+import java.time.LocalDateTime;
+
+/**
+ * Parses lines of the text storage format back into tasks.
+ * Records are split with plain index scans, and dates written by
+ * {@link Task#toFileString()} (ISO-8601 local date-times) are decoded by the
+ * digit parser of {@link DateTimeCodec}, so a well-formed file is loaded without
+ * regular expressions or exceptions. Dates in any other shape, such as a hand-edited
+ * file, fall back to the task constructors, which parse them with the same codec.
+ *
+ * <p>A record may end with the task's stable id as an extra field, for example
+ * {@code T | 0 | read book | 42}; records without one load with no id. A file may
+ * start with a header such as {@code NEXT | 43} holding the id high-water mark, which
+ * older versions skip as a malformed record.</p>
+ */
+public class TaskRecordParser {
+    private static final String SEPARATOR = " | ";
+
+    /** Tag of the header line holding the id high-water mark */
+    private static final String NEXT_ID_TAG = "NEXT";
+
+    /** Maximum number of fields inspected in one record (type, status, description, two dates, id) */
+    private static final int MAX_FIELDS = 6;
+
+    /** Maximum number of digits of a stored id, so parsing cannot overflow */
+    private static final int MAX_ID_DIGITS = 18;
+
+    /**
+     * Formats a task as one line of the storage file, including its id if it has one.
+     *
+     * @param task The task to format
+     * @return The record, without a line terminator
+     */
+    public static String format(Task task) {
+        if (task.getId() == 0) {
+            return task.toFileString();
+        }
+        return task.toFileString() + SEPARATOR + task.getId();
+    }
+
+    /**
+     * Formats the header line holding the id high-water mark.
+     *
+     * @param nextId The smallest id no task has had yet
+     * @return The header, without a line terminator
+     */
+    public static String formatNextId(long nextId) {
+        return NEXT_ID_TAG + SEPARATOR + nextId;
+    }
+
+    /**
+     * Parses a header line written by {@link #formatNextId(long)}.
+     *
+     * @param line The line to parse
+     * @return The id high-water mark, or 0 if the line is not such a header
+     */
+    public static long parseNextId(String line) {
+        if (!line.startsWith(NEXT_ID_TAG + SEPARATOR)) {
+            return 0;
+        }
+        return parseId(line.substring(NEXT_ID_TAG.length() + SEPARATOR.length()));
+    }
+
+    /**
+     * Parses one line of the storage file into a Task.
+     * Blank, malformed and unknown records are skipped by returning null.
+     *
+     * @param line The line to parse
+     * @return The parsed task, or null if the line does not hold a valid task
+     * @throws JimmyException if a date field is present but cannot be parsed
+     */
+    public static Task parse(String line) throws JimmyException {
+        if (line.trim().isEmpty()) {
+            return null;
+        }
+
+        String[] parts = new String[MAX_FIELDS];
+        int count = split(line, parts);
+        if (count < 3) {
+            return null;
+        }
+
+        String type = parts[0];
+        boolean isDone = parts[1].equals("1");
+        String description = parts[2];
+        Task task;
+        int idField;
+
+        if (type.equals("T")) {
+            task = new Todo(description);
+            idField = 3;
+        } else if (type.equals("D")) {
+            if (count < 4) {
+                return null;
+            }
+            LocalDateTime by = parseIsoDateTime(parts[3]);
+            task = by != null ? new Deadline(description, by) : new Deadline(description, parts[3]);
+            idField = 4;
+        } else if (type.equals("E")) {
+            if (count < 5) {
+                return null;
+            }
+            LocalDateTime from = parseIsoDateTime(parts[3]);
+            LocalDateTime to = parseIsoDateTime(parts[4]);
+            if (from != null && to != null && from.isBefore(to)) {
+                task = new Event(description, from, to);
+            } else {
+                // Let the validating constructor produce the usual error or result
+                task = new Event(description, parts[3], parts[4]);
+            }
+            idField = 5;
+        } else {
+            // unknown record type; skip defensively
+            return null;
+        }
+
+        if (isDone) {
+            task.markAsDone();
+        }
+        if (count > idField) {
+            long id = parseId(parts[idField]);
+            if (id > 0) {
+                task.setId(id);
+            }
+        }
+        return task;
+    }
+
+    /**
+     * Parses a stored id without throwing.
+     *
+     * @return The id, or 0 if the text is not a positive decimal number
+     */
+    private static long parseId(String text) {
+        String trimmed = text.trim();
+        if (trimmed.isEmpty() || trimmed.length() > MAX_ID_DIGITS) {
+            return 0;
+        }
+        long id = 0;
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (c < '0' || c > '9') {
+                return 0;
+            }
+            id = id * 10 + (c - '0');
+        }
+        return id;
+    }
+
+    /**
+     * Splits a record on " | " like {@code line.split(" \\| ")}, keeping at most
+     * {@code parts.length} leading fields and dropping trailing empty fields.
+     *
+     * @param line The record to split
+     * @param parts The array receiving the fields
+     * @return The number of fields the record has (which may exceed the array length)
+     */
+    static int split(String line, String[] parts) {
+        int count = 0;
+        int start = 0;
+        int lastNonEmpty = 0;
+        while (true) {
+            int end = line.indexOf(SEPARATOR, start);
+            int fieldEnd = end < 0 ? line.length() : end;
+            if (count < parts.length) {
+                parts[count] = line.substring(start, fieldEnd);
+            }
+            count++;
+            if (fieldEnd > start) {
+                lastNonEmpty = count;
+            }
+            if (end < 0) {
+                break;
+            }
+            start = end + SEPARATOR.length();
+        }
+        // String.split discards trailing empty strings
+        return lastNonEmpty;
+    }
+
+    /**
+     * Parses a date-time in the shape "yyyy-MM-ddTHH:mm" or "yyyy-MM-ddTHH:mm:ss",
+     * surrounding whitespace (as removed by {@link String#trim()}) allowed, without throwing.
+     *
+     * @param text The text to parse
+     * @return The parsed date-time, or null if the text has another shape or is not a valid date
+     */
+    static LocalDateTime parseIsoDateTime(String text) {
+        return DateTimeCodec.parseIso(text);
+    }
+}
@@ -0,0 +1,325 @@
+package jimmy.task;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * A memory-lean list of tasks stored column by column instead of as one object per task.
+ * Types are kept in a byte array, completion in a bit set, ids and dates in long arrays
+ * (epoch seconds) and every description in one shared character arena, so a task costs a
+ * few dozen bytes and no object headers. {@link Task} objects are only created when a
+ * task is read, and scans such as {@link #findTasksByDate(LocalDate)} are loops over
+ * primitive arrays.
+ *
+ * <p>The tasks returned are views built from the columns: changing their status does
+ * not change the list, so use {@link #markTaskAsDone(int)} instead. Dates are kept to
+ * the second.</p>
+ */
+public class CompactTaskList {
+    private static final byte TYPE_TODO = 0;
+    private static final byte TYPE_DEADLINE = 1;
+    private static final byte TYPE_EVENT = 2;
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int INITIAL_ARENA_CAPACITY = 256;
+    private static final long SECONDS_PER_DAY = 24 * 60 * 60;
+
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private final BitSet done = new BitSet();
+
+    /** Due date of a deadline or start of an event, in epoch seconds */
+    private long[] firstDates = new long[INITIAL_CAPACITY];
+
+    /** End of an event, in epoch seconds */
+    private long[] secondDates = new long[INITIAL_CAPACITY];
+
+    /** Where each description starts in the arena, and its length */
+    private int[] descriptionStarts = new int[INITIAL_CAPACITY];
+    private int[] descriptionLengths = new int[INITIAL_CAPACITY];
+
+    /** The characters of every description, back to back */
+    private char[] arena = new char[INITIAL_ARENA_CAPACITY];
+    private int arenaUsed;
+
+    /** Characters in the arena that belong to removed tasks */
+    private int arenaGarbage;
+
+    private int size;
+
+    /** The id given to the next task added without one */
+    private long nextId = 1;
+
+    /**
+     * Constructs an empty list.
+     */
+    public CompactTaskList() {
+    }
+
+    /**
+     * Constructs a list holding the given tasks in order.
+     *
+     * @param tasks The initial tasks
+     */
+    public CompactTaskList(List<Task> tasks) {
+        for (Task task : tasks) {
+            addTask(task);
+        }
+    }
+
+    /**
+     * Adds a task to the end of the list, copying its fields into the columns.
+     * A task without an id is given the next free id, like {@link TaskList} does.
+     *
+     * @param task The task to add
+     */
+    public void addTask(Task task) {
+        assert task != null : "Task to add must not be null";
+        if (size == types.length) {
+            grow();
+        }
+        if (task instanceof Deadline) {
+            types[size] = TYPE_DEADLINE;
+            firstDates[size] = ((Deadline) task).getByEpochSecond();
+        } else if (task instanceof Event) {
+            types[size] = TYPE_EVENT;
+            firstDates[size] = ((Event) task).getFromEpochSecond();
+            secondDates[size] = ((Event) task).getToEpochSecond();
+        } else {
+            types[size] = TYPE_TODO;
+        }
+        long id = task.getId() > 0 ? task.getId() : nextId;
+        ids[size] = id;
+        nextId = Math.max(nextId, id + 1);
+        done.set(size, task.isDone());
+        appendDescription(size, task.getDescription());
+        size++;
+    }
+
+    /**
+     * Removes the task at the specified index, shifting later tasks forward.
+     *
+     * @param index The 0-based index of the task to remove
+     */
+    public void removeTask(int index) {
+        assert index >= 0 && index < size : "Index out of bounds for remove";
+        arenaGarbage += descriptionLengths[index];
+        int moved = size - index - 1;
+        System.arraycopy(types, index + 1, types, index, moved);
+        System.arraycopy(ids, index + 1, ids, index, moved);
+        System.arraycopy(firstDates, index + 1, firstDates, index, moved);
+        System.arraycopy(secondDates, index + 1, secondDates, index, moved);
+        System.arraycopy(descriptionStarts, index + 1, descriptionStarts, index, moved);
+        System.arraycopy(descriptionLengths, index + 1, descriptionLengths, index, moved);
+        for (int i = index; i < size - 1; i++) {
+            done.set(i, done.get(i + 1));
+        }
+        done.clear(size - 1);
+        size--;
+        if (arenaGarbage * 2 > arenaUsed) {
+            compactArena();
+        }
+    }
+
+    /**
+     * Marks the task at the specified index as done.
+     *
+     * @param index The 0-based index of the task
+     */
+    public void markTaskAsDone(int index) {
+        assert index >= 0 && index < size : "Index out of bounds for mark";
+        done.set(index);
+    }
+
+    /**
+     * Marks the task at the specified index as not done.
+     *
+     * @param index The 0-based index of the task
+     */
+    public void markTaskAsNotDone(int index) {
+        assert index >= 0 && index < size : "Index out of bounds for unmark";
+        done.clear(index);
+    }
+
+    /**
+     * Returns whether the task at the specified index is done, without creating a task.
+     *
+     * @param index The 0-based index of the task
+     * @return true if the task is done
+     */
+    public boolean isDone(int index) {
+        assert index >= 0 && index < size : "Index out of bounds for isDone";
+        return done.get(index);
+    }
+
+    /**
+     * Returns the description of the task at the specified index, without creating a task.
+     *
+     * @param index The 0-based index of the task
+     * @return The description
+     */
+    public String getDescription(int index) {
+        assert index >= 0 && index < size : "Index out of bounds for getDescription";
+        return new String(arena, descriptionStarts[index], descriptionLengths[index]);
+    }
+
+    /**
+     * Returns the stable id of the task at the specified index.
+     *
+     * @param index The 0-based index of the task
+     * @return The id
+     */
+    public long getId(int index) {
+        assert index >= 0 && index < size : "Index out of bounds for getId";
+        return ids[index];
+    }
+
+    /**
+     * Creates a task holding the current fields of the task at the specified index.
+     *
+     * @param index The 0-based index of the task
+     * @return A new task equal to the stored one
+     */
+    public Task getTask(int index) {
+        assert index >= 0 && index < size : "Index out of bounds for getTask";
+        String description = getDescription(index);
+        Task task;
+        switch (types[index]) {
+        case TYPE_DEADLINE:
+            task = new Deadline(description, firstDates[index]);
+            break;
+        case TYPE_EVENT:
+            task = new Event(description, firstDates[index], secondDates[index]);
+            break;
+        default:
+            task = new Todo(description);
+            break;
+        }
+        task.setId(ids[index]);
+        if (done.get(index)) {
+            task.markAsDone();
+        }
+        return task;
+    }
+
+    /**
+     * Creates tasks for every entry, in order.
+     *
+     * @return A new list of tasks
+     */
+    public List<Task> getAllTasks() {
+        List<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tasks.add(getTask(i));
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns the number of tasks in the list.
+     *
+     * @return The number of tasks
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Checks if the list is empty.
+     *
+     * @return true if the list contains no tasks
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Finds the deadlines due on the given date and the events starting or ending on it,
+     * in list order. Matches are found by comparing epoch seconds, creating tasks only for them.
+     *
+     * @param date The date to search for
+     * @return The matching tasks
+     */
+    public List<Task> findTasksByDate(LocalDate date) {
+        long dayStart = date.toEpochDay() * SECONDS_PER_DAY;
+        long dayEnd = dayStart + SECONDS_PER_DAY;
+        List<Task> matches = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            byte type = types[i];
+            if (type == TYPE_TODO) {
+                continue;
+            }
+            long first = firstDates[i];
+            boolean isMatch = first >= dayStart && first < dayEnd;
+            if (!isMatch && type == TYPE_EVENT) {
+                long second = secondDates[i];
+                isMatch = second >= dayStart && second < dayEnd;
+            }
+            if (isMatch) {
+                matches.add(getTask(i));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Finds the tasks matching a date typed by the user, accepting the same formats as
+     * {@link TaskList#findTasksByDate(String)}.
+     *
+     * @param dateStr The date string to search for
+     * @return The matching tasks
+     * @throws jimmy.exception.JimmyException if the date is not in a supported format
+     */
+    public List<Task> findTasksByDate(String dateStr) {
+        return findTasksByDate(TaskList.parseSearchDate(dateStr));
+    }
+
+    /**
+     * Counts the tasks that are not done yet, reading only the completion bits.
+     *
+     * @return The number of pending tasks
+     */
+    public int countPending() {
+        return size - done.cardinality();
+    }
+
+    private void appendDescription(int index, String description) {
+        int length = description.length();
+        if (arenaUsed + length > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaUsed + length));
+        }
+        description.getChars(0, length, arena, arenaUsed);
+        descriptionStarts[index] = arenaUsed;
+        descriptionLengths[index] = length;
+        arenaUsed += length;
+    }
+
+    /**
+     * Copies the descriptions of the remaining tasks to the front of the arena, dropping removed ones.
+     */
+    private void compactArena() {
+        char[] compacted = new char[Math.max(INITIAL_ARENA_CAPACITY, (arenaUsed - arenaGarbage) * 2)];
+        int used = 0;
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(arena, descriptionStarts[i], compacted, used, descriptionLengths[i]);
+            descriptionStarts[i] = used;
+            used += descriptionLengths[i];
+        }
+        arena = compacted;
+        arenaUsed = used;
+        arenaGarbage = 0;
+    }
+
+    private void grow() {
+        int capacity = types.length * 2;
+        types = Arrays.copyOf(types, capacity);
+        ids = Arrays.copyOf(ids, capacity);
+        firstDates = Arrays.copyOf(firstDates, capacity);
+        secondDates = Arrays.copyOf(secondDates, capacity);
+        descriptionStarts = Arrays.copyOf(descriptionStarts, capacity);
+        descriptionLengths = Arrays.copyOf(descriptionLengths, capacity);
+    }
+}
@@ -0,0 +1,350 @@
+package jimmy.task;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A task list that several sessions, such as the GUI and scripts, can share across threads.
+ * Every change takes the write lock of a {@link StampedLock}, so writers are serialised,
+ * while searches and reads take the read lock and run in parallel with each other.
+ * Reads of a single counter, such as the size, take no lock: every writer publishes
+ * the counters to volatile fields before it releases the write lock.
+ *
+ * <p>Calls made by a thread that already holds the lock, for example from inside
+ * {@link #callExclusively(Supplier)}, do not lock again. Iterators and {@link #asList()}
+ * return a snapshot taken under the read lock rather than a live view.</p>
+ */
+public class ConcurrentTaskList extends TaskList {
+    private static final int NOT_HELD = 0;
+    private static final int READ_HELD = 1;
+    private static final int WRITE_HELD = 2;
+
+    private static final String ERR_WRITE_WHILE_READING = "Task list cannot be changed while it is being read";
+
+    private final StampedLock lock = new StampedLock();
+
+    /** How the current thread holds the lock, so nested calls do not lock again */
+    private final ThreadLocal<int[]> heldMode = ThreadLocal.withInitial(() -> new int[] {NOT_HELD});
+
+    /** The size and version as of the last completed write */
+    private volatile int size;
+    private volatile long version;
+
+    /**
+     * Constructs an empty list.
+     */
+    public ConcurrentTaskList() {
+        super();
+        publishCounters();
+    }
+
+    /**
+     * Constructs a list with the given tasks.
+     *
+     * @param tasks The initial list of tasks
+     */
+    public ConcurrentTaskList(List<Task> tasks) {
+        super(tasks);
+        publishCounters();
+    }
+
+    /**
+     * Constructs a list with the given tasks, never giving out an id below the given one.
+     *
+     * @param tasks The initial list of tasks
+     * @param nextId The smallest id no stored task has ever had, or 0 if unknown
+     */
+    public ConcurrentTaskList(List<Task> tasks, long nextId) {
+        super(tasks, nextId);
+        publishCounters();
+    }
+
+    /**
+     * Constructs a list with the given tasks, kept in the given empty sequence.
+     *
+     * @param tasks The initial list of tasks
+     * @param nextId The smallest id no stored task has ever had, or 0 if unknown
+     * @param sequence The empty sequence to keep the tasks in
+     */
+    ConcurrentTaskList(List<Task> tasks, long nextId, TaskSequence sequence) {
+        super(tasks, nextId, sequence);
+        publishCounters();
+    }
+
+    /**
+     * Runs the action while holding the write lock, so a sequence of calls, such as
+     * resolving an index and then marking that task, sees no changes from other threads.
+     *
+     * @param action The action to run
+     * @param <T> The type of the result
+     * @return The result of the action
+     */
+    @Override
+    public <T> T callExclusively(Supplier<T> action) {
+        return write(action);
+    }
+
+    @Override
+    public void addTask(Task task) {
+        write(() -> super.addTask(task));
+    }
+
+    @Override
+    public void addTasks(Task... tasks) {
+        write(() -> super.addTasks(tasks));
+    }
+
+    @Override
+    public void insertTask(int index, Task task) {
+        write(() -> super.insertTask(index, task));
+    }
+
+    @Override
+    public void removeTask(int index) {
+        write(() -> super.removeTask(index));
+    }
+
+    @Override
+    public List<Task> removeTasks(int[] indices) {
+        return write(() -> super.removeTasks(indices));
+    }
+
+    @Override
+    public void markTaskAsDone(int index) {
+        write(() -> super.markTaskAsDone(index));
+    }
+
+    @Override
+    public void markTaskAsNotDone(int index) {
+        write(() -> super.markTaskAsNotDone(index));
+    }
+
+    @Override
+    public void markTasksAsDone(int[] indices) {
+        write(() -> super.markTasksAsDone(indices));
+    }
+
+    @Override
+    public void markTasksAsNotDone(int[] indices) {
+        write(() -> super.markTasksAsNotDone(indices));
+    }
+
+    @Override
+    public void clear() {
+        write(super::clear);
+    }
+
+    @Override
+    public void markClean() {
+        write(super::markClean);
+    }
+
+    @Override
+    public Task getTask(int index) {
+        return read(() -> super.getTask(index));
+    }
+
+    @Override
+    public Task getTaskById(long id) {
+        return read(() -> super.getTaskById(id));
+    }
+
+    @Override
+    public int indexOfId(long id) {
+        return read(() -> super.indexOfId(id));
+    }
+
+    /**
+     * Returns the number of tasks without locking. A thread in the middle of a write
+     * sees its own changes; other threads see the size as of the last completed write.
+     *
+     * @return The number of tasks
+     */
+    @Override
+    public int getSize() {
+        return heldMode.get()[0] == WRITE_HELD ? super.getSize() : size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    /**
+     * Returns the version without locking, in the same way as {@link #getSize()}.
+     *
+     * @return The current version
+     */
+    @Override
+    public long getVersion() {
+        return heldMode.get()[0] == WRITE_HELD ? super.getVersion() : version;
+    }
+
+    @Override
+    public long getNextId() {
+        return read(super::getNextId);
+    }
+
+    @Override
+    public int getCleanSize() {
+        return read(super::getCleanSize);
+    }
+
+    @Override
+    public boolean hasStructuralChanges() {
+        return read(super::hasStructuralChanges);
+    }
+
+    @Override
+    public List<Integer> getDirtyIndices() {
+        return read(super::getDirtyIndices);
+    }
+
+    @Override
+    public List<Task> getAddedTasks() {
+        return read(super::getAddedTasks);
+    }
+
+    @Override
+    public List<Task> getAllTasks() {
+        return read(super::getAllTasks);
+    }
+
+    /**
+     * Returns a read-only snapshot of the tasks. Unlike the view of a plain task list,
+     * it does not reflect later changes, so it can be read without holding any lock.
+     *
+     * @return The snapshot
+     */
+    @Override
+    public List<Task> asList() {
+        return Collections.unmodifiableList(getAllTasks());
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the tasks, which later changes do not affect.
+     *
+     * @return The iterator
+     */
+    @Override
+    public Iterator<Task> iterator() {
+        return asList().iterator();
+    }
+
+    /**
+     * Calls the action with every task in order while holding the read lock, without copying the list.
+     * The action must not change the list.
+     *
+     * @param action The action to call
+     */
+    @Override
+    public void forEach(Consumer<? super Task> action) {
+        read(() -> {
+            super.iterator().forEachRemaining(action);
+            return null;
+        });
+    }
+
+    @Override
+    public List<Task> findTasksByDate(String dateStr) {
+        return read(() -> super.findTasksByDate(dateStr));
+    }
+
+    @Override
+    public List<Task> findTasksOn(LocalDate date) {
+        return read(() -> super.findTasksOn(date));
+    }
+
+    @Override
+    public List<Task> findTasksBetween(LocalDate start, LocalDate end) {
+        return read(() -> super.findTasksBetween(start, end));
+    }
+
+    @Override
+    public List<Task> findOverdueTasks(LocalDateTime now) {
+        return read(() -> super.findOverdueTasks(now));
+    }
+
+    @Override
+    public List<Task> findOverlappingEvents(LocalDateTime from, LocalDateTime to) {
+        return read(() -> super.findOverlappingEvents(from, to));
+    }
+
+    @Override
+    public List<Task> findOverlappingEvents(Event event) {
+        return read(() -> super.findOverlappingEvents(event));
+    }
+
+    @Override
+    public List<EventConflict> findConflicts() {
+        return read(super::findConflicts);
+    }
+
+    @Override
+    public List<TimeSlot> findFreeSlots(LocalDateTime from, LocalDateTime to, Duration length, int limit) {
+        return read(() -> super.findFreeSlots(from, to, length, limit));
+    }
+
+    @Override
+    public List<Task> findByKeyword(String keyword) {
+        return read(() -> super.findByKeyword(keyword));
+    }
+
+    private void write(Runnable action) {
+        write(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private <T> T write(Supplier<T> action) {
+        int[] held = heldMode.get();
+        if (held[0] != NOT_HELD) {
+            if (held[0] != WRITE_HELD) {
+                // Upgrading would deadlock with a second reader doing the same, so refuse outright
+                throw new IllegalStateException(ERR_WRITE_WHILE_READING);
+            }
+            return action.get();
+        }
+        long stamp = lock.writeLock();
+        held[0] = WRITE_HELD;
+        try {
+            return action.get();
+        } finally {
+            publishCounters();
+            held[0] = NOT_HELD;
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Copies the counters of the list to the volatile fields lock-free readers use.
+     * Called while holding the write lock, or before the list is shared.
+     */
+    private void publishCounters() {
+        size = super.getSize();
+        version = super.getVersion();
+    }
+
+    private <T> T read(Supplier<T> action) {
+        int[] held = heldMode.get();
+        if (held[0] != NOT_HELD) {
+            return action.get();
+        }
+        long stamp = lock.readLock();
+        held[0] = READ_HELD;
+        try {
+            return action.get();
+        } finally {
+            held[0] = NOT_HELD;
+            lock.unlockRead(stamp);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package jimmy.task;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.LongConsumer;
+
+/**
+ * A sorted index over the dates of deadlines and events, keyed by epoch second.
+ * Each deadline contributes its due date and each event its start and end dates,
+ * so the tasks with a date in any range are found in O(log n + k) time by walking
+ * the matching part of the tree. Deadlines are also kept in a set of their own so
+ * overdue deadlines are found without visiting events.
+ */
+class DateIndex {
+    /** Which date of its task an entry stands for, so an event's two entries never compare equal */
+    private static final int KIND_DUE = 0;
+    private static final int KIND_FROM = 1;
+    private static final int KIND_TO = 2;
+
+    /**
+     * One date of one task.
+     */
+    private static final class Entry {
+        private final long second;
+        private final long id;
+        private final int kind;
+
+        Entry(long second, long id, int kind) {
+            this.second = second;
+            this.id = id;
+            this.kind = kind;
+        }
+    }
+
+    private static final Comparator<Entry> ORDER = Comparator.<Entry>comparingLong(e -> e.second)
+            .thenComparingLong(e -> e.id)
+            .thenComparingInt(e -> e.kind);
+
+    /** Every indexed date, of deadlines and events alike */
+    private final TreeSet<Entry> dates = new TreeSet<>(ORDER);
+
+    /** The due dates of deadlines only */
+    private final TreeSet<Entry> dueDates = new TreeSet<>(ORDER);
+
+    /**
+     * Indexes the dates of a task. Tasks without dates are ignored.
+     *
+     * @param task The task, which must already have its id
+     */
+    void add(Task task) {
+        if (task instanceof Deadline) {
+            Entry due = new Entry(((Deadline) task).getByEpochSecond(), task.getId(), KIND_DUE);
+            dates.add(due);
+            dueDates.add(due);
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            dates.add(new Entry(event.getFromEpochSecond(), task.getId(), KIND_FROM));
+            dates.add(new Entry(event.getToEpochSecond(), task.getId(), KIND_TO));
+        }
+    }
+
+    /**
+     * Removes the dates of a task from the index.
+     *
+     * @param task The task, with the same id and dates it had when added
+     */
+    void remove(Task task) {
+        if (task instanceof Deadline) {
+            Entry due = new Entry(((Deadline) task).getByEpochSecond(), task.getId(), KIND_DUE);
+            dates.remove(due);
+            dueDates.remove(due);
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            dates.remove(new Entry(event.getFromEpochSecond(), task.getId(), KIND_FROM));
+            dates.remove(new Entry(event.getToEpochSecond(), task.getId(), KIND_TO));
+        }
+    }
+
+    /**
+     * Removes every entry.
+     */
+    void clear() {
+        dates.clear();
+        dueDates.clear();
+    }
+
+    /**
+     * Calls the action with the id of every task having a date in the range, in date order.
+     * An event with both dates in the range is reported twice.
+     *
+     * @param start The start of the range, inclusive
+     * @param end The end of the range, exclusive
+     * @param action The action receiving the ids
+     */
+    void forEachInRange(LocalDateTime start, LocalDateTime end, LongConsumer action) {
+        forEachInRange(dates, secondOf(start), secondOf(end), action);
+    }
+
+    /**
+     * Calls the action with the id of every deadline due before the given time, in date order.
+     *
+     * @param time The time the deadlines must be due before
+     * @param action The action receiving the ids
+     */
+    void forEachDueBefore(LocalDateTime time, LongConsumer action) {
+        forEachInRange(dueDates, Long.MIN_VALUE, secondOf(time), action);
+    }
+
+    private static void forEachInRange(TreeSet<Entry> set, long fromSecond, long toSecond, LongConsumer action) {
+        if (fromSecond >= toSecond) {
+            return;
+        }
+        NavigableSet<Entry> range = set.subSet(new Entry(fromSecond, Long.MIN_VALUE, KIND_DUE), true,
+                new Entry(toSecond, Long.MIN_VALUE, KIND_DUE), false);
+        for (Entry entry : range) {
+            action.accept(entry.id);
+        }
+    }
+
+    /**
+     * Returns the first whole epoch second at or after the time, so a bound that falls
+     * part-way through a second still compares exactly against dates stored to the second.
+     */
+    private static long secondOf(LocalDateTime time) {
+        long second = time.toEpochSecond(ZoneOffset.UTC);
+        return time.getNano() > 0 ? second + 1 : second;
+    }
+}
@@ -0,0 +1,285 @@
+package jimmy.task;
+
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import jimmy.exception.JimmyException;
+
+/**
+ * Parses the date-times users type and the storage file holds, for deadlines and events.
+ * Accepts "d/M/yyyy HHmm", "yyyy-MM-dd HH:mm", "dd-MM-yyyy HH:mm" and ISO-8601 local
+ * date-times, with the same results as parsing with the matching {@link DateTimeFormatter}.
+ *
+ * <p>The format is chosen from the separators in the input, so at most one format is
+ * tried. Input laid out in the usual way, with the usual number of digits in each field,
+ * is decoded by a digit parser without creating any exception; the rare spellings left
+ * over (such as signed years or fractions of a second) are handed to the one formatter
+ * that could accept them. The most recently parsed strings are remembered, so a date
+ * typed or loaded again is not parsed again.</p>
+ */
+public final class DateTimeCodec {
+    /** Number of recently parsed strings remembered */
+    private static final int CACHE_CAPACITY = 256;
+
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private static final String ERR_EMPTY = "Date cannot be empty.";
+    private static final String ERR_FORMAT =
+            "'. Expected formats: dd/MM/yyyy HHmm, yyyy-MM-dd HH:mm, dd-MM-yyyy HH:mm, or ISO format";
+
+    /** Length of "yyyy-MM-dd HH:mm", "dd-MM-yyyy HH:mm" and "yyyy-MM-ddTHH:mm" */
+    private static final int MINUTES_LENGTH = 16;
+
+    /** Length of "yyyy-MM-ddTHH:mm:ss" */
+    private static final int SECONDS_LENGTH = 19;
+
+    /** The hour that stands for midnight at the end of the day in the user formats */
+    private static final int END_OF_DAY_HOUR = 24;
+
+    private static final DateTimeFormatter SLASH_FORMAT = DateTimeFormatter.ofPattern("d/M/yyyy HHmm");
+    private static final DateTimeFormatter YEAR_FIRST_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final DateTimeFormatter DAY_FIRST_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm");
+
+    /** Recently parsed strings, least recently used first; guarded by itself */
+    private static final Map<String, LocalDateTime> RECENT =
+            new LinkedHashMap<>(CACHE_CAPACITY, LOAD_FACTOR, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, LocalDateTime> eldest) {
+                    return size() > CACHE_CAPACITY;
+                }
+            };
+
+    private DateTimeCodec() {
+    }
+
+    /**
+     * Parses a date-time in any of the accepted formats.
+     * Day numbers past the end of a month are moved to its last day, and 2400 is
+     * midnight at the end of the day, as the "d/M/yyyy HHmm" style formats allow;
+     * ISO date-times must be exact.
+     *
+     * @param text The date-time, surrounding whitespace allowed
+     * @return The parsed date-time
+     * @throws JimmyException if the text is empty or not a valid date-time in an accepted format
+     */
+    public static LocalDateTime parse(String text) throws JimmyException {
+        if (text == null || text.trim().isEmpty()) {
+            throw new JimmyException(ERR_EMPTY);
+        }
+        String trimmed = text.trim();
+        LocalDateTime parsed;
+        synchronized (RECENT) {
+            parsed = RECENT.get(trimmed);
+        }
+        if (parsed != null) {
+            return parsed;
+        }
+
+        parsed = decode(trimmed);
+        if (parsed == null) {
+            throw new JimmyException("Invalid date format: '" + trimmed + ERR_FORMAT);
+        }
+        synchronized (RECENT) {
+            RECENT.put(trimmed, parsed);
+        }
+        return parsed;
+    }
+
+    /**
+     * Parses a date-time in the shape "yyyy-MM-ddTHH:mm" or "yyyy-MM-ddTHH:mm:ss",
+     * as written by {@link Task#toFileString()}, without throwing or caching.
+     *
+     * @param text The text to parse, surrounding whitespace (as removed by {@link String#trim()}) allowed
+     * @return The parsed date-time, or null if the text has another shape or is not a valid date
+     */
+    public static LocalDateTime parseIso(String text) {
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return isIsoLayout(text, start, end) ? decodeIso(text, start, end) : null;
+    }
+
+    /**
+     * Parses trimmed text with the one format its separators point to.
+     *
+     * @return The date-time, or null if the text is not valid in that format
+     */
+    private static LocalDateTime decode(String text) {
+        if (text.indexOf('/') >= 0) {
+            return isSlashLayout(text) ? decodeSlash(text) : parseWith(SLASH_FORMAT, text);
+        }
+        if (text.indexOf('T') >= 0 || text.indexOf('t') >= 0) {
+            return isIsoLayout(text, 0, text.length())
+                    ? decodeIso(text, 0, text.length())
+                    : parseWith(DateTimeFormatter.ISO_LOCAL_DATE_TIME, text);
+        }
+        // Two fixed digits come before the first '-' only when the day is first
+        if (text.indexOf('-') == 2) {
+            return isDashLayout(text, 2, 5, 10)
+                    ? resolve(digits(text, 6, 4), digits(text, 3, 2), digits(text, 0, 2),
+                            digits(text, 11, 2), digits(text, 14, 2))
+                    : parseWith(DAY_FIRST_FORMAT, text);
+        }
+        return isDashLayout(text, 4, 7, 10)
+                ? resolve(digits(text, 0, 4), digits(text, 5, 2), digits(text, 8, 2),
+                        digits(text, 11, 2), digits(text, 14, 2))
+                : parseWith(YEAR_FIRST_FORMAT, text);
+    }
+
+    /**
+     * Checks for "d/M/yyyy HHmm" with one or two digits in the day and month.
+     */
+    private static boolean isSlashLayout(String text) {
+        int firstSlash = text.indexOf('/');
+        int secondSlash = text.indexOf('/', firstSlash + 1);
+        int space = secondSlash + 5;
+        int monthDigits = secondSlash - firstSlash - 1;
+        return firstSlash >= 1 && firstSlash <= 2 && monthDigits >= 1 && monthDigits <= 2
+                && text.length() == space + 5 && text.charAt(space) == ' '
+                && areDigits(text, 0, firstSlash) && areDigits(text, firstSlash + 1, secondSlash)
+                && areDigits(text, secondSlash + 1, space) && areDigits(text, space + 1, text.length());
+    }
+
+    private static LocalDateTime decodeSlash(String text) {
+        int firstSlash = text.indexOf('/');
+        int secondSlash = text.indexOf('/', firstSlash + 1);
+        int space = secondSlash + 5;
+        return resolve(digits(text, secondSlash + 1, 4), digits(text, firstSlash + 1, secondSlash - firstSlash - 1),
+                digits(text, 0, firstSlash), digits(text, space + 1, 2), digits(text, space + 3, 2));
+    }
+
+    /**
+     * Checks for a 16 character date and time with '-' at the given positions,
+     * a space and then "HH:mm", and digits everywhere else.
+     */
+    private static boolean isDashLayout(String text, int firstDash, int secondDash, int space) {
+        if (text.length() != MINUTES_LENGTH || text.charAt(firstDash) != '-' || text.charAt(secondDash) != '-'
+                || text.charAt(space) != ' ' || text.charAt(space + 3) != ':') {
+            return false;
+        }
+        for (int i = 0; i < MINUTES_LENGTH; i++) {
+            if (i != firstDash && i != secondDash && i != space && i != space + 3 && !isDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks for "yyyy-MM-ddTHH:mm" or "yyyy-MM-ddTHH:mm:ss" between the given positions.
+     */
+    private static boolean isIsoLayout(String text, int start, int end) {
+        int length = end - start;
+        if (length != MINUTES_LENGTH && length != SECONDS_LENGTH) {
+            return false;
+        }
+        char separator = text.charAt(start + 10);
+        if (text.charAt(start + 4) != '-' || text.charAt(start + 7) != '-'
+                || (separator != 'T' && separator != 't') || text.charAt(start + 13) != ':') {
+            return false;
+        }
+        if (length == SECONDS_LENGTH && text.charAt(start + MINUTES_LENGTH) != ':') {
+            return false;
+        }
+        return areDigits(text, start, start + 4) && areDigits(text, start + 5, start + 7)
+                && areDigits(text, start + 8, start + 10) && areDigits(text, start + 11, start + 13)
+                && areDigits(text, start + 14, start + MINUTES_LENGTH)
+                && (length == MINUTES_LENGTH || areDigits(text, start + 17, end));
+    }
+
+    /**
+     * Builds an ISO date-time from its fields, which must all be in range.
+     */
+    private static LocalDateTime decodeIso(String text, int start, int end) {
+        int year = digits(text, start, 4);
+        int month = digits(text, start + 5, 2);
+        int day = digits(text, start + 8, 2);
+        int hour = digits(text, start + 11, 2);
+        int minute = digits(text, start + 14, 2);
+        int second = end - start == SECONDS_LENGTH ? digits(text, start + 17, 2) : 0;
+        if (month < 1 || month > 12 || day < 1 || hour > 23 || minute > 59 || second > 59) {
+            return null;
+        }
+        if (day > lengthOfMonth(year, month)) {
+            return null;
+        }
+        return LocalDateTime.of(year, month, day, hour, minute, second);
+    }
+
+    /**
+     * Builds a date-time from the fields of a user format, resolving them the way
+     * {@link DateTimeFormatter#ofPattern(String)} formatters do.
+     */
+    private static LocalDateTime resolve(int year, int month, int day, int hour, int minute) {
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31 || minute > 59) {
+            return null;
+        }
+        int dayOfMonth = Math.min(day, lengthOfMonth(year, month));
+        if (hour == END_OF_DAY_HOUR && minute == 0) {
+            return LocalDateTime.of(year, month, dayOfMonth, 0, 0).plusDays(1);
+        }
+        if (hour > 23) {
+            return null;
+        }
+        return LocalDateTime.of(year, month, dayOfMonth, hour, minute);
+    }
+
+    /**
+     * Parses text with a formatter, for spellings the digit parser does not handle.
+     *
+     * @return The date-time, or null if the formatter rejects the text
+     */
+    private static LocalDateTime parseWith(DateTimeFormatter format, String text) {
+        try {
+            return LocalDateTime.parse(text, format);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static boolean areDigits(String text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!isDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Reads a run of ASCII digits, already checked to be digits, as a number.
+     */
+    private static int digits(String text, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+        }
+        return value;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+        case 2:
+            return Year.isLeap(year) ? 29 : 28;
+        case 4:
+        case 6:
+        case 9:
+        case 11:
+            return 30;
+        default:
+            return 31;
+        }
+    }
+}
@@ -2,23 +2,24 @@ package jimmy.task;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import jimmy.exception.JimmyException;
 
 /**
  * Represents an event task in the Jimmy task management system.
  * An event task has a description, start time, and end time.
  * Inherits from the Task class and provides event-specific functionality.
+ * The start and end are stored as epoch seconds and only turned into LocalDateTime
+ * objects on demand, and their display form is formatted once and reused.
  */
 public class Event extends Task {
-    /** The start date and time of the event */
-    protected LocalDateTime from;
+    /** The start date and time of the event, in epoch seconds */
+    protected long from;
     
-    /** The end date and time of the event */
-    protected LocalDateTime to;
-    
-    /** Formatter for parsing input date strings in "d/M/yyyy HHmm" format */
-    private static final DateTimeFormatter INPUT_FORMATTER = DateTimeFormatter.ofPattern("d/M/yyyy HHmm");
+    /** The end date and time of the event, in epoch seconds */
+    protected long to;
+
+    /** The start and end formatted for display, built on first use */
+    private String displayDates;
     
     /** Formatter for displaying dates in "MMM dd yyyy, h:mm a" format */
     private static final DateTimeFormatter DISPLAY_FORMATTER = DateTimeFormatter.ofPattern("MMM dd yyyy, h:mm a");
@@ -35,14 +36,16 @@ public class Event extends Task {
      */
     public Event(String description, String from, String to) throws JimmyException {
         super(description);
-        this.from = parseDateTime(from);
-        this.to = parseDateTime(to);
+        LocalDateTime start = DateTimeCodec.parse(from);
+        LocalDateTime end = DateTimeCodec.parse(to);
         
         // Validate that start time is before end time
-        if (!this.from.isBefore(this.to)) {
+        if (!start.isBefore(end)) {
             throw new JimmyException("Start time must be before end time. Start: " + 
-                this.from.format(DISPLAY_FORMATTER) + ", End: " + this.to.format(DISPLAY_FORMATTER));
+                start.format(DISPLAY_FORMATTER) + ", End: " + end.format(DISPLAY_FORMATTER));
         }
+        this.from = toEpochSecond(start);
+        this.to = toEpochSecond(end);
     }
 
     /**
@@ -54,49 +57,21 @@ public class Event extends Task {
      */
     public Event(String description, LocalDateTime from, LocalDateTime to) {
         super(description);
-        this.from = from;
-        this.to = to;
+        this.from = toEpochSecond(from);
+        this.to = toEpochSecond(to);
     }
 
     /**
-     * Parses a date string into a LocalDateTime object.
-     * Tries multiple date formats in order of preference.
-     * Validates that the date actually exists (e.g., Feb 30 is invalid).
+     * Constructs a new Event task with the given description, start time, and end time in epoch seconds.
      *
-     * @param dateTimeStr The date string to parse
-     * @return The parsed LocalDateTime object
-     * @throws JimmyException if the date string cannot be parsed or date doesn't exist
+     * @param description The description of the event task
+     * @param from The start date and time in seconds since 1970-01-01T00:00
+     * @param to The end date and time in seconds since 1970-01-01T00:00
      */
-    private LocalDateTime parseDateTime(String dateTimeStr) throws JimmyException {
-        if (dateTimeStr == null || dateTimeStr.trim().isEmpty()) {
-            throw new JimmyException("Date cannot be empty.");
-        }
-        
-        String trimmed = dateTimeStr.trim();
-        
-        try {
-            // Try to parse the format "2/12/2019 1800"
-            return LocalDateTime.parse(trimmed, INPUT_FORMATTER);
-        } catch (DateTimeParseException e) {
-            // If parsing fails, try alternative formats
-            try {
-                // Try "yyyy-MM-dd HH:mm" format
-                return LocalDateTime.parse(trimmed, DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
-            } catch (DateTimeParseException e2) {
-                try {
-                    // Try "dd-MM-yyyy HH:mm" format
-                    return LocalDateTime.parse(trimmed, DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm"));
-                } catch (DateTimeParseException e3) {
-                    try {
-                        // Try ISO format
-                        return LocalDateTime.parse(trimmed, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-                    } catch (DateTimeParseException e4) {
-                        throw new JimmyException("Invalid date format: '" + trimmed + 
-                            "'. Expected formats: dd/MM/yyyy HHmm, yyyy-MM-dd HH:mm, dd-MM-yyyy HH:mm, or ISO format");
-                    }
-                }
-            }
-        }
+    public Event(String description, long from, long to) {
+        super(description);
+        this.from = from;
+        this.to = to;
     }
 
     /**
@@ -105,6 +80,15 @@ public class Event extends Task {
      * @return The start date and time as a LocalDateTime object
      */
     public LocalDateTime getFrom() {
+        return fromEpochSecond(from);
+    }
+
+    /**
+     * Returns the start date and time of this event task without creating a LocalDateTime.
+     *
+     * @return The start date and time in seconds since 1970-01-01T00:00
+     */
+    public long getFromEpochSecond() {
         return from;
     }
 
@@ -114,9 +98,23 @@ public class Event extends Task {
      * @return The end date and time as a LocalDateTime object
      */
     public LocalDateTime getTo() {
+        return fromEpochSecond(to);
+    }
+
+    /**
+     * Returns the end date and time of this event task without creating a LocalDateTime.
+     *
+     * @return The end date and time in seconds since 1970-01-01T00:00
+     */
+    public long getToEpochSecond() {
         return to;
     }
 
+    @Override
+    public Task copy() {
+        return copyStateTo(new Event(description, from, to));
+    }
+
     /**
      * Returns a string representation of the event task suitable for file storage.
      * Format: "E | status | description | startDateTime | endDateTime"
@@ -126,8 +124,8 @@ public class Event extends Task {
     @Override
     public String toFileString() {
         return "E | " + (isDone ? "1" : "0") + " | " + description + " | " + 
-               from.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + " | " + 
-               to.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+               getFrom().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + " | " + 
+               getTo().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
     }
 
     /**
@@ -139,6 +137,13 @@ public class Event extends Task {
     @Override
     public String toString() {
         return "[E] " + "[" + super.getStatusIcon() + "]" + " " + super.toString() + 
-               " (from: " + from.format(DISPLAY_FORMATTER) + " to: " + to.format(DISPLAY_FORMATTER) + ")";
+               " (" + getDisplayDates() + ")";
+    }
+
+    private String getDisplayDates() {
+        if (displayDates == null) {
+            displayDates = "from: " + getFrom().format(DISPLAY_FORMATTER) + " to: " + getTo().format(DISPLAY_FORMATTER);
+        }
+        return displayDates;
     }
 }
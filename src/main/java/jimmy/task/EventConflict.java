@@ -0,0 +1,39 @@
+package jimmy.task;
+
+/**
+ * A pair of events whose time spans overlap.
+ * The first event starts no later than the second.
+ */
+public class EventConflict {
+    private final Event first;
+    private final Event second;
+
+    /**
+     * Constructs a conflict between two events.
+     *
+     * @param first The event that starts first
+     * @param second The event that starts second
+     */
+    public EventConflict(Event first, Event second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    /**
+     * Returns the event that starts first.
+     *
+     * @return The first event
+     */
+    public Event getFirst() {
+        return first;
+    }
+
+    /**
+     * Returns the event that starts second.
+     *
+     * @return The second event
+     */
+    public Event getSecond() {
+        return second;
+    }
+}
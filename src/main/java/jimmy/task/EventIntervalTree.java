@@ -0,0 +1,330 @@
+package jimmy.task;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+
+/**
+ * An interval tree over the time spans of events, stored as a treap ordered by
+ * start time. Every node records the latest end time in its subtree, so the
+ * events overlapping a span are found in O(log n + k) time by skipping subtrees
+ * that end too early or start too late.
+ *
+ * <p>Spans are half-open: an event from 10:00 to 11:00 does not overlap one
+ * starting at 11:00.</p>
+ */
+class EventIntervalTree {
+    /**
+     * A node holding one event and its span in epoch seconds.
+     */
+    private static final class Node {
+        private final Event event;
+        private final long start;
+        private final long end;
+        private final int priority;
+        private long maxEnd;
+        private Node left;
+        private Node right;
+
+        private Node(Event event, int priority) {
+            this.event = event;
+            this.start = event.getFromEpochSecond();
+            this.end = event.getToEpochSecond();
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+    }
+
+    private final Random random = new Random();
+    private Node root;
+    private int size;
+
+    /**
+     * Returns the number of events in the tree.
+     *
+     * @return The size
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Adds an event. The event must already have its id and must not be in the tree.
+     *
+     * @param event The event to add
+     */
+    void add(Event event) {
+        root = insert(root, new Node(event, random.nextInt()));
+        size++;
+    }
+
+    /**
+     * Removes an event.
+     *
+     * @param event The event to remove, with the same id and span it had when added
+     */
+    void remove(Event event) {
+        int before = size;
+        root = delete(root, event.getFromEpochSecond(), event.getId());
+        assert size == before - 1 : "Removed event must be in the tree";
+    }
+
+    /**
+     * Removes every event.
+     */
+    void clear() {
+        root = null;
+        size = 0;
+    }
+
+    /**
+     * Calls the action with every event whose span overlaps the given span.
+     *
+     * @param from The start of the span
+     * @param to The end of the span
+     * @param action The action receiving the events
+     */
+    void forEachOverlapping(LocalDateTime from, LocalDateTime to, Consumer<Event> action) {
+        long start = secondOf(from);
+        long end = secondOf(to);
+        if (start >= end) {
+            return;
+        }
+        // Walk iteratively, so the depth of the treap never limits the stack
+        Deque<Node> pending = new ArrayDeque<>();
+        if (root != null) {
+            pending.push(root);
+        }
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            if (node.maxEnd <= start) {
+                continue;
+            }
+            if (node.left != null) {
+                pending.push(node.left);
+            }
+            if (node.start < end) {
+                if (node.end > start && node.start < node.end) {
+                    action.accept(node.event);
+                }
+                if (node.right != null) {
+                    pending.push(node.right);
+                }
+            }
+        }
+    }
+
+    /**
+     * Calls the action with every pair of overlapping events, found by sweeping the
+     * events in start order while keeping the events still in progress.
+     * Takes O(n log n + k) time for k pairs. Each pair is reported once, with the
+     * event that starts first (or has the lower id, on a tie) as the first argument.
+     *
+     * @param action The action receiving each pair
+     */
+    void forEachOverlappingPair(BiConsumer<Event, Event> action) {
+        // Events in progress, ordered by end time so finished ones leave from the front
+        TreeSet<Node> active = new TreeSet<>((a, b) -> a.end != b.end
+                ? Long.compare(a.end, b.end) : Long.compare(a.event.getId(), b.event.getId()));
+        Deque<Node> stack = new ArrayDeque<>();
+        Node node = root;
+        while (node != null || !stack.isEmpty()) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+            node = stack.pop();
+            while (!active.isEmpty() && active.first().end <= node.start) {
+                active.pollFirst();
+            }
+            if (node.start < node.end) {
+                // Every event still in progress started no later and ends after this one starts
+                for (Node other : active) {
+                    action.accept(other.event, node.event);
+                }
+                active.add(node);
+            }
+            node = node.right;
+        }
+    }
+
+    /**
+     * Calls the action with every gap of at least the given length between the events
+     * within a span, in chronological order, until the action returns false.
+     * Only the events overlapping the span are visited, found from the start of the
+     * span in O(log n) time, so stopping early costs time only for the gaps reported.
+     *
+     * @param from The start of the span
+     * @param to The end of the span
+     * @param minSeconds The shortest gap to report, in seconds
+     * @param action The action receiving the start and end of each gap, returning whether to continue
+     */
+    void forEachGap(LocalDateTime from, LocalDateTime to, long minSeconds,
+            BiPredicate<LocalDateTime, LocalDateTime> action) {
+        assert minSeconds > 0 : "Gaps must have a positive length";
+        long end = secondOf(to);
+        // Events starting before the span may still run into it
+        long free = Math.max(secondOf(from), maxEndBefore(secondOf(from)));
+
+        Deque<Node> stack = new ArrayDeque<>();
+        pushLowerBound(stack, secondOf(from));
+        while (!stack.isEmpty() && free < end) {
+            Node node = stack.pop();
+            if (node.start >= end) {
+                break;
+            }
+            if (node.start < node.end) {
+                if (node.start - free >= minSeconds && !action.test(timeOf(free), timeOf(node.start))) {
+                    return;
+                }
+                free = Math.max(free, node.end);
+            }
+            pushLeftSpine(stack, node.right);
+        }
+        if (end - free >= minSeconds) {
+            action.test(timeOf(free), timeOf(end));
+        }
+    }
+
+    /**
+     * Returns the latest end of the events starting before the given time.
+     */
+    private long maxEndBefore(long start) {
+        long result = Long.MIN_VALUE;
+        Node node = root;
+        while (node != null) {
+            if (node.start < start) {
+                result = Math.max(result, Math.max(node.end, maxEnd(node.left)));
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Pushes the path to the first event starting at or after the given time, so that
+     * popping the stack visits the events from there on in start order.
+     */
+    private void pushLowerBound(Deque<Node> stack, long start) {
+        Node node = root;
+        while (node != null) {
+            if (node.start >= start) {
+                stack.push(node);
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+    }
+
+    private static void pushLeftSpine(Deque<Node> stack, Node node) {
+        for (Node current = node; current != null; current = current.left) {
+            stack.push(current);
+        }
+    }
+
+    private static long maxEnd(Node node) {
+        return node == null ? Long.MIN_VALUE : node.maxEnd;
+    }
+
+    private static void update(Node node) {
+        node.maxEnd = Math.max(node.end, Math.max(maxEnd(node.left), maxEnd(node.right)));
+    }
+
+    /**
+     * Returns whether the node with the given key comes before the node.
+     */
+    private static boolean isBefore(long start, long id, Node node) {
+        return start != node.start ? start < node.start : id < node.event.getId();
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (isBefore(added.start, added.event.getId(), node)) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private Node delete(Node node, long start, long id) {
+        if (node == null) {
+            return null;
+        }
+        if (node.start == start && node.event.getId() == id) {
+            size--;
+            return merge(node.left, node.right);
+        }
+        if (isBefore(start, id, node)) {
+            node.left = delete(node.left, start, id);
+        } else {
+            node.right = delete(node.right, start, id);
+        }
+        update(node);
+        return node;
+    }
+
+    /**
+     * Concatenates two subtrees, all of whose nodes in left come before those in right.
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority >= right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static long secondOf(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime timeOf(long second) {
+        return LocalDateTime.ofEpochSecond(second, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,361 @@
+package jimmy.task;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * An ordered sequence of tasks addressed by position, stored as an implicit treap.
+ * Every node records the size of its subtree, so getting, inserting and removing
+ * at any position take O(log n) expected time instead of shifting the elements
+ * of an array. Nodes also keep a parent link, so the position of a node that is
+ * already known (for example from an id index) is found by walking up the tree.
+ * Tasks are changed in place, so the tree holds exactly one version of the list.
+ */
+class IndexedTaskTree implements TaskSequence {
+    /**
+     * A node holding one task. Its identity stays the same while it is in the tree.
+     */
+    static final class Node implements TaskSequence.Entry {
+        private final Task task;
+        private final int priority;
+        private int size = 1;
+        private Node left;
+        private Node right;
+        private Node parent;
+
+        private Node(Task task, int priority) {
+            this.task = task;
+            this.priority = priority;
+        }
+
+        /**
+         * Returns the task held by this node.
+         *
+         * @return The task
+         */
+        @Override
+        public Task getTask() {
+            return task;
+        }
+    }
+
+    private final Random random = new Random();
+    private Node root;
+
+    /** Results of the last split, kept in fields to avoid allocating a pair */
+    private Node splitLeft;
+    private Node splitRight;
+
+    /**
+     * Constructs an empty tree.
+     */
+    IndexedTaskTree() {
+    }
+
+    /**
+     * Constructs a tree holding the given tasks in order, in linear time.
+     *
+     * @param tasks The initial tasks
+     * @param nodes The list receiving the node created for each task, in the same order
+     */
+    IndexedTaskTree(List<Task> tasks, List<Node> nodes) {
+        nodes.addAll(rebuild(tasks));
+    }
+
+    /**
+     * Replaces every task with the given tasks, in linear time.
+     *
+     * @param tasks The new tasks, in order
+     * @return The nodes created for the tasks, in the same order
+     */
+    @Override
+    public List<Node> rebuild(List<Task> tasks) {
+        List<Node> nodes = new ArrayList<>(tasks.size());
+        // Build the Cartesian tree of random priorities over the sequence with a stack
+        Deque<Node> rightSpine = new ArrayDeque<>();
+        for (Task task : tasks) {
+            Node node = new Node(task, random.nextInt());
+            nodes.add(node);
+            Node last = null;
+            while (!rightSpine.isEmpty() && rightSpine.peek().priority < node.priority) {
+                last = rightSpine.pop();
+            }
+            node.left = last;
+            if (!rightSpine.isEmpty()) {
+                rightSpine.peek().right = node;
+            }
+            rightSpine.push(node);
+        }
+        root = rightSpine.isEmpty() ? null : rightSpine.peekLast();
+        computeSizes(root);
+        return nodes;
+    }
+
+    /**
+     * Returns the number of tasks in the tree.
+     *
+     * @return The size
+     */
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * Returns the task at the given position.
+     *
+     * @param index The 0-based position
+     * @return The task
+     */
+    @Override
+    public Task get(int index) {
+        return nodeAt(index).task;
+    }
+
+    /**
+     * Returns the node at the given position.
+     *
+     * @param index The 0-based position
+     * @return The node
+     */
+    Node nodeAt(int index) {
+        assert index >= 0 && index < size() : "Index out of bounds for tree";
+        Node node = root;
+        int remaining = index;
+        while (true) {
+            int leftSize = size(node.left);
+            if (remaining < leftSize) {
+                node = node.left;
+            } else if (remaining == leftSize) {
+                return node;
+            } else {
+                remaining -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Inserts a task at the given position, shifting later tasks back by one.
+     *
+     * @param index The 0-based position, from 0 to size inclusive
+     * @param task The task to insert
+     * @return The node created for the task
+     */
+    @Override
+    public Node insert(int index, Task task) {
+        assert index >= 0 && index <= size() : "Index out of bounds for insert";
+        Node node = new Node(task, random.nextInt());
+        split(root, index);
+        Node right = splitRight;
+        root = merge(merge(splitLeft, node), right);
+        root.parent = null;
+        return node;
+    }
+
+    /**
+     * Removes the task at the given position.
+     *
+     * @param index The 0-based position
+     * @return The node that held the task, no longer part of the tree
+     */
+    @Override
+    public Node remove(int index) {
+        assert index >= 0 && index < size() : "Index out of bounds for remove";
+        split(root, index);
+        Node left = splitLeft;
+        split(splitRight, 1);
+        Node removed = splitLeft;
+        root = merge(left, splitRight);
+        if (root != null) {
+            root.parent = null;
+        }
+        removed.parent = null;
+        return removed;
+    }
+
+    /**
+     * Marks the task at the given position as done or not done, changing it in place.
+     *
+     * @param index The 0-based position
+     * @param isDone The new status
+     * @return The task, which stays at the position
+     */
+    @Override
+    public Task setDone(int index, boolean isDone) {
+        Task task = get(index);
+        if (isDone) {
+            task.markAsDone();
+        } else {
+            task.markAsNotDone();
+        }
+        return task;
+    }
+
+    /**
+     * Returns the current position of a node.
+     *
+     * @param entry The node to locate
+     * @return The 0-based position, or -1 if the node is not in this tree
+     */
+    @Override
+    public int indexOf(TaskSequence.Entry entry) {
+        Node node = (Node) entry;
+        int index = size(node.left);
+        Node current = node;
+        while (current.parent != null) {
+            if (current == current.parent.right) {
+                index += size(current.parent.left) + 1;
+            }
+            current = current.parent;
+        }
+        return current == root ? index : -1;
+    }
+
+    /**
+     * Removes every task.
+     */
+    @Override
+    public void clear() {
+        root = null;
+    }
+
+    /**
+     * Returns the tasks in order.
+     *
+     * @return A new list of the tasks
+     */
+    @Override
+    public List<Task> toList() {
+        List<Task> tasks = new ArrayList<>(size());
+        for (Task task : this) {
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns an iterator over the tasks in order, taking amortised constant time per step.
+     * The tree must not be modified during the iteration.
+     *
+     * @return The iterator
+     */
+    @Override
+    public Iterator<Task> iterator() {
+        return new Iterator<Task>() {
+            private Node next = leftmost(root);
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Task next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                Node current = next;
+                next = successor(current);
+                return current.task;
+            }
+        };
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+        if (node.left != null) {
+            node.left.parent = node;
+        }
+        if (node.right != null) {
+            node.right.parent = node;
+        }
+    }
+
+    private static int computeSizes(Node node) {
+        if (node == null) {
+            return 0;
+        }
+        computeSizes(node.left);
+        computeSizes(node.right);
+        update(node);
+        return node.size;
+    }
+
+    /**
+     * Splits the subtree into its first count nodes (splitLeft) and the rest (splitRight).
+     */
+    private void split(Node node, int count) {
+        if (node == null) {
+            splitLeft = null;
+            splitRight = null;
+            return;
+        }
+        node.parent = null;
+        if (size(node.left) >= count) {
+            split(node.left, count);
+            node.left = splitRight;
+            update(node);
+            splitRight = node;
+        } else {
+            split(node.right, count - size(node.left) - 1);
+            node.right = splitLeft;
+            update(node);
+            splitLeft = node;
+        }
+        if (splitLeft != null) {
+            splitLeft.parent = null;
+        }
+        if (splitRight != null) {
+            splitRight.parent = null;
+        }
+    }
+
+    /**
+     * Concatenates two subtrees, all of whose nodes in left come before those in right.
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority >= right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static Node leftmost(Node node) {
+        Node current = node;
+        while (current != null && current.left != null) {
+            current = current.left;
+        }
+        return current;
+    }
+
+    private static Node successor(Node node) {
+        if (node.right != null) {
+            return leftmost(node.right);
+        }
+        Node current = node;
+        while (current.parent != null && current == current.parent.right) {
+            current = current.parent;
+        }
+        return current.parent;
+    }
+}
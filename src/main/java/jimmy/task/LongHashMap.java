@@ -0,0 +1,163 @@
+package jimmy.task;
+
+import java.util.Arrays;
+
+/**
+ * A hash map from primitive long keys to non-null values.
+ * Keys are stored unboxed in an open-addressing table with linear probing, so a
+ * lookup costs a few array reads and no allocation regardless of the map size.
+ * Removal shifts later entries of the probe run back instead of leaving tombstones.
+ *
+ * @param <V> The type of the values
+ */
+class LongHashMap<V> {
+    private static final int MIN_CAPACITY = 16;
+
+    /** Multiplier of Fibonacci hashing (2^64 divided by the golden ratio) */
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+    private int mask;
+    private int shift;
+
+    /**
+     * Constructs an empty map.
+     */
+    LongHashMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * Returns the value mapped to the key.
+     *
+     * @param key The key to look up
+     * @return The value, or null if the key is not mapped
+     */
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        for (int slot = slotOf(key); values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns whether the key is mapped.
+     *
+     * @param key The key to look up
+     * @return true if the map holds a value for the key
+     */
+    boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Maps the key to the value, replacing any previous value.
+     *
+     * @param key The key
+     * @param value The value, which must not be null
+     * @return The previous value, or null if the key was not mapped
+     */
+    @SuppressWarnings("unchecked")
+    V put(long key, V value) {
+        assert value != null : "Map values must not be null";
+        int slot = slotOf(key);
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        if (size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Removes the mapping for the key.
+     *
+     * @param key The key to remove
+     * @return The removed value, or null if the key was not mapped
+     */
+    @SuppressWarnings("unchecked")
+    V remove(long key) {
+        int slot = slotOf(key);
+        while (values[slot] != null && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        if (values[slot] == null) {
+            return null;
+        }
+        V removed = (V) values[slot];
+
+        // Shift back later entries of the run that may no longer be reachable
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (values[next] != null) {
+            int home = slotOf(keys[next]);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        values[gap] = null;
+        size--;
+        return removed;
+    }
+
+    /**
+     * Returns the number of mappings.
+     *
+     * @return The map size
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Removes every mapping.
+     */
+    void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    private int slotOf(long key) {
+        return (int) ((key * HASH_MULTIPLIER) >>> shift);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        shift = Long.SIZE - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = slotOf(oldKeys[i]);
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package jimmy.task;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The storage behind a {@link VersionedTaskList}: a {@link PersistentTaskTree} whose root
+ * is replaced on every change, so each root ever returned by {@link #getRoot()} stays a
+ * valid, unchanging version of the list. Marking a task puts a changed copy of that one
+ * task in the new version instead of changing the task older versions hold.
+ *
+ * <p>Positions of entries are found through order keys. New tasks get a key halfway
+ * between their neighbours; when two neighbours have no key left between them, every
+ * key is spread out again in one linear pass.</p>
+ *
+ * <p>Only one thread may change the sequence at a time, and only that thread may read
+ * anything but the roots it has handed out.</p>
+ */
+class PersistentTaskSequence implements TaskSequence {
+    /** Distance between the keys of neighbouring tasks after a rebuild or relabel */
+    private static final long KEY_GAP = 1L << 20;
+
+    private final Random random = new Random();
+    private PersistentTaskTree.Node root;
+
+    /**
+     * Returns the root of the latest version.
+     *
+     * @return The root, which is never changed afterwards
+     */
+    PersistentTaskTree.Node getRoot() {
+        return root;
+    }
+
+    @Override
+    public int size() {
+        return PersistentTaskTree.size(root);
+    }
+
+    @Override
+    public Task get(int index) {
+        return PersistentTaskTree.get(root, index);
+    }
+
+    @Override
+    public PersistentTaskTree.Slot insert(int index, Task task) {
+        assert index >= 0 && index <= size() : "Index out of bounds for insert";
+        PersistentTaskTree.Slot slot = new PersistentTaskTree.Slot(task, keyFor(index));
+        root = PersistentTaskTree.insert(root, index, slot, random.nextInt());
+        return slot;
+    }
+
+    @Override
+    public PersistentTaskTree.Slot remove(int index) {
+        PersistentTaskTree.Slot slot = PersistentTaskTree.slotAt(root, index);
+        root = PersistentTaskTree.remove(root, index);
+        return slot;
+    }
+
+    /**
+     * Marks a copy of the task at the given position as done or not done and puts the
+     * copy in its place, leaving the task itself as older versions hold it.
+     *
+     * @param index The 0-based position
+     * @param isDone The new status
+     * @return The task that was at the position before
+     */
+    @Override
+    public Task setDone(int index, boolean isDone) {
+        PersistentTaskTree.Slot slot = PersistentTaskTree.slotAt(root, index);
+        Task previous = slot.getTask();
+        Task copy = previous.copy();
+        if (isDone) {
+            copy.markAsDone();
+        } else {
+            copy.markAsNotDone();
+        }
+        slot.setTask(copy);
+        root = PersistentTaskTree.set(root, index, copy);
+        return previous;
+    }
+
+    @Override
+    public int indexOf(TaskSequence.Entry entry) {
+        return PersistentTaskTree.indexOf(root, (PersistentTaskTree.Slot) entry);
+    }
+
+    @Override
+    public List<PersistentTaskTree.Slot> rebuild(List<Task> tasks) {
+        List<PersistentTaskTree.Slot> slots = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            slots.add(new PersistentTaskTree.Slot(task, (slots.size() + 1) * KEY_GAP));
+        }
+        root = PersistentTaskTree.build(slots);
+        return slots;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+    }
+
+    @Override
+    public List<Task> toList() {
+        List<Task> tasks = new ArrayList<>(size());
+        for (Task task : this) {
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return PersistentTaskTree.iterator(root);
+    }
+
+    /**
+     * Returns an order key for a task about to be inserted at the given position,
+     * relabelling every slot first if its neighbours leave no room.
+     */
+    private long keyFor(int index) {
+        int size = size();
+        if (index == size) {
+            long last = size == 0 ? 0 : PersistentTaskTree.slotAt(root, size - 1).getKey();
+            if (last <= Long.MAX_VALUE - KEY_GAP) {
+                return last + KEY_GAP;
+            }
+        } else {
+            long before = index == 0 ? 0 : PersistentTaskTree.slotAt(root, index - 1).getKey();
+            long after = PersistentTaskTree.slotAt(root, index).getKey();
+            if (after - before >= 2) {
+                return before + (after - before) / 2;
+            }
+        }
+        PersistentTaskTree.relabel(root, KEY_GAP);
+        return index == 0 ? KEY_GAP / 2 : PersistentTaskTree.slotAt(root, index - 1).getKey() + KEY_GAP / 2;
+    }
+}
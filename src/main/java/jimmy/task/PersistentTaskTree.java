@@ -0,0 +1,356 @@
+package jimmy.task;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable sequence of tasks addressed by position, stored as an implicit treap
+ * whose nodes are never changed once built. Every update copies only the O(log n)
+ * nodes on the path it touches and shares the rest of the tree with the version it
+ * started from, so older versions stay valid and can be read from any thread while
+ * newer ones are being built.
+ *
+ * <p>A tree is represented by its root node, with null standing for the empty tree.
+ * Callers supply the priorities of new nodes, so this class holds no state.</p>
+ *
+ * <p>Every node also points to the {@link Slot} of its task, which is shared by all
+ * versions and carries an order key that ascends in list order. The writer uses the keys
+ * to find the position of a slot in its latest version; readers of older versions never
+ * look at them.</p>
+ */
+final class PersistentTaskTree {
+    /**
+     * A node holding one task. None of its fields change after it is constructed.
+     */
+    static final class Node {
+        private final Task task;
+        private final Slot slot;
+        private final int priority;
+        private final int size;
+        private final Node left;
+        private final Node right;
+
+        private Node(Task task, Slot slot, int priority, Node left, Node right) {
+            this.task = task;
+            this.slot = slot;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            this.size = 1 + size(left) + size(right);
+        }
+    }
+
+    /**
+     * The place of one task across versions: its latest state and its order key.
+     * Only the writer reads or changes a slot.
+     */
+    static final class Slot implements TaskSequence.Entry {
+        private Task task;
+        private long key;
+
+        /**
+         * Constructs a slot for a task.
+         *
+         * @param task The task
+         * @param key The order key, above the keys of the slots before it in the list
+         */
+        Slot(Task task, long key) {
+            this.task = task;
+            this.key = key;
+        }
+
+        /**
+         * Returns the task as it is in the latest version.
+         *
+         * @return The task
+         */
+        @Override
+        public Task getTask() {
+            return task;
+        }
+
+        /**
+         * Replaces the task after the writer has put a changed copy of it in a new version.
+         *
+         * @param task The task as it is in the new version
+         */
+        void setTask(Task task) {
+            this.task = task;
+        }
+
+        /**
+         * Returns the order key of the slot.
+         *
+         * @return The key
+         */
+        long getKey() {
+            return key;
+        }
+    }
+
+    private PersistentTaskTree() {
+    }
+
+    /**
+     * Returns the number of tasks in a tree.
+     *
+     * @param root The root of the tree
+     * @return The size
+     */
+    static int size(Node root) {
+        return root == null ? 0 : root.size;
+    }
+
+    /**
+     * Builds a balanced tree holding the tasks of the given slots in order, in linear time.
+     * Nodes nearer the root get higher priorities, so the result is a valid treap
+     * whose later insertions sink below the nodes built here.
+     *
+     * @param slots The slots, in order of ascending keys
+     * @return The root of the tree
+     */
+    static Node build(List<Slot> slots) {
+        return build(slots, 0, slots.size(), Integer.MAX_VALUE);
+    }
+
+    private static Node build(List<Slot> slots, int from, int to, int priority) {
+        if (from >= to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        Node left = build(slots, from, middle, priority - 1);
+        Node right = build(slots, middle + 1, to, priority - 1);
+        Slot slot = slots.get(middle);
+        return new Node(slot.task, slot, priority, left, right);
+    }
+
+    /**
+     * Returns the task at a position in O(log n) expected time.
+     *
+     * @param root The root of the tree
+     * @param index The 0-based position
+     * @return The task
+     */
+    static Task get(Node root, int index) {
+        return nodeAt(root, index).task;
+    }
+
+    /**
+     * Returns the slot of the task at a position in O(log n) expected time.
+     *
+     * @param root The root of the tree
+     * @param index The 0-based position
+     * @return The slot
+     */
+    static Slot slotAt(Node root, int index) {
+        return nodeAt(root, index).slot;
+    }
+
+    /**
+     * Returns the position of a slot in O(log n) expected time, by its order key.
+     *
+     * @param root The root of the tree
+     * @param slot The slot to locate
+     * @return The 0-based position, or -1 if the slot is not in the tree
+     */
+    static int indexOf(Node root, Slot slot) {
+        Node node = root;
+        int index = 0;
+        while (node != null) {
+            if (slot.key < node.slot.key) {
+                node = node.left;
+            } else if (slot.key > node.slot.key) {
+                index += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return node.slot == slot ? index + size(node.left) : -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gives the slots of a tree fresh order keys, spaced the given gap apart, in linear time.
+     * The tree itself is unchanged, as nodes read the keys from the shared slots.
+     *
+     * @param root The root of the tree
+     * @param gap The difference between consecutive keys, starting from the gap itself
+     */
+    static void relabel(Node root, long gap) {
+        long key = 0;
+        Deque<Node> stack = new ArrayDeque<>();
+        Node node = root;
+        while (node != null || !stack.isEmpty()) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+            node = stack.pop();
+            key += gap;
+            node.slot.key = key;
+            node = node.right;
+        }
+    }
+
+    private static Node nodeAt(Node root, int index) {
+        assert index >= 0 && index < size(root) : "Index out of bounds for get";
+        Node node = root;
+        int remaining = index;
+        while (true) {
+            int leftSize = size(node.left);
+            if (remaining < leftSize) {
+                node = node.left;
+            } else if (remaining == leftSize) {
+                return node;
+            } else {
+                remaining -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Returns a tree with the task of a slot inserted at a position, shifting later tasks back by one.
+     *
+     * @param root The root of the tree, which is left unchanged
+     * @param index The 0-based position the task will have
+     * @param slot The slot of the task, whose key lies between the keys of its new neighbours
+     * @param priority The random priority of the new node
+     * @return The root of the new tree
+     */
+    static Node insert(Node root, int index, Slot slot, int priority) {
+        assert index >= 0 && index <= size(root) : "Index out of bounds for insert";
+        if (root == null) {
+            return new Node(slot.task, slot, priority, null, null);
+        }
+        if (priority > root.priority) {
+            Node[] halves = split(root, index);
+            return new Node(slot.task, slot, priority, halves[0], halves[1]);
+        }
+        int leftSize = size(root.left);
+        if (index <= leftSize) {
+            return copy(root, insert(root.left, index, slot, priority), root.right);
+        }
+        return copy(root, root.left, insert(root.right, index - leftSize - 1, slot, priority));
+    }
+
+    /**
+     * Returns a tree without the task at a position, shifting later tasks forward by one.
+     *
+     * @param root The root of the tree, which is left unchanged
+     * @param index The 0-based position of the task to remove
+     * @return The root of the new tree
+     */
+    static Node remove(Node root, int index) {
+        assert index >= 0 && index < size(root) : "Index out of bounds for remove";
+        int leftSize = size(root.left);
+        if (index == leftSize) {
+            return merge(root.left, root.right);
+        }
+        if (index < leftSize) {
+            return copy(root, remove(root.left, index), root.right);
+        }
+        return copy(root, root.left, remove(root.right, index - leftSize - 1));
+    }
+
+    /**
+     * Returns a tree with the task at a position replaced, keeping its slot.
+     *
+     * @param root The root of the tree, which is left unchanged
+     * @param index The 0-based position of the task to replace
+     * @param task The new task
+     * @return The root of the new tree
+     */
+    static Node set(Node root, int index, Task task) {
+        assert index >= 0 && index < size(root) : "Index out of bounds for set";
+        int leftSize = size(root.left);
+        if (index == leftSize) {
+            return new Node(task, root.slot, root.priority, root.left, root.right);
+        }
+        if (index < leftSize) {
+            return copy(root, set(root.left, index, task), root.right);
+        }
+        return copy(root, root.left, set(root.right, index - leftSize - 1, task));
+    }
+
+    /**
+     * Returns an iterator over the tasks of a tree in order, taking constant amortised time per task.
+     *
+     * @param root The root of the tree
+     * @return The iterator
+     */
+    static Iterator<Task> iterator(Node root) {
+        return new Iterator<>() {
+            private final Deque<Node> stack = new ArrayDeque<>();
+
+            {
+                pushLeftSpine(root);
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !stack.isEmpty();
+            }
+
+            @Override
+            public Task next() {
+                if (stack.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node node = stack.pop();
+                pushLeftSpine(node.right);
+                return node.task;
+            }
+
+            private void pushLeftSpine(Node node) {
+                for (Node current = node; current != null; current = current.left) {
+                    stack.push(current);
+                }
+            }
+        };
+    }
+
+    /**
+     * Splits a tree into copies holding its first count tasks and the rest.
+     */
+    private static Node[] split(Node node, int count) {
+        if (node == null) {
+            return new Node[2];
+        }
+        int leftSize = size(node.left);
+        if (count <= leftSize) {
+            Node[] halves = split(node.left, count);
+            halves[1] = copy(node, halves[1], node.right);
+            return halves;
+        }
+        Node[] halves = split(node.right, count - leftSize - 1);
+        halves[0] = copy(node, node.left, halves[0]);
+        return halves;
+    }
+
+    /**
+     * Concatenates two trees, copying the nodes along the seam.
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority >= right.priority) {
+            return copy(left, left.left, merge(left.right, right));
+        }
+        return copy(right, merge(left, right.left), right.right);
+    }
+
+    /**
+     * Returns a copy of a node with new children.
+     */
+    private static Node copy(Node node, Node left, Node right) {
+        return new Node(node.task, node.slot, node.priority, left, right);
+    }
+}
@@ -1,9 +1,14 @@
 package jimmy.task;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
 /**
  * Represents a task in the Jimmy task management system.
  * This is the base class for all types of tasks (Todo, Deadline, Event).
  * Each task has a description and can be marked as done or not done.
+ * A task also carries a stable id, assigned when it first joins a {@link TaskList},
+ * that does not change when other tasks are added or removed.
  */
 public class Task {
     /** Indicates whether the task has been completed */
@@ -12,6 +17,12 @@ public class Task {
     /** The description or title of the task */
     protected String description;
 
+    /** The stable id of the task, or 0 if none has been assigned yet */
+    protected long id;
+
+    /** The task this one was copied from, or null if it is not a copy */
+    private Task original;
+
     /**
      * Constructs a new Task with the given description.
      * The task is initially marked as not done.
@@ -32,6 +43,94 @@ public class Task {
         return description;
     }
 
+    /**
+     * Returns the stable id of the task.
+     *
+     * @return The id, or 0 if none has been assigned yet
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Sets the stable id of the task, for example when it is loaded from storage.
+     *
+     * @param id The id, which must be positive
+     */
+    public void setId(long id) {
+        assert id > 0 : "Task id must be positive";
+        this.id = id;
+    }
+
+    /**
+     * Returns a copy of the task with the same description, dates, id and status.
+     * Changing the status of either afterwards does not affect the other.
+     *
+     * @return The copy
+     */
+    public Task copy() {
+        return copyStateTo(new Task(description));
+    }
+
+    /**
+     * Returns whether this task is the given task or a copy of it, so both stand for
+     * the same record even if their status has since diverged.
+     *
+     * @param task The task to compare with
+     * @return true if this task is the given task or was copied from it
+     */
+    public boolean isCopyOf(Task task) {
+        return this == task || (original != null && original == task);
+    }
+
+    /**
+     * Returns whether this task and the given task stand for the same record: they are
+     * the same task, or both descend from one task through copies, in either direction.
+     *
+     * @param task The task to compare with
+     * @return true if both tasks go back to the same original task
+     */
+    public boolean isSameRecordAs(Task task) {
+        return originalOf(this) == originalOf(task);
+    }
+
+    private static Task originalOf(Task task) {
+        return task.original != null ? task.original : task;
+    }
+
+    /**
+     * Copies the id and status of this task to a freshly constructed copy of it.
+     *
+     * @param copy The copy, holding the same description and dates
+     * @return The copy
+     */
+    protected Task copyStateTo(Task copy) {
+        copy.id = id;
+        copy.isDone = isDone;
+        copy.original = original != null ? original : this;
+        return copy;
+    }
+
+    /**
+     * Converts a date and time to the epoch seconds that dated tasks store.
+     *
+     * @param dateTime The date and time, read as UTC
+     * @return The seconds since 1970-01-01T00:00, dropping any fraction of a second
+     */
+    protected static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Converts epoch seconds stored by a dated task back to a date and time.
+     *
+     * @param epochSecond The seconds since 1970-01-01T00:00
+     * @return The date and time
+     */
+    protected static LocalDateTime fromEpochSecond(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
     /**
      * Returns a string representation of the task's completion status.
      * Returns "X" if the task is done, " " (space) if not done.
@@ -42,6 +141,15 @@ public class Task {
         return (isDone ? "X" : " ");
     }
 
+    /**
+     * Returns whether the task has been completed.
+     *
+     * @return true if the task is done, false otherwise
+     */
+    public boolean isDone() {
+        return isDone;
+    }
+
     /**
      * Marks the task as completed.
      */
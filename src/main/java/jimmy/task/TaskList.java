@@ -1,23 +1,87 @@
 package jimmy.task;
 
+import jimmy.exception.JimmyException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.AbstractList;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 /**
  * Manages a collection of tasks in the Jimmy task management system.
  * Provides methods to add, remove, mark, and retrieve tasks from the list.
  * The TaskList maintains the order of tasks and provides size information.
+ * Tasks are kept in an order-statistic tree, so reading, inserting and removing
+ * a task at any position take O(log n) time even for very large lists.
+ * It also tracks which tasks changed since the last save, so storage can
+ * persist only the changed records, and indexes tasks by their stable id.
+ * Deadlines and events are also indexed by date, so date queries only visit
+ * the tasks that match, and events are kept in an interval tree to find clashes.
+ * The tasks can be read in order through {@link #iterator()} or the live view from
+ * {@link #asList()}, neither of which copies the list.
  */
-public class TaskList {
-    /** The list of tasks */
-    private List<Task> tasks;
+public class TaskList implements Iterable<Task> {
+    /** Search date formats, told apart by the separators of the input */
+    private static final DateTimeFormatter SLASH_DATE_FORMAT = DateTimeFormatter.ofPattern("d/M/yyyy");
+    private static final DateTimeFormatter ISO_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter DASH_DATE_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+    private static final String ERR_DATE_FORMAT = "Invalid date format. Use dd/MM/yyyy, yyyy-MM-dd, or dd-MM-yyyy";
+
+    /** Removing more than this fraction of the list at once rebuilds the tree instead */
+    private static final int REBUILD_DIVISOR = 8;
+
+    /** The tasks in list order */
+    private final TaskSequence tasks;
+
+    /** Incremented on every change to the list or to the status of a task in it */
+    private long version;
+
+    /** Incremented whenever tasks are added or removed, so iterators can detect it */
+    private int structureVersion;
+
+    /** Read-only view of the tasks, created once */
+    private final List<Task> view = new View();
+
+    /** Number of leading tasks that were in the list when it was last marked clean */
+    private int cleanSize;
+
+    /** Indices below cleanSize whose status changed since the list was last marked clean */
+    private final BitSet dirtyIndices = new BitSet();
+
+    /** Whether tasks were removed since the list was last marked clean, shifting later indices */
+    private boolean isStructurallyChanged;
+
+    /** The sequence entries of the tasks, keyed by the tasks' stable ids */
+    private final LongHashMap<TaskSequence.Entry> nodesById = new LongHashMap<>();
+
+    /** The id given to the next task added without one */
+    private long nextId = 1;
+
+    /** Trigram index over the searchable text of every task, for keyword search */
+    private TrigramIndex keywordIndex = new TrigramIndex(nodesById::containsKey);
+
+    /** Sorted index over the dates of deadlines and events */
+    private final DateIndex dateIndex = new DateIndex();
+
+    /** Interval tree over the time spans of events */
+    private final EventIntervalTree eventIndex = new EventIntervalTree();
 
     /**
      * Constructs an empty TaskList.
      */
     public TaskList() {
-        this.tasks = new ArrayList<>();
+        this(new ArrayList<>());
     }
 
     /**
@@ -26,7 +90,101 @@ public class TaskList {
      * @param tasks The initial list of tasks
      */
     public TaskList(List<Task> tasks) {
-        this.tasks = new ArrayList<>(tasks);
+        this(tasks, 0);
+    }
+
+    /**
+     * Constructs a TaskList with the given list of tasks, never giving out an id below
+     * the given one. Storage passes the id high-water mark it keeps, so the ids of
+     * tasks deleted in an earlier session are not reused.
+     *
+     * @param tasks The initial list of tasks
+     * @param nextId The smallest id no stored task has ever had, or 0 if unknown
+     */
+    public TaskList(List<Task> tasks, long nextId) {
+        this(tasks, nextId, new IndexedTaskTree());
+    }
+
+    /**
+     * Constructs a TaskList with the given list of tasks, kept in the given empty sequence.
+     *
+     * @param tasks The initial list of tasks
+     * @param nextId The smallest id no stored task has ever had, or 0 if unknown
+     * @param sequence The empty sequence to keep the tasks in
+     */
+    TaskList(List<Task> tasks, long nextId, TaskSequence sequence) {
+        assert sequence.size() == 0 : "Sequence must start empty";
+        List<Task> initial = new ArrayList<>(tasks);
+        assignMissingIds(initial, nextId);
+        this.nextId = Math.max(this.nextId, nextId);
+        this.tasks = sequence;
+        this.cleanSize = initial.size();
+        for (TaskSequence.Entry node : sequence.rebuild(initial)) {
+            long id = node.getTask().getId();
+            nodesById.put(id, node);
+            keywordIndex.add(id, searchText(node.getTask()));
+            dateIndex.add(node.getTask());
+            if (node.getTask() instanceof Event) {
+                eventIndex.add((Event) node.getTask());
+            }
+            this.nextId = Math.max(this.nextId, id + 1);
+        }
+    }
+
+    /**
+     * Gives every task without an id, or with an id already used earlier in the list,
+     * a fresh id above the largest id in the list.
+     * The ids chosen depend only on the list, so storage can call this on loaded
+     * tasks and get the same ids the task list would assign.
+     *
+     * @param tasks The tasks to check, in list order
+     */
+    public static void assignMissingIds(List<Task> tasks) {
+        assignMissingIds(tasks, 0);
+    }
+
+    /**
+     * Gives every task without an id, or with an id already used earlier in the list,
+     * a fresh id above the largest id in the list and no smaller than the given one.
+     *
+     * @param tasks The tasks to check, in list order
+     * @param nextId The smallest id a fresh id may have, or 0 for no limit
+     */
+    public static void assignMissingIds(List<Task> tasks, long nextId) {
+        long maxId = Math.max(0, nextId - 1);
+        for (Task task : tasks) {
+            maxId = Math.max(maxId, task.getId());
+        }
+        LongHashMap<Task> seen = new LongHashMap<>();
+        for (Task task : tasks) {
+            if (task.getId() == 0 || seen.containsKey(task.getId())) {
+                task.setId(++maxId);
+            }
+            seen.put(task.getId(), task);
+        }
+    }
+
+    /**
+     * Returns the id the next task added without one will get. It is above the id of
+     * every task the list has held, including tasks that have since been removed.
+     *
+     * @return The next id
+     */
+    public long getNextId() {
+        return nextId;
+    }
+
+    /**
+     * Runs a sequence of calls on the list that must not be interleaved with changes made
+     * by other sessions. A plain task list is not shared between threads, so this simply
+     * runs the action; {@link ConcurrentTaskList} holds its write lock while it runs.
+     *
+     * @param action The action to run
+     * @param <T> The type of the result
+     * @return The result of the action
+     */
+    public <T> T callExclusively(Supplier<T> action) {
+        return action.get();
     }
 
     /**
@@ -36,7 +194,9 @@ public class TaskList {
      */
     public void addTask(Task task) {
         assert task != null : "Task to add must not be null";
-        tasks.add(task);
+        index(task, tasks.insert(tasks.size(), task));
+        structureVersion++;
+        version++;
         assert tasks.size() > 0 : "Task list size should be positive after add";
     }
 
@@ -48,8 +208,30 @@ public class TaskList {
     public void addTasks(Task... tasks) {
         for (Task task : tasks) {
             assert task != null : "Vararg task must not be null";
-            this.tasks.add(task);
+            index(task, this.tasks.insert(this.tasks.size(), task));
         }
+        structureVersion++;
+        version++;
+    }
+
+    /**
+     * Inserts a task at the specified index, shifting later tasks back by one.
+     * The index is 0-based for internal use; inserting at the size appends.
+     *
+     * @param index The 0-based index the task will have
+     * @param task The task to insert
+     */
+    public void insertTask(int index, Task task) {
+        assert index >= 0 && index <= tasks.size() : "Index out of bounds for insert";
+        if (index == tasks.size()) {
+            addTask(task);
+            return;
+        }
+        assert task != null : "Task to insert must not be null";
+        index(task, tasks.insert(index, task));
+        isStructurallyChanged = true;
+        structureVersion++;
+        version++;
     }
 
     /**
@@ -61,7 +243,56 @@ public class TaskList {
      */
     public void removeTask(int index) {
         assert index >= 0 && index < tasks.size() : "Index out of bounds for remove";
-        tasks.remove(index);
+        unindex(tasks.remove(index).getTask());
+        isStructurallyChanged = true;
+        structureVersion++;
+        version++;
+    }
+
+    /**
+     * Removes the tasks at the given indices as one change.
+     * Removing more than an eighth of the list rebuilds the tree from the remaining tasks
+     * in a single linear pass; fewer tasks are removed one by one from the back, in
+     * O(k log n) time.
+     *
+     * @param indices The distinct 0-based indices of the tasks to remove, in ascending order
+     * @return The removed tasks, in list order
+     */
+    public List<Task> removeTasks(int[] indices) {
+        assert isAscending(indices) : "Indices to remove must be ascending and in range";
+        List<Task> removed = new ArrayList<>(indices.length);
+        if (indices.length == 0) {
+            return removed;
+        }
+        if (indices.length > tasks.size() / REBUILD_DIVISOR) {
+            List<Task> kept = new ArrayList<>(tasks.size() - indices.length);
+            int next = 0;
+            int position = 0;
+            for (Task task : tasks) {
+                if (next < indices.length && indices[next] == position) {
+                    removed.add(task);
+                    next++;
+                } else {
+                    kept.add(task);
+                }
+                position++;
+            }
+            for (TaskSequence.Entry node : tasks.rebuild(kept)) {
+                nodesById.put(node.getTask().getId(), node);
+            }
+        } else {
+            for (int i = indices.length - 1; i >= 0; i--) {
+                removed.add(tasks.remove(indices[i]).getTask());
+            }
+            Collections.reverse(removed);
+        }
+        for (Task task : removed) {
+            unindex(task);
+        }
+        isStructurallyChanged = true;
+        structureVersion++;
+        version++;
+        return removed;
     }
 
     /**
@@ -73,8 +304,19 @@ public class TaskList {
      */
     public void markTaskAsDone(int index) {
         assert index >= 0 && index < tasks.size() : "Index out of bounds for mark";
-        Task task = tasks.get(index);
-        task.markAsDone();
+        setDone(index, true);
+    }
+
+    /**
+     * Marks the tasks at the given indices as done as one change.
+     *
+     * @param indices The distinct 0-based indices of the tasks, in ascending order
+     */
+    public void markTasksAsDone(int[] indices) {
+        assert isAscending(indices) : "Indices to mark must be ascending and in range";
+        for (int index : indices) {
+            setDone(index, true);
+        }
     }
 
     /**
@@ -86,8 +328,19 @@ public class TaskList {
      */
     public void markTaskAsNotDone(int index) {
         assert index >= 0 && index < tasks.size() : "Index out of bounds for unmark";
-        Task task = tasks.get(index);
-        task.markAsNotDone();
+        setDone(index, false);
+    }
+
+    /**
+     * Marks the tasks at the given indices as not done as one change.
+     *
+     * @param indices The distinct 0-based indices of the tasks, in ascending order
+     */
+    public void markTasksAsNotDone(int[] indices) {
+        assert isAscending(indices) : "Indices to unmark must be ascending and in range";
+        for (int index : indices) {
+            setDone(index, false);
+        }
     }
 
     /**
@@ -103,6 +356,28 @@ public class TaskList {
         return tasks.get(index);
     }
 
+    /**
+     * Returns the task with the given stable id in constant time.
+     *
+     * @param id The id of the task
+     * @return The task, or null if no task in the list has the id
+     */
+    public Task getTaskById(long id) {
+        TaskSequence.Entry node = nodesById.get(id);
+        return node == null ? null : node.getTask();
+    }
+
+    /**
+     * Returns the 0-based index of the task with the given stable id in O(log n) time.
+     *
+     * @param id The id of the task
+     * @return The index, or -1 if no task in the list has the id
+     */
+    public int indexOfId(long id) {
+        TaskSequence.Entry node = nodesById.get(id);
+        return node == null ? -1 : tasks.indexOf(node);
+    }
+
     /**
      * Returns the current number of tasks in the list.
      *
@@ -114,11 +389,56 @@ public class TaskList {
 
     /**
      * Returns all tasks in the list.
+     * The returned list is a copy that later changes to the task list do not affect;
+     * use {@link #asList()} or iterate over the task list to read it without copying.
      *
      * @return A list containing all tasks
      */
     public List<Task> getAllTasks() {
-        return new ArrayList<>(tasks);
+        return tasks.toList();
+    }
+
+    /**
+     * Returns a read-only view of the tasks in order, without copying them.
+     * The view reflects later changes to the task list. Iterating over it takes constant
+     * time per task, while {@code get} takes O(log n).
+     *
+     * @return The view, the same object on every call
+     */
+    public List<Task> asList() {
+        return view;
+    }
+
+    /**
+     * Returns an iterator over the tasks in order, taking amortised constant time per task.
+     * The iterator throws {@link ConcurrentModificationException} if tasks are added or
+     * removed while it is in use; marking tasks as done or not done is allowed.
+     *
+     * @return The iterator
+     */
+    @Override
+    public Iterator<Task> iterator() {
+        Iterator<Task> treeIterator = tasks.iterator();
+        int expectedVersion = structureVersion;
+        return new Iterator<Task>() {
+            @Override
+            public boolean hasNext() {
+                checkVersion();
+                return treeIterator.hasNext();
+            }
+
+            @Override
+            public Task next() {
+                checkVersion();
+                return treeIterator.next();
+            }
+
+            private void checkVersion() {
+                if (structureVersion != expectedVersion) {
+                    throw new ConcurrentModificationException("Task list changed during iteration");
+                }
+            }
+        };
     }
 
     /**
@@ -127,7 +447,7 @@ public class TaskList {
      * @return true if the list contains no tasks, false otherwise
      */
     public boolean isEmpty() {
-        return tasks.isEmpty();
+        return tasks.size() == 0;
     }
 
     /**
@@ -136,71 +456,328 @@ public class TaskList {
      */
     public void clear() {
         tasks.clear();
+        nodesById.clear();
+        keywordIndex = new TrigramIndex(nodesById::containsKey);
+        dateIndex.clear();
+        eventIndex.clear();
+        isStructurallyChanged = true;
+        structureVersion++;
+        version++;
+    }
+
+    /**
+     * Returns the version of the list, which changes whenever a task is added,
+     * removed, or marked as done or not done.
+     *
+     * @return The current version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the number of leading tasks that were in the list when it was last marked clean.
+     * Unless {@link #hasStructuralChanges()} is true, these tasks are still at the same indices.
+     *
+     * @return The number of tasks present at the last clean point
+     */
+    public int getCleanSize() {
+        return cleanSize;
+    }
+
+    /**
+     * Returns whether tasks were removed since the list was last marked clean.
+     * Removal shifts the indices of later tasks, so the dirty indices no longer apply.
+     *
+     * @return true if the list changed structurally
+     */
+    public boolean hasStructuralChanges() {
+        return isStructurallyChanged;
+    }
+
+    /**
+     * Returns the 0-based indices of tasks present at the last clean point
+     * whose status changed since then, in ascending order.
+     *
+     * @return The dirty indices
+     */
+    public List<Integer> getDirtyIndices() {
+        List<Integer> indices = new ArrayList<>();
+        for (int i = dirtyIndices.nextSetBit(0); i >= 0; i = dirtyIndices.nextSetBit(i + 1)) {
+            indices.add(i);
+        }
+        return indices;
+    }
+
+    /**
+     * Returns the tasks added after the last clean point, in order.
+     *
+     * @return The added tasks
+     */
+    public List<Task> getAddedTasks() {
+        if (isStructurallyChanged || cleanSize >= tasks.size()) {
+            return new ArrayList<>();
+        }
+        List<Task> added = new ArrayList<>();
+        for (int i = cleanSize; i < tasks.size(); i++) {
+            added.add(tasks.get(i));
+        }
+        return added;
+    }
+
+    /**
+     * Marks the current contents as persisted and forgets all tracked changes.
+     */
+    public void markClean() {
+        cleanSize = tasks.size();
+        dirtyIndices.clear();
+        isStructurallyChanged = false;
+    }
+
+    /**
+     * Gives a newly inserted task a fresh id if it has none or its id is taken,
+     * and adds it to the id, keyword, date and event indexes.
+     */
+    private void index(Task task, TaskSequence.Entry node) {
+        if (task.getId() == 0 || nodesById.containsKey(task.getId())) {
+            task.setId(nextId);
+        }
+        nextId = Math.max(nextId, task.getId() + 1);
+        nodesById.put(task.getId(), node);
+        keywordIndex.add(task.getId(), searchText(task));
+        dateIndex.add(task);
+        if (task instanceof Event) {
+            eventIndex.add((Event) task);
+        }
+    }
+
+    /**
+     * Returns the text keyword search matches against: the lowercased description,
+     * followed by the dates of a deadline or event in ISO-8601 form.
+     */
+    private static String searchText(Task task) {
+        StringBuilder sb = new StringBuilder(task.getDescription().toLowerCase());
+        if (task instanceof Deadline) {
+            Deadline d = (Deadline) task;
+            sb.append(' ').append(String.valueOf(d.getBy()));
+        } else if (task instanceof Event) {
+            Event e = (Event) task;
+            sb.append(' ').append(String.valueOf(e.getFrom()))
+              .append(' ').append(String.valueOf(e.getTo()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Drops a task that has left the tree from the id, keyword, date and event indexes.
+     */
+    private void unindex(Task removed) {
+        nodesById.remove(removed.getId());
+        keywordIndex.remove(searchText(removed));
+        dateIndex.remove(removed);
+        if (removed instanceof Event) {
+            eventIndex.remove((Event) removed);
+        }
+    }
+
+    /**
+     * Returns whether the indices are strictly ascending and all within the list.
+     */
+    private boolean isAscending(int[] indices) {
+        for (int i = 0; i < indices.length; i++) {
+            if (indices[i] < 0 || indices[i] >= tasks.size() || (i > 0 && indices[i] <= indices[i - 1])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Marks the task at the given index as done or not done and records the change.
+     * If the sequence replaced an event with a changed copy, the event index is given the copy.
+     */
+    private void setDone(int index, boolean isDone) {
+        Task previous = tasks.setDone(index, isDone);
+        if (previous instanceof Event) {
+            Task current = tasks.get(index);
+            if (current != previous) {
+                eventIndex.remove((Event) previous);
+                eventIndex.add((Event) current);
+            }
+        }
+        markDirty(index);
+    }
+
+    /**
+     * Records that the status of the task at the given index changed.
+     * Tasks added since the last clean point are persisted whole, so they need no tracking.
+     */
+    private void markDirty(int index) {
+        if (index < cleanSize) {
+            dirtyIndices.set(index);
+        }
+        version++;
     }
 
     /**
      * Finds tasks that match the given date string.
      * Searches through Deadline and Event tasks for date matches.
      * Supports multiple date formats: dd/MM/yyyy, yyyy-MM-dd, dd-MM-yyyy.
-     * 
-     * This method uses a robust date parsing approach
-     * with multiple fallback formats to handle various user input patterns.
-     * The implementation gracefully handles parsing errors and provides clear
-     * error messages for invalid date formats.
      *
      * @param dateStr The date string to search for (supports multiple formats)
      * @return A list of tasks that match the given date, empty list if no matches or invalid date
-     * @throws IllegalArgumentException if the date format is not recognized
      */
     public List<Task> findTasksByDate(String dateStr) {
-        List<Task> matchingTasks = new ArrayList<>();
-        
         try {
-            // Try to parse the date in various formats
-            java.time.LocalDate searchDate = null;
-            
-            // Try "dd/MM/yyyy" format first (e.g., "2/12/2019")
-            try {
-                searchDate = java.time.LocalDate.parse(dateStr, 
-                    java.time.format.DateTimeFormatter.ofPattern("d/M/yyyy"));
-            } catch (Exception e1) {
-                // Try "yyyy-MM-dd" format
-                try {
-                    searchDate = java.time.LocalDate.parse(dateStr, 
-                        java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-                } catch (Exception e2) {
-                    // Try "dd-MM-yyyy" format
-                    try {
-                        searchDate = java.time.LocalDate.parse(dateStr, 
-                            java.time.format.DateTimeFormatter.ofPattern("dd-MM-yyyy"));
-                    } catch (Exception e3) {
-                        throw new IllegalArgumentException("Invalid date format. Use dd/MM/yyyy, yyyy-MM-dd, or dd-MM-yyyy");
-                    }
-                }
+            return findTasksOn(parseSearchDate(dateStr));
+        } catch (JimmyException e) {
+            System.out.println("Error parsing date: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Parses a date typed by the user in one of the formats d/M/yyyy, yyyy-MM-dd or dd-MM-yyyy.
+     * The format is chosen from the position of the separators, so only one parse is attempted.
+     *
+     * @param dateStr The date string
+     * @return The parsed date
+     * @throws JimmyException if the string is not a valid date in a supported format
+     */
+    public static LocalDate parseSearchDate(String dateStr) throws JimmyException {
+        String trimmed = dateStr == null ? "" : dateStr.trim();
+        DateTimeFormatter format;
+        if (trimmed.indexOf('/') >= 0) {
+            format = SLASH_DATE_FORMAT;
+        } else if (trimmed.indexOf('-') == 4) {
+            format = ISO_DATE_FORMAT;
+        } else {
+            format = DASH_DATE_FORMAT;
+        }
+        try {
+            return LocalDate.parse(trimmed, format);
+        } catch (DateTimeParseException e) {
+            throw new JimmyException(ERR_DATE_FORMAT);
+        }
+    }
+
+    /**
+     * Returns the deadlines due on the given date and the events starting or ending on it,
+     * in list order. Takes O(log n + k log k) time for k matches.
+     *
+     * @param date The date to search for
+     * @return The matching tasks
+     */
+    public List<Task> findTasksOn(LocalDate date) {
+        return findTasksBetween(date, date);
+    }
+
+    /**
+     * Returns the deadlines due and the events starting or ending within the given dates,
+     * both inclusive, in list order. Takes O(log n + k log k) time for k matches.
+     *
+     * @param start The first date of the range
+     * @param end The last date of the range
+     * @return The matching tasks, or an empty list if end is before start
+     */
+    public List<Task> findTasksBetween(LocalDate start, LocalDate end) {
+        List<TaskSequence.Entry> matchedNodes = new ArrayList<>();
+        LongHashMap<TaskSequence.Entry> matches = new LongHashMap<>();
+        dateIndex.forEachInRange(start.atStartOfDay(), end.plusDays(1).atStartOfDay(), id -> {
+            TaskSequence.Entry node = nodesById.get(id);
+            if (matches.put(id, node) == null) {
+                matchedNodes.add(node);
             }
-            
-            final java.time.LocalDate finalSearchDate = searchDate;
-            
-            for (Task task : tasks) {
-                if (task instanceof Deadline) {
-                    Deadline deadline = (Deadline) task;
-                    if (deadline.getBy().toLocalDate().equals(finalSearchDate)) {
-                        matchingTasks.add(task);
-                    }
-                } else if (task instanceof Event) {
-                    Event event = (Event) task;
-                    if (event.getFrom().toLocalDate().equals(finalSearchDate) || 
-                        event.getTo().toLocalDate().equals(finalSearchDate)) {
-                        matchingTasks.add(task);
-                    }
-                }
+        });
+        return inListOrder(matchedNodes);
+    }
+
+    /**
+     * Returns the deadlines not yet done that were due before the given time, in list order.
+     * Only deadlines are visited, taking O(log n + k log k) time for k deadlines due before the time.
+     *
+     * @param now The current time
+     * @return The overdue deadlines
+     */
+    public List<Task> findOverdueTasks(LocalDateTime now) {
+        List<TaskSequence.Entry> matchedNodes = new ArrayList<>();
+        dateIndex.forEachDueBefore(now, id -> {
+            TaskSequence.Entry node = nodesById.get(id);
+            if (!node.getTask().isDone()) {
+                matchedNodes.add(node);
             }
-            
-        } catch (IllegalArgumentException e) {
-            System.out.println("Error parsing date: " + e.getMessage());
+        });
+        return inListOrder(matchedNodes);
+    }
+
+    /**
+     * Returns the events whose time spans overlap the given span, in list order.
+     * Spans are half-open, so an event ending when another starts does not overlap it.
+     * Takes O(log n + k log k) time for k overlapping events.
+     *
+     * @param from The start of the span
+     * @param to The end of the span
+     * @return The overlapping events
+     */
+    public List<Task> findOverlappingEvents(LocalDateTime from, LocalDateTime to) {
+        return findOverlappingEvents(from, to, 0);
+    }
+
+    /**
+     * Returns the other events in the list that overlap the given event, in list order.
+     *
+     * @param event The event to check
+     * @return The overlapping events, excluding the event itself
+     */
+    public List<Task> findOverlappingEvents(Event event) {
+        return findOverlappingEvents(event.getFrom(), event.getTo(), event.getId());
+    }
+
+    private List<Task> findOverlappingEvents(LocalDateTime from, LocalDateTime to, long excludedId) {
+        List<TaskSequence.Entry> matchedNodes = new ArrayList<>();
+        eventIndex.forEachOverlapping(from, to, event -> {
+            if (event.getId() != excludedId) {
+                matchedNodes.add(nodesById.get(event.getId()));
+            }
+        });
+        return inListOrder(matchedNodes);
+    }
+
+    /**
+     * Returns every pair of events in the list whose time spans overlap, ordered by the
+     * start of the later event. Uses a sweep over the events in start order, taking
+     * O(n log n + k) time for k pairs instead of comparing every pair of events.
+     *
+     * @return The overlapping pairs
+     */
+    public List<EventConflict> findConflicts() {
+        List<EventConflict> conflicts = new ArrayList<>();
+        eventIndex.forEachOverlappingPair((first, second) -> conflicts.add(new EventConflict(first, second)));
+        return conflicts;
+    }
+
+    /**
+     * Returns the first gaps between events within a span that are at least the given length,
+     * in chronological order. The search walks the event index from the start of the span
+     * and stops as soon as enough slots are found, so it never sorts or visits the whole list.
+     *
+     * @param from The start of the span
+     * @param to The end of the span
+     * @param length The shortest slot to return, which must be positive
+     * @param limit The largest number of slots to return
+     * @return The free slots
+     */
+    public List<TimeSlot> findFreeSlots(LocalDateTime from, LocalDateTime to, Duration length, int limit) {
+        assert !length.isNegative() && !length.isZero() : "Slot length must be positive";
+        List<TimeSlot> slots = new ArrayList<>();
+        if (limit <= 0) {
+            return slots;
         }
-        
-        return matchingTasks;
+        eventIndex.forEachGap(from, to, length.getSeconds(), (start, end) -> {
+            slots.add(new TimeSlot(start, end));
+            return slots.size() < limit;
+        });
+        return slots;
     }
 
     /**
@@ -210,36 +787,112 @@ public class TaskList {
      * This method implements a sophisticated search algorithm
      * that tokenizes the search query and performs partial matching across multiple
      * task fields. The search is order-insensitive and supports partial keyword matches.
+     * Keywords of three or more characters are looked up in a trigram index, so only
+     * tasks sharing the keyword's rarest trigram are checked; shorter queries scan the list.
      * 
      * @param keyword The search keyword(s) - can be multiple words separated by spaces
      * @return A list of tasks containing all the specified keywords
      */
     public List<Task> findByKeyword(String keyword) {
-        // Early return for null/empty input to prevent unnecessary processing
-        if (keyword == null || keyword.isBlank()) {
+        String[] tokens = keywordTokens(keyword);
+        if (tokens == null) {
             return new ArrayList<>();
         }
-        
-        // Tokenize search query for flexible multi-word matching
-        String[] tokens = keyword.toLowerCase().trim().split("\\s+");
-
-        return tasks.stream()
-                .filter(task -> {
-                    // Build comprehensive searchable text including dates
-                    StringBuilder sb = new StringBuilder(task.getDescription().toLowerCase());
-                    if (task instanceof Deadline) {
-                        Deadline d = (Deadline) task;
-                        sb.append(' ').append(String.valueOf(d.getBy()));
-                    } else if (task instanceof Event) {
-                        Event e = (Event) task;
-                        sb.append(' ').append(String.valueOf(e.getFrom()))
-                          .append(' ').append(String.valueOf(e.getTo()));
-                    }
-
-                    String haystack = sb.toString();
-                    // Match if ALL tokens are present (order-insensitive, partial allowed)
-                    return java.util.Arrays.stream(tokens).allMatch(haystack::contains);
-                })
-                .collect(Collectors.toList());
+
+        long[] candidates = keywordIndex.candidates(tokens);
+        if (candidates == null || candidates.length > tasks.size() / 2) {
+            // The index cannot narrow the search enough; scanning in order is cheaper than sorting
+            return StreamSupport.stream(tasks.spliterator(), false)
+                    .filter(task -> containsAll(searchText(task), tokens))
+                    .collect(Collectors.toList());
+        }
+
+        // Verify each distinct live candidate and return the matches in list order
+        LongHashMap<TaskSequence.Entry> matches = new LongHashMap<>();
+        List<TaskSequence.Entry> matchedNodes = new ArrayList<>();
+        for (long id : candidates) {
+            TaskSequence.Entry node = nodesById.get(id);
+            if (node != null && !matches.containsKey(id) && containsAll(searchText(node.getTask()), tokens)) {
+                matches.put(id, node);
+                matchedNodes.add(node);
+            }
+        }
+        return inListOrder(matchedNodes);
+    }
+
+    /**
+     * Returns the tasks of the given distinct nodes sorted by their position in the list.
+     */
+    private List<Task> inListOrder(List<TaskSequence.Entry> nodes) {
+        // Sort by position, carrying each node's slot in the low bits
+        long[] keys = new long[nodes.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = ((long) tasks.indexOf(nodes.get(i)) << Integer.SIZE) | i;
+        }
+        Arrays.sort(keys);
+        List<Task> result = new ArrayList<>(keys.length);
+        for (long key : keys) {
+            result.add(nodes.get((int) key).getTask());
+        }
+        return result;
+    }
+
+    /**
+     * Splits a search query into lowercased keywords for flexible multi-word matching.
+     *
+     * @param keyword The search query
+     * @return The keywords, or null if the query is null or blank
+     */
+    static String[] keywordTokens(String keyword) {
+        if (keyword == null || keyword.isBlank()) {
+            return null;
+        }
+        return keyword.toLowerCase().trim().split("\\s+");
+    }
+
+    /**
+     * Checks whether a task matches every keyword, the way {@link #findByKeyword(String)} does.
+     *
+     * @param task The task to check
+     * @param tokens The keywords from {@link #keywordTokens(String)}
+     * @return true if the task matches every keyword
+     */
+    static boolean matchesKeywords(Task task, String[] tokens) {
+        return containsAll(searchText(task), tokens);
+    }
+
+    /**
+     * Checks whether the haystack contains every token, in any order and allowing partial matches.
+     */
+    private static boolean containsAll(String haystack, String[] tokens) {
+        for (String token : tokens) {
+            if (!haystack.contains(token)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A read-only list backed by the task tree.
+     */
+    private final class View extends AbstractList<Task> {
+        @Override
+        public Task get(int index) {
+            if (index < 0 || index >= tasks.size()) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + tasks.size());
+            }
+            return tasks.get(index);
+        }
+
+        @Override
+        public int size() {
+            return tasks.size();
+        }
+
+        @Override
+        public Iterator<Task> iterator() {
+            return TaskList.this.iterator();
+        }
     }
 }
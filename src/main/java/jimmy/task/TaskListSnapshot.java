@@ -0,0 +1,111 @@
+package jimmy.task;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * An immutable version of a {@link VersionedTaskList}, as it was after one change.
+ * Taking a snapshot takes constant time and no lock, and the snapshot never changes
+ * afterwards, so a long listing, search or save can read it while other sessions
+ * keep changing the list.
+ *
+ * <p>The tasks in a snapshot are never changed by the list: marking a task puts a
+ * changed copy of it in the next version. They must not be changed directly either;
+ * mark tasks through the list instead.</p>
+ */
+public final class TaskListSnapshot extends AbstractList<Task> {
+    /** The snapshot of a list that has never held a task */
+    static final TaskListSnapshot EMPTY = new TaskListSnapshot(null, 0);
+
+    private final PersistentTaskTree.Node root;
+    private final long version;
+
+    /**
+     * Constructs a snapshot of a tree.
+     *
+     * @param root The root of the tree, which must never be changed
+     * @param version The version of the list the tree belongs to
+     */
+    TaskListSnapshot(PersistentTaskTree.Node root, long version) {
+        this.root = root;
+        this.version = version;
+    }
+
+    /**
+     * Returns the root of the tree, for building the next version.
+     *
+     * @return The root
+     */
+    PersistentTaskTree.Node getRoot() {
+        return root;
+    }
+
+    /**
+     * Returns the version of the list this snapshot was taken at, as given by {@link TaskList#getVersion()}.
+     *
+     * @return The version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the task at a position in O(log n) time.
+     *
+     * @param index The 0-based position
+     * @return The task
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    @Override
+    public Task get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size());
+        }
+        return PersistentTaskTree.get(root, index);
+    }
+
+    @Override
+    public int size() {
+        return PersistentTaskTree.size(root);
+    }
+
+    /**
+     * Returns an iterator over the tasks in order, taking constant amortised time per task.
+     *
+     * @return The iterator
+     */
+    @Override
+    public Iterator<Task> iterator() {
+        return PersistentTaskTree.iterator(root);
+    }
+
+    @Override
+    public void forEach(Consumer<? super Task> action) {
+        iterator().forEachRemaining(action);
+    }
+
+    /**
+     * Finds the tasks matching every keyword, in the same way as {@link TaskList#findByKeyword(String)},
+     * by scanning the snapshot. Searching the latest version through the list uses its
+     * keyword index instead; this is for reading an older version as it was.
+     *
+     * @param keyword The search keyword(s) - can be multiple words separated by spaces
+     * @return A list of tasks containing all the specified keywords
+     */
+    public List<Task> findByKeyword(String keyword) {
+        List<Task> matches = new ArrayList<>();
+        String[] tokens = TaskList.keywordTokens(keyword);
+        if (tokens == null) {
+            return matches;
+        }
+        for (Task task : this) {
+            if (TaskList.matchesKeywords(task, tokens)) {
+                matches.add(task);
+            }
+        }
+        return matches;
+    }
+}
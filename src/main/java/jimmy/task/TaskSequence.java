@@ -0,0 +1,104 @@
+package jimmy.task;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * The ordered storage behind a {@link TaskList}, addressed by position.
+ * Inserting a task returns an entry that keeps standing for it while other tasks are
+ * added or removed, so the list can index entries by task id and find their positions later.
+ * {@link IndexedTaskTree} changes tasks in place, while the sequence of a
+ * {@link VersionedTaskList} replaces a task with a changed copy, so older versions keep theirs.
+ */
+interface TaskSequence extends Iterable<Task> {
+    /**
+     * A handle on one task of the sequence, valid until the task is removed.
+     */
+    interface Entry {
+        /**
+         * Returns the task the entry stands for, as it is now.
+         *
+         * @return The task
+         */
+        Task getTask();
+    }
+
+    /**
+     * Returns the number of tasks.
+     *
+     * @return The size
+     */
+    int size();
+
+    /**
+     * Returns the task at the given position.
+     *
+     * @param index The 0-based position
+     * @return The task
+     */
+    Task get(int index);
+
+    /**
+     * Inserts a task at the given position, shifting later tasks back by one.
+     *
+     * @param index The 0-based position, from 0 to size inclusive
+     * @param task The task to insert
+     * @return The entry created for the task
+     */
+    Entry insert(int index, Task task);
+
+    /**
+     * Removes the task at the given position.
+     *
+     * @param index The 0-based position
+     * @return The entry that stood for the task, no longer part of the sequence
+     */
+    Entry remove(int index);
+
+    /**
+     * Marks the task at the given position as done or not done.
+     *
+     * @param index The 0-based position
+     * @param isDone The new status
+     * @return The task that was at the position before, which is the same object
+     *         as the task there now unless the sequence replaced it with a copy
+     */
+    Task setDone(int index, boolean isDone);
+
+    /**
+     * Returns the current position of an entry.
+     *
+     * @param entry The entry to locate, as returned by this sequence
+     * @return The 0-based position, or -1 if the entry is no longer in the sequence
+     */
+    int indexOf(Entry entry);
+
+    /**
+     * Replaces every task with the given tasks, in linear time.
+     *
+     * @param tasks The new tasks, in order
+     * @return The entries created for the tasks, in the same order
+     */
+    List<? extends Entry> rebuild(List<Task> tasks);
+
+    /**
+     * Removes every task.
+     */
+    void clear();
+
+    /**
+     * Returns the tasks in order.
+     *
+     * @return A new list of the tasks
+     */
+    List<Task> toList();
+
+    /**
+     * Returns an iterator over the tasks in order.
+     * The sequence must not be modified during the iteration.
+     *
+     * @return The iterator
+     */
+    @Override
+    Iterator<Task> iterator();
+}
@@ -0,0 +1,66 @@
+package jimmy.task;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * A span of time with no events in it.
+ */
+public class TimeSlot {
+    /** Formatter for displaying slot times to users */
+    private static final DateTimeFormatter DISPLAY_FORMATTER = DateTimeFormatter.ofPattern("MMM dd yyyy, h:mm a");
+
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+
+    /**
+     * Constructs a slot between two times.
+     *
+     * @param start The start of the slot
+     * @param end The end of the slot, after the start
+     */
+    public TimeSlot(LocalDateTime start, LocalDateTime end) {
+        assert start.isBefore(end) : "A slot must end after it starts";
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Returns the start of the slot.
+     *
+     * @return The start time
+     */
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    /**
+     * Returns the end of the slot.
+     *
+     * @return The end time
+     */
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    /**
+     * Returns the length of the slot.
+     *
+     * @return The duration between the start and the end
+     */
+    public Duration getDuration() {
+        return Duration.between(start, end);
+    }
+
+    /**
+     * Returns a string representation of the slot for display.
+     * Format: "startDateTime to endDateTime"
+     *
+     * @return The formatted slot
+     */
+    @Override
+    public String toString() {
+        return start.format(DISPLAY_FORMATTER) + " to " + end.format(DISPLAY_FORMATTER);
+    }
+}
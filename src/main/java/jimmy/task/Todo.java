@@ -17,6 +17,11 @@ public class Todo extends Task {
         super(description);
     }
 
+    @Override
+    public Task copy() {
+        return copyStateTo(new Todo(description));
+    }
+
     @Override
     public String toFileString() {
         return "T | " + (isDone ? "1" : "0") + " | " + description;
@@ -0,0 +1,178 @@
+package jimmy.task;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+/**
+ * An inverted index from three-character substrings (trigrams) of the searchable
+ * text of tasks to the ids of the tasks containing them.
+ * A keyword of three or more characters can only occur in a task whose text holds
+ * every trigram of the keyword, so the posting list of its rarest trigram is a
+ * small superset of the matches; callers verify the candidates exactly.
+ *
+ * <p>Postings are appended on add. Removal only counts an entry as stale, and a
+ * posting list is compacted once more than half of it is stale, so both updates
+ * take time proportional to the length of the task's text.</p>
+ */
+class TrigramIndex {
+    /** Number of characters in a trigram */
+    static final int GRAM_LENGTH = 3;
+
+    private static final int INITIAL_POSTING_CAPACITY = 4;
+
+    /**
+     * The ids of the tasks whose text contains one trigram, possibly including stale ids.
+     */
+    private static final class Posting {
+        private long[] ids = new long[INITIAL_POSTING_CAPACITY];
+        private int size;
+        private int stale;
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+
+    private final LongHashMap<Posting> postings = new LongHashMap<>();
+
+    /** Tells whether an id still belongs to a task in the list */
+    private final LongPredicate isLive;
+
+    /**
+     * Constructs an empty index.
+     *
+     * @param isLive Tells whether an id still belongs to a task in the list
+     */
+    TrigramIndex(LongPredicate isLive) {
+        this.isLive = isLive;
+    }
+
+    /**
+     * Indexes the searchable text of a task.
+     *
+     * @param id The id of the task
+     * @param text The searchable text of the task
+     */
+    void add(long id, String text) {
+        LongHashMap<Boolean> grams = distinctGrams(text);
+        forEachGram(text, gram -> {
+            if (grams.remove(gram) != null) {
+                Posting posting = postings.get(gram);
+                if (posting == null) {
+                    posting = new Posting();
+                    postings.put(gram, posting);
+                }
+                posting.add(id);
+            }
+        });
+    }
+
+    /**
+     * Marks the postings of a removed task as stale, compacting lists that have become mostly stale.
+     * The id must no longer be live when this is called.
+     *
+     * @param text The searchable text of the removed task
+     */
+    void remove(String text) {
+        LongHashMap<Boolean> grams = distinctGrams(text);
+        forEachGram(text, gram -> {
+            if (grams.remove(gram) == null) {
+                return;
+            }
+            Posting posting = postings.get(gram);
+            if (posting == null) {
+                return;
+            }
+            posting.stale++;
+            if (posting.stale * 2 > posting.size) {
+                compact(gram, posting);
+            }
+        });
+    }
+
+    /**
+     * Returns the ids of the tasks that may contain every keyword.
+     * Only keywords of at least three characters narrow the result, so if there
+     * are none the index cannot help and null is returned.
+     *
+     * @param keywords The lowercased keywords, none containing whitespace
+     * @return The candidate ids, which may include stale or repeated ids, or null
+     */
+    long[] candidates(String[] keywords) {
+        Posting rarest = null;
+        boolean isIndexed = false;
+        for (String keyword : keywords) {
+            for (int i = 0; i + GRAM_LENGTH <= keyword.length(); i++) {
+                isIndexed = true;
+                Posting posting = postings.get(gram(keyword, i));
+                if (posting == null) {
+                    return new long[0];
+                }
+                if (rarest == null || posting.size < rarest.size) {
+                    rarest = posting;
+                }
+            }
+        }
+        if (!isIndexed) {
+            return null;
+        }
+        return Arrays.copyOf(rarest.ids, rarest.size);
+    }
+
+    private void compact(long gram, Posting posting) {
+        int kept = 0;
+        for (int i = 0; i < posting.size; i++) {
+            if (isLive.test(posting.ids[i])) {
+                posting.ids[kept++] = posting.ids[i];
+            }
+        }
+        if (kept == 0) {
+            postings.remove(gram);
+            return;
+        }
+        posting.size = kept;
+        posting.stale = 0;
+        if (kept * 4 < posting.ids.length) {
+            posting.ids = Arrays.copyOf(posting.ids, Math.max(INITIAL_POSTING_CAPACITY, kept * 2));
+        }
+    }
+
+    private static LongHashMap<Boolean> distinctGrams(String text) {
+        LongHashMap<Boolean> grams = new LongHashMap<>();
+        forEachGram(text, gram -> grams.put(gram, Boolean.TRUE));
+        return grams;
+    }
+
+    /**
+     * Calls the action with every trigram of the text that a keyword could contain.
+     * Keywords never contain whitespace, so trigrams spanning whitespace are skipped.
+     */
+    private static void forEachGram(String text, LongConsumer action) {
+        int run = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (isKeywordSeparator(text.charAt(i))) {
+                run = 0;
+                continue;
+            }
+            run++;
+            if (run >= GRAM_LENGTH) {
+                action.accept(gram(text, i - GRAM_LENGTH + 1));
+            }
+        }
+    }
+
+    /**
+     * Returns whether the character is one of the separators the keyword query is split on (regex \s).
+     */
+    private static boolean isKeywordSeparator(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static long gram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+}
@@ -0,0 +1,197 @@
+package jimmy.task;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A shared task list whose readers never wait for writers. The tasks are kept only in a
+ * persistent tree: every change builds a new version, sharing all but O(log n) nodes with
+ * the previous one, and publishes it as a {@link TaskListSnapshot}. Listing, iterating and
+ * reading a task by position use the latest snapshot without taking any lock, so they see
+ * one consistent version even while other sessions add or mark tasks.
+ *
+ * <p>Marking a task puts a changed copy of that task in the new version, so changing the
+ * list never changes an older version. Storage recognises the copy as the same record
+ * through {@link Task#isSameRecordAs(Task)}.</p>
+ *
+ * <p>Writers are serialised by the write lock of {@link ConcurrentTaskList}, which also
+ * guards the id, keyword, date and event indexes. Lookups by id and the searches that use
+ * those indexes take the read lock only for the lookup itself.</p>
+ */
+public class VersionedTaskList extends ConcurrentTaskList {
+    /** The tasks of the list, read by writers only */
+    private final PersistentTaskSequence sequence;
+
+    /** The latest version, replaced after every change */
+    private volatile TaskListSnapshot current;
+
+    /**
+     * Constructs an empty list.
+     */
+    public VersionedTaskList() {
+        this(new ArrayList<>());
+    }
+
+    /**
+     * Constructs a list with the given tasks.
+     *
+     * @param tasks The initial list of tasks
+     */
+    public VersionedTaskList(List<Task> tasks) {
+        this(tasks, 0);
+    }
+
+    /**
+     * Constructs a list with the given tasks, never giving out an id below the given one.
+     *
+     * @param tasks The initial list of tasks
+     * @param nextId The smallest id no stored task has ever had, or 0 if unknown
+     */
+    public VersionedTaskList(List<Task> tasks, long nextId) {
+        this(tasks, nextId, new PersistentTaskSequence());
+    }
+
+    private VersionedTaskList(List<Task> tasks, long nextId, PersistentTaskSequence sequence) {
+        super(tasks, nextId, sequence);
+        this.sequence = sequence;
+        publish();
+    }
+
+    /**
+     * Returns the latest version of the list, in constant time and without locking.
+     *
+     * @return The snapshot, which later changes to the list do not affect
+     */
+    public TaskListSnapshot snapshot() {
+        return current;
+    }
+
+    @Override
+    public void addTask(Task task) {
+        publishAfter(() -> super.addTask(task));
+    }
+
+    @Override
+    public void addTasks(Task... tasks) {
+        publishAfter(() -> super.addTasks(tasks));
+    }
+
+    @Override
+    public void insertTask(int index, Task task) {
+        publishAfter(() -> super.insertTask(index, task));
+    }
+
+    @Override
+    public void removeTask(int index) {
+        publishAfter(() -> super.removeTask(index));
+    }
+
+    @Override
+    public List<Task> removeTasks(int[] indices) {
+        return callExclusively(() -> {
+            List<Task> removed = super.removeTasks(indices);
+            publish();
+            return removed;
+        });
+    }
+
+    @Override
+    public void markTaskAsDone(int index) {
+        publishAfter(() -> super.markTaskAsDone(index));
+    }
+
+    @Override
+    public void markTaskAsNotDone(int index) {
+        publishAfter(() -> super.markTaskAsNotDone(index));
+    }
+
+    @Override
+    public void markTasksAsDone(int[] indices) {
+        publishAfter(() -> super.markTasksAsDone(indices));
+    }
+
+    @Override
+    public void markTasksAsNotDone(int[] indices) {
+        publishAfter(() -> super.markTasksAsNotDone(indices));
+    }
+
+    @Override
+    public void clear() {
+        publishAfter(super::clear);
+    }
+
+    /**
+     * Returns the task at the given position in the latest snapshot, without locking.
+     *
+     * @param index The 0-based index of the task to retrieve
+     * @return The task at the specified index
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    @Override
+    public Task getTask(int index) {
+        return current.get(index);
+    }
+
+    /**
+     * Returns a copy of the latest snapshot, made without locking.
+     *
+     * @return A list containing all tasks
+     */
+    @Override
+    public List<Task> getAllTasks() {
+        return new ArrayList<>(current);
+    }
+
+    /**
+     * Returns the latest snapshot, which can be read without locking.
+     *
+     * @return The snapshot
+     */
+    @Override
+    public List<Task> asList() {
+        return current;
+    }
+
+    /**
+     * Returns an iterator over the latest snapshot, which later changes do not affect.
+     *
+     * @return The iterator
+     */
+    @Override
+    public Iterator<Task> iterator() {
+        return current.iterator();
+    }
+
+    /**
+     * Calls the action with every task of the latest snapshot in order, without locking.
+     *
+     * @param action The action to call
+     */
+    @Override
+    public void forEach(Consumer<? super Task> action) {
+        current.forEach(action);
+    }
+
+    /**
+     * Applies a change while holding the write lock and publishes the version it produced,
+     * so a batch of changes becomes visible to readers at once.
+     */
+    private void publishAfter(Runnable change) {
+        callExclusively(() -> {
+            change.run();
+            publish();
+            return null;
+        });
+    }
+
+    /**
+     * Publishes the latest version. Called while holding the write lock, after the list has changed,
+     * or from the constructor before the list is shared.
+     */
+    private void publish() {
+        assert PersistentTaskTree.size(sequence.getRoot()) == super.getSize() : "Snapshot must hold every task";
+        current = new TaskListSnapshot(sequence.getRoot(), getVersion());
+    }
+}
@@ -1,7 +1,9 @@
 package jimmy.ui;
 
 import java.util.List;
+import jimmy.task.EventConflict;
 import jimmy.task.Task;
+import jimmy.task.TimeSlot;
 
 /**
  * UI adapter that accumulates outputs into a StringBuilder for GUI use.
@@ -27,9 +29,9 @@ public class GuiUi extends Ui {
     @Override
     public void showTaskList(List<Task> tasks) {
         println("🎶 Lalalala! Here's your task symphony! 🎶");
-        for (int i = 0; i < tasks.size(); i++) {
-            Task task = tasks.get(i);
-            println((i + 1) + "." + task.toString());
+        int number = 1;
+        for (Task task : tasks) {
+            println(number++ + "." + task.toString() + idLabel(task));
         }
         if (tasks.isEmpty()) {
             println("Dadada... no tasks to sing about! 🎵");
@@ -48,6 +50,22 @@ public class GuiUi extends Ui {
         println("[" + task.getStatusIcon() + "] " + task.getDescription());
     }
 
+    @Override
+    public void showTasksMarkedAsDone(List<Task> tasks) {
+        println("🎉 Dadada! " + tasks.size() + " tasks completed! Lalalala! 🎉");
+        for (Task task : tasks) {
+            println("[" + task.getStatusIcon() + "] " + task.getDescription());
+        }
+    }
+
+    @Override
+    public void showTasksMarkedAsNotDone(List<Task> tasks) {
+        println("🎵 Lalalala! " + tasks.size() + " tasks unmarked! Dadada! 🎵");
+        for (Task task : tasks) {
+            println("[" + task.getStatusIcon() + "] " + task.getDescription());
+        }
+    }
+
     @Override
     public void showTaskAdded(Task task, int totalTasks) {
         println("🎶 Dadada! New task added to the melody! 🎶");
@@ -62,6 +80,15 @@ public class GuiUi extends Ui {
         println("Now your symphony has " + totalTasks + " tasks! 🎶");
     }
 
+    @Override
+    public void showTasksDeleted(List<Task> tasks, int totalTasks) {
+        println("🎵 Lalalala! " + tasks.size() + " tasks removed from the song! Dadada! 🎵");
+        for (Task task : tasks) {
+            println(task.toString());
+        }
+        println("Now your symphony has " + totalTasks + " tasks! 🎶");
+    }
+
     @Override
     public void showTaskAddedSimple(String description) {
         println("🎵 Dadada! Added: " + description + " Lalalala! 🎵");
@@ -86,6 +113,48 @@ public class GuiUi extends Ui {
             println("Dadada... no matching notes in your symphony! 🎵");
         }
     }
-}
 
+    @Override
+    public void showTasksByDate(String heading, List<Task> tasks) {
+        println("🎶 Lalalala! " + heading + " 🎶");
+        for (int i = 0; i < tasks.size(); i++) {
+            println((i + 1) + "." + tasks.get(i).toString());
+        }
+        if (tasks.isEmpty()) {
+            println("Dadada... no notes on those dates! 🎵");
+        }
+    }
 
+    @Override
+    public void showEventOverlaps(List<Task> overlapping) {
+        println("🎵 Dadada... this note clashes with: 🎵");
+        for (Task task : overlapping) {
+            println("  " + task.toString());
+        }
+    }
+
+    @Override
+    public void showConflicts(List<EventConflict> conflicts) {
+        if (conflicts.isEmpty()) {
+            println("🎶 Lalalala! Your events are in perfect harmony! 🎶");
+            return;
+        }
+        println("🎵 Dadada... these notes clash! 🎵");
+        for (int i = 0; i < conflicts.size(); i++) {
+            println((i + 1) + "." + conflicts.get(i).getFirst().toString());
+            println("  and " + conflicts.get(i).getSecond().toString());
+        }
+    }
+
+    @Override
+    public void showFreeSlots(List<TimeSlot> slots) {
+        if (slots.isEmpty()) {
+            println("🎵 Dadada... no rests that long in your symphony! 🎵");
+            return;
+        }
+        println("🎶 Lalalala! Here are the rests in your symphony! 🎶");
+        for (int i = 0; i < slots.size(); i++) {
+            println((i + 1) + "." + slots.get(i).toString());
+        }
+    }
+}
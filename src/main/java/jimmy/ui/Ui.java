@@ -1,6 +1,7 @@
 package jimmy.ui;
 
 import jimmy.task.Task;
+import java.io.PrintStream;
 import java.util.List;
 
 /**
@@ -9,6 +10,24 @@ import java.util.List;
  * All output is formatted consistently with clear visual separators.
  */
 public class Ui {
+    /** Where messages are printed */
+    private final PrintStream out;
+
+    /**
+     * Constructs a user interface that prints to standard output.
+     */
+    public Ui() {
+        this(System.out);
+    }
+
+    /**
+     * Constructs a user interface that prints to the given stream, such as a file or a discarding stream.
+     *
+     * @param out The stream to print messages to
+     */
+    public Ui(PrintStream out) {
+        this.out = out;
+    }
     
     /**
      * Displays the welcome message when the application starts.
@@ -31,20 +50,32 @@ public class Ui {
     
     /**
      * Displays a list of all tasks with their numbers.
-     * Each task is shown on a separate line with its index.
+     * Each task is shown on a separate line with its index, followed by the
+     * stable id that commands also accept as {@code #id}.
      *
      * @param tasks The list of tasks to display
      */
     public void showTaskList(List<Task> tasks) {
-        System.out.println("____________________________________________________________");
-        for (int i = 0; i < tasks.size(); i++) {
-            Task task = tasks.get(i);
-            System.out.print((i + 1) + "." + task.toString());
-            System.out.print("\n");
+        out.println("____________________________________________________________");
+        // Iterate rather than index, so a view backed by the task list is read in one pass
+        int number = 1;
+        for (Task task : tasks) {
+            out.print(number++ + "." + task.toString() + idLabel(task));
+            out.print("\n");
         }
-        System.out.println("____________________________________________________________");
+        out.println("____________________________________________________________");
     }
     
+    /**
+     * Returns the label showing the stable id of a task in a listing.
+     *
+     * @param task The task to label
+     * @return The label, or an empty string if the task has no id yet
+     */
+    protected static String idLabel(Task task) {
+        return task.getId() > 0 ? " (#" + task.getId() + ")" : "";
+    }
+
     /**
      * Displays a message confirming that a task has been marked as done.
      * Shows the task with its completion status.
@@ -52,11 +83,11 @@ public class Ui {
      * @param task The task that was marked as done
      */
     public void showTaskMarkedAsDone(Task task) {
-        System.out.println("____________________________________________________________");
-        System.out.print("Nice! I've marked this task as done: ");
-        System.out.print("\n");
-        System.out.println("[" + task.getStatusIcon() + "] " + task.getDescription());
-        System.out.println("____________________________________________________________");
+        out.println("____________________________________________________________");
+        out.print("Nice! I've marked this task as done: ");
+        out.print("\n");
+        out.println("[" + task.getStatusIcon() + "] " + task.getDescription());
+        out.println("____________________________________________________________");
     }
     
     /**
@@ -66,13 +97,41 @@ public class Ui {
      * @param task The task that was marked as not done
      */
     public void showTaskMarkedAsNotDone(Task task) {
-        System.out.println("____________________________________________________________");
-        System.out.print("OK, I've marked this task as not done yet: ");
-        System.out.print("\n");
-        System.out.println("[" + task.getStatusIcon() + "] " + task.getDescription());
-        System.out.println("____________________________________________________________");
+        out.println("____________________________________________________________");
+        out.print("OK, I've marked this task as not done yet: ");
+        out.print("\n");
+        out.println("[" + task.getStatusIcon() + "] " + task.getDescription());
+        out.println("____________________________________________________________");
     }
     
+    /**
+     * Displays a message confirming that several tasks have been marked as done by a bulk command.
+     *
+     * @param tasks The tasks that were marked, in list order
+     */
+    public void showTasksMarkedAsDone(List<Task> tasks) {
+        out.println("____________________________________________________________");
+        out.println("Nice! I've marked these " + tasks.size() + " tasks as done:");
+        for (Task task : tasks) {
+            out.println("[" + task.getStatusIcon() + "] " + task.getDescription());
+        }
+        out.println("____________________________________________________________");
+    }
+
+    /**
+     * Displays a message confirming that several tasks have been marked as not done by a bulk command.
+     *
+     * @param tasks The tasks that were unmarked, in list order
+     */
+    public void showTasksMarkedAsNotDone(List<Task> tasks) {
+        out.println("____________________________________________________________");
+        out.println("OK, I've marked these " + tasks.size() + " tasks as not done yet:");
+        for (Task task : tasks) {
+            out.println("[" + task.getStatusIcon() + "] " + task.getDescription());
+        }
+        out.println("____________________________________________________________");
+    }
+
     /**
      * Displays a message confirming that a task has been added.
      * Shows the added task and the new total count.
@@ -81,11 +140,11 @@ public class Ui {
      * @param totalTasks The total number of tasks after adding
      */
     public void showTaskAdded(Task task, int totalTasks) {
-        System.out.println("____________________________________________________________");
-        System.out.println("Got it. I've added this task:");
-        System.out.println(task.toString());
-        System.out.println("Now you have " + totalTasks + " tasks in the list.");
-        System.out.println("____________________________________________________________");
+        out.println("____________________________________________________________");
+        out.println("Got it. I've added this task:");
+        out.println(task.toString());
+        out.println("Now you have " + totalTasks + " tasks in the list.");
+        out.println("____________________________________________________________");
     }
     
     /**
@@ -96,13 +155,29 @@ public class Ui {
      * @param totalTasks The total number of tasks after deletion
      */
     public void showTaskDeleted(Task task, int totalTasks) {
-        System.out.println("____________________________________________________________");
-        System.out.println("Noted. I've removed this task:");
-        System.out.println(task.toString());
-        System.out.println("Now you have " + totalTasks + " tasks in the list.");
-        System.out.println("____________________________________________________________");
+        out.println("____________________________________________________________");
+        out.println("Noted. I've removed this task:");
+        out.println(task.toString());
+        out.println("Now you have " + totalTasks + " tasks in the list.");
+        out.println("____________________________________________________________");
     }
     
+    /**
+     * Displays a message confirming that several tasks have been deleted by a bulk command.
+     *
+     * @param tasks The tasks that were deleted, in the order they had in the list
+     * @param totalTasks The total number of tasks after deletion
+     */
+    public void showTasksDeleted(List<Task> tasks, int totalTasks) {
+        out.println("____________________________________________________________");
+        out.println("Noted. I've removed these " + tasks.size() + " tasks:");
+        for (Task task : tasks) {
+            out.println(task.toString());
+        }
+        out.println("Now you have " + totalTasks + " tasks in the list.");
+        out.println("____________________________________________________________");
+    }
+
     /**
      * Displays a simple message confirming that a task was added.
      * Shows just the description of the added task.
@@ -110,9 +185,9 @@ public class Ui {
      * @param description The description of the task that was added
      */
     public void showTaskAddedSimple(String description) {
-        System.out.println("____________________________________________________________");
-        System.out.println("added: " + description);
-        System.out.println("____________________________________________________________");
+        out.println("____________________________________________________________");
+        out.println("added: " + description);
+        out.println("____________________________________________________________");
     }
     
     /**
@@ -122,11 +197,11 @@ public class Ui {
      * @param messages The error messages to display (varargs)
      */
     public void showError(String... messages) {
-        System.out.println("____________________________________________________________");
+        out.println("____________________________________________________________");
         for (String message : messages) {
-            System.out.println(message);
+            out.println(message);
         }
-        System.out.println("____________________________________________________________");
+        out.println("____________________________________________________________");
     }
     
     /**
@@ -136,7 +211,7 @@ public class Ui {
      * @param message The loading error message to display
      */
     public void showLoadingError(String message) {
-        System.out.println("Error loading tasks: " + message);
+        out.println("Error loading tasks: " + message);
     }
     
     /**
@@ -146,7 +221,7 @@ public class Ui {
      * @param message The saving error message to display
      */
     public void showSavingError(String message) {
-        System.out.println("Error saving tasks: " + message);
+        out.println("Error saving tasks: " + message);
     }
     
     /**
@@ -157,19 +232,89 @@ public class Ui {
      */
     public void showWarning(String... messages) {
         for (String message : messages) {
-            System.out.println("Warning: " + message);
+            out.println("Warning: " + message);
         }
     }
 
     public void showMatchingTasks(java.util.List<jimmy.task.Task> tasks) {
-        System.out.println("____________________________________________________________");
-        System.out.println("Here are the matching tasks in your list:");
+        out.println("____________________________________________________________");
+        out.println("Here are the matching tasks in your list:");
         for (int i = 0; i < tasks.size(); i++) {
             jimmy.task.Task t = tasks.get(i);
-            System.out.print((i + 1) + "." + t.toString());
-            System.out.print("\n");
+            out.print((i + 1) + "." + t.toString());
+            out.print("\n");
+        }
+        out.println("____________________________________________________________");
+    }
+
+    /**
+     * Displays the tasks found by a date query, such as "on" or "overdue".
+     *
+     * @param heading The line describing the query
+     * @param tasks The tasks found, in list order
+     */
+    public void showTasksByDate(String heading, java.util.List<jimmy.task.Task> tasks) {
+        out.println("____________________________________________________________");
+        out.println(heading);
+        for (int i = 0; i < tasks.size(); i++) {
+            out.println((i + 1) + "." + tasks.get(i).toString());
+        }
+        if (tasks.isEmpty()) {
+            out.println("No tasks found.");
+        }
+        out.println("____________________________________________________________");
+    }
+
+    /**
+     * Warns that a newly added event overlaps events already in the list.
+     *
+     * @param overlapping The events the new event overlaps
+     */
+    public void showEventOverlaps(java.util.List<jimmy.task.Task> overlapping) {
+        out.println("____________________________________________________________");
+        out.println("Heads up! This event overlaps with:");
+        for (jimmy.task.Task task : overlapping) {
+            out.println("  " + task.toString());
+        }
+        out.println("____________________________________________________________");
+    }
+
+    /**
+     * Displays every pair of events whose times overlap.
+     *
+     * @param conflicts The overlapping pairs
+     */
+    public void showConflicts(java.util.List<jimmy.task.EventConflict> conflicts) {
+        out.println("____________________________________________________________");
+        if (conflicts.isEmpty()) {
+            out.println("None of your events overlap.");
+        } else {
+            out.println("These events overlap:");
+        }
+        for (int i = 0; i < conflicts.size(); i++) {
+            jimmy.task.EventConflict conflict = conflicts.get(i);
+            out.println((i + 1) + "." + conflict.getFirst().toString());
+            out.println("  and " + conflict.getSecond().toString());
+        }
+        out.println("____________________________________________________________");
+    }
+
+    /**
+     * Displays the free slots found between events.
+     *
+     * @param slots The free slots, in chronological order
+     */
+    public void showFreeSlots(java.util.List<jimmy.task.TimeSlot> slots) {
+        out.println("____________________________________________________________");
+        if (slots.isEmpty()) {
+            out.println("No free slots of that length in those dates.");
+        } else {
+            out.println("Here are your free slots:");
+        }
+        for (int i = 0; i < slots.size(); i++) {
+            out.println((i + 1) + "." + slots.get(i).toString());
         }
-        System.out.println("____________________________________________________________");
+        out.println("____________________________________________________________");
     }
 
     /**
@@ -179,10 +324,10 @@ public class Ui {
      * @param lines The lines to display (varargs)
      */
     public void showFormattedLines(String... lines) {
-        System.out.println("____________________________________________________________");
+        out.println("____________________________________________________________");
         for (String line : lines) {
-            System.out.println(line);
+            out.println(line);
         }
-        System.out.println("____________________________________________________________");
+        out.println("____________________________________________________________");
     }
 }
@@ -0,0 +1,72 @@
+package jimmy;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Scanner;
+import jimmy.storage.InMemoryStorage;
+import jimmy.task.TaskList;
+import jimmy.ui.Ui;
+
+public class CommandPipelineTest {
+    @Test
+    public void testOutputMatchesSequentialRun() {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            switch (i % 7) {
+            case 0:
+                input.append("todo task ").append(i).append('\n');
+                break;
+            case 1:
+                input.append("deadline report ").append(i).append(" /by 2/12/2024 1800\n");
+                break;
+            case 2:
+                input.append("mark ").append(i / 3).append('\n');
+                break;
+            case 3:
+                input.append("event   meet /from 2/12/2024 1400 /to 2/12/2024 1300\n");
+                break;
+            case 4:
+                input.append("find task 1\n");
+                break;
+            case 5:
+                input.append("delete ").append(i / 5).append('\n');
+                break;
+            default:
+                input.append(i % 2 == 0 ? "   \n" : "list #@!\n");
+                break;
+            }
+        }
+        input.append("list\nbye\ntodo after bye\nlist\n");
+
+        ByteArrayOutputStream sequential = new ByteArrayOutputStream();
+        TaskList sequentialList = new TaskList();
+        Jimmy.run(sequentialList, new Scanner(input.toString()),
+                new Ui(new PrintStream(sequential, true, StandardCharsets.UTF_8)), new InMemoryStorage());
+
+        ByteArrayOutputStream pipelined = new ByteArrayOutputStream();
+        TaskList pipelinedList = new TaskList();
+        new CommandPipeline(4, 16).run(pipelinedList, new Scanner(input.toString()),
+                new PrintStream(pipelined, true, StandardCharsets.UTF_8), new InMemoryStorage());
+
+        String expected = sequential.toString(StandardCharsets.UTF_8);
+        assertTrue(expected.endsWith("Bye. Hope to see you again soon!\n"
+                + "____________________________________________________________\n"));
+        assertEquals(expected, pipelined.toString(StandardCharsets.UTF_8));
+        assertEquals(sequentialList.getSize(), pipelinedList.getSize());
+    }
+
+    @Test
+    public void testInputWithoutByeRunsToTheEnd() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        TaskList taskList = new TaskList();
+        new CommandPipeline().run(taskList, new Scanner("todo read book\ntodo buy milk"),
+                new PrintStream(output, true, StandardCharsets.UTF_8), new InMemoryStorage());
+
+        assertEquals(2, taskList.getSize());
+        assertTrue(output.toString(StandardCharsets.UTF_8).contains("Now you have 2 tasks in the list."));
+    }
+}
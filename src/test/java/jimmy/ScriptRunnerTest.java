@@ -0,0 +1,66 @@
+package jimmy;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Scanner;
+import jimmy.storage.DeferredStorage;
+import jimmy.storage.InMemoryStorage;
+import jimmy.task.TaskList;
+import jimmy.ui.Ui;
+
+public class ScriptRunnerTest {
+    private static final String SCRIPT = "todo read book\n"
+            + "deadline submit report /by 2/12/2024 1800\n"
+            + "mark 1\n"
+            + "mark 9\n"
+            + "delete 2\n"
+            + "bye\n"
+            + "todo never run\n";
+
+    @Test
+    public void testScriptSavesOnceAndReportsErrorsByLine() throws Exception {
+        InMemoryStorage backend = new InMemoryStorage();
+        DeferredStorage storage = new DeferredStorage(backend);
+        TaskList taskList = new TaskList();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Ui ui = new Ui(new PrintStream(output, true, StandardCharsets.UTF_8));
+
+        ScriptRunner.Summary summary = new ScriptRunner(false)
+                .run(new BufferedReader(new StringReader(SCRIPT)), taskList, ui, storage);
+
+        String printed = output.toString(StandardCharsets.UTF_8);
+        assertTrue(printed.contains("Line 4: Task index 9 is out of range. You have 2 tasks."));
+        assertFalse(printed.contains("read book"));
+        assertEquals(6, summary.getLineCount());
+        assertEquals(1, summary.getFailureCount());
+        assertEquals(1, summary.getSaveCount());
+        assertEquals(1, backend.getWriteCount());
+        assertEquals(1, backend.load().size());
+        assertEquals("[T] [X] read book", backend.load().get(0).toString());
+        assertTrue(summary.toLines()[0].startsWith("Ran 6 commands in "));
+        assertEquals("5 succeeded, 1 failed. You now have 1 tasks.", summary.toLines()[1]);
+        assertEquals("Saved 1 time.", summary.toLines()[2]);
+    }
+
+    @Test
+    public void testVerboseScriptShowsInteractiveOutput() throws Exception {
+        String script = "todo read book\nmark 3\nlist\n";
+        ByteArrayOutputStream scripted = new ByteArrayOutputStream();
+        new ScriptRunner(true).run(new BufferedReader(new StringReader(script)), new TaskList(),
+                new Ui(new PrintStream(scripted, true, StandardCharsets.UTF_8)),
+                new DeferredStorage(new InMemoryStorage()));
+
+        ByteArrayOutputStream typed = new ByteArrayOutputStream();
+        Jimmy.run(new TaskList(), new Scanner(script),
+                new Ui(new PrintStream(typed, true, StandardCharsets.UTF_8)), new InMemoryStorage());
+
+        assertEquals(typed.toString(StandardCharsets.UTF_8), scripted.toString(StandardCharsets.UTF_8));
+    }
+}
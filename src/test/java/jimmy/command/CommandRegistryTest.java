@@ -0,0 +1,91 @@
+package jimmy.command;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import jimmy.exception.JimmyException;
+import jimmy.task.TaskList;
+import jimmy.task.Todo;
+
+public class CommandRegistryTest {
+    private static CommandRegistry createRegistry() {
+        CommandRegistry registry = new CommandRegistry();
+        registry.register("deadline", true, (fullInput, taskList, ui, storage) -> true);
+        registry.register("delete", true, (fullInput, taskList, ui, storage) -> true);
+        registry.register("list", false, (fullInput, taskList, ui, storage) -> true);
+        registry.register("bye", false, (fullInput, taskList, ui, storage) -> false);
+        registry.registerAlias("dl", "deadline");
+        return registry;
+    }
+
+    @Test
+    public void testLookupByNameAliasAndPrefix() {
+        CommandRegistry registry = createRegistry();
+        assertEquals("deadline", registry.lookup("deadline").getName());
+        assertSame(registry.lookup("deadline"), registry.lookup("dl"));
+        assertSame(registry.lookup("deadline"), registry.lookup("dea"));
+        assertEquals("delete", registry.lookup("del").getName());
+        assertEquals("list", registry.lookup("l").getName());
+        assertNull(registry.lookup("lists"));
+        assertNull(registry.lookup("x"));
+        assertNull(registry.lookup("LIST"));
+        assertNull(registry.lookup(""));
+    }
+
+    @Test
+    public void testAmbiguousPrefixNamesCandidates() {
+        CommandRegistry registry = createRegistry();
+        JimmyException e = assertThrows(JimmyException.class, () -> registry.lookup("d"));
+        assertEquals("'d' could be any of these commands: deadline, delete.", e.getMessage());
+        assertThrows(JimmyException.class, () -> registry.lookup("de"));
+    }
+
+    @Test
+    public void testCommandsCanBeAddedAndReplacedWhileRunning() {
+        CommandRegistry registry = createRegistry();
+        List<String> calls = new ArrayList<>();
+        registry.register("done", false, (fullInput, taskList, ui, storage) -> calls.add("first " + fullInput));
+        assertThrows(JimmyException.class, () -> registry.lookup("d"));
+        assertEquals("done", registry.lookup("do").getName());
+
+        registry.register("deadline", true, (fullInput, taskList, ui, storage) -> calls.add("new deadline"));
+        registry.execute(registry.lookup("dl"), "", new TaskList(), null, null);
+        registry.execute(registry.lookup("done"), "now", new TaskList(), null, null);
+
+        assertEquals(List.of("new deadline", "first now"), calls);
+        assertEquals(List.of("delete", "list", "bye", "done", "deadline"),
+                registry.getCommands().stream().map(CommandRegistry.Command::getName).toList());
+    }
+
+    @Test
+    public void testExecuteRecordsRunsAndFailures() {
+        CommandRegistry registry = createRegistry();
+        registry.register("todo", true, (fullInput, taskList, ui, storage) -> {
+            if (fullInput.isEmpty()) {
+                throw new JimmyException("The description of a todo cannot be empty.");
+            }
+            taskList.addTask(new Todo(fullInput));
+            return true;
+        });
+        TaskList taskList = new TaskList();
+        CommandRegistry.Command todo = registry.lookup("todo");
+
+        assertTrue(registry.execute(todo, "read book", taskList, null, null));
+        assertThrows(JimmyException.class, () -> registry.execute(todo, "", taskList, null, null));
+        assertFalse(registry.execute(registry.lookup("bye"), "", taskList, null, null));
+
+        assertEquals(1, taskList.getSize());
+        assertTrue(todo.isMutating());
+        assertEquals(2, todo.getCalls());
+        assertEquals(1, todo.getFailures());
+        assertTrue(todo.getTotalNanos() >= todo.getMaxNanos());
+        assertEquals(1, registry.lookup("bye").getCalls());
+        assertEquals(0, registry.lookup("list").getCalls());
+    }
+}
@@ -0,0 +1,284 @@
+package jimmy.command;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.util.Arrays;
+import java.util.Random;
+import jimmy.exception.JimmyException;
+
+public class CommandTokenizerTest {
+    private static final String[] PIECES = {
+        "a", "b", "Z", "7", "42", " ", "  ", "\t", " \n ", "#", "#3", "/by", "/from", "/to", ".", ",",
+        "!", "?", "-", ":", "/", "@", "\u0001", "\u00e9", "todo ", "event ", "deadline "
+    };
+    private static final String[] SELECTION_PIECES = {
+        "1", "7", "12", "0", "00", " ", "\t", "-", " - ", ",", ", ", "all", "ALL", "done", "Done", "a", "#3", "."
+    };
+    /** Selections up to this position are compared index by index */
+    private static final int MAX_LISTED_INDEX = 100_000;
+
+    @Test
+    public void testNormalize() {
+        String clean = "todo read book";
+        assertSame(clean, CommandTokenizer.normalize(clean));
+        assertEquals("todo read book", CommandTokenizer.normalize("  todo\t read \n\nbook \u0001"));
+        assertEquals("", CommandTokenizer.normalize(" \t\n "));
+        assertEquals("a b", CommandTokenizer.normalize("a\tb"));
+    }
+
+    @Test
+    public void testHasOnlyAllowedCharacters() {
+        assertTrue(CommandTokenizer.hasOnlyAllowedCharacters("delete #12"));
+        assertTrue(CommandTokenizer.hasOnlyAllowedCharacters("#3 and #4"));
+        assertFalse(CommandTokenizer.hasOnlyAllowedCharacters("delete #"));
+        assertFalse(CommandTokenizer.hasOnlyAllowedCharacters("delete a#12"));
+        assertFalse(CommandTokenizer.hasOnlyAllowedCharacters("delete #12a"));
+        assertFalse(CommandTokenizer.hasOnlyAllowedCharacters("todo caf\u00e9"));
+    }
+
+    @Test
+    public void testSpans() {
+        assertEquals(2, CommandTokenizer.countOccurrences("a /by b /by c", "/by"));
+        assertEquals(0, CommandTokenizer.countOccurrences("a /b y", "/by"));
+        assertTrue(CommandTokenizer.isBlank(" \t"));
+        assertFalse(CommandTokenizer.isBlank(" x ", 0, 3));
+        assertTrue(CommandTokenizer.isBlank(" x ", 2, 3));
+        assertEquals("b c", CommandTokenizer.trimmedSpan("a  b c  d", 2, 8));
+        assertEquals('#', CommandTokenizer.firstNonBlank("  #4"));
+        assertEquals(0, CommandTokenizer.firstNonBlank("   "));
+    }
+
+    @Test
+    public void testParserMatchesRegexImplementation() {
+        Random random = new Random(21);
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder input = new StringBuilder();
+            int pieces = random.nextInt(10);
+            for (int p = 0; p < pieces; p++) {
+                input.append(PIECES[random.nextInt(PIECES.length)]);
+            }
+            String text = input.toString();
+
+            assertSameOutcome(() -> Legacy.parseCommand(text), () -> {
+                Parser.ParsedCommand parsed = Parser.parseCommand(text);
+                return parsed.command + "|" + parsed.fullInput;
+            }, text);
+            assertEquals(!text.trim().isEmpty(), Parser.isValidTodoCommand(text), text);
+            assertEquals(text.trim().startsWith("#"), Parser.isTaskIdReference(text), text);
+
+            assertSameOutcome(() -> Legacy.deadline(text),
+                    () -> Parser.isValidDeadlineCommand(text) + "|" + Parser.extractDeadlineDescription(text)
+                            + "|" + Parser.extractDeadlineDate(text), text);
+            assertSameOutcome(() -> Legacy.event(text),
+                    () -> Parser.isValidEventCommand(text) + "|" + Parser.extractEventDescription(text)
+                            + "|" + Parser.extractEventFrom(text) + "|" + Parser.extractEventTo(text), text);
+        }
+    }
+
+    @Test
+    public void testSplittingMatchesRegexImplementation() {
+        Random random = new Random(21);
+        for (int i = 0; i < 20000; i++) {
+            String text = randomInput(random, PIECES, 8);
+            assertSameOutcome(() -> Legacy.dateRange(text),
+                    () -> String.join("|", Parser.extractDateRange(text)), text);
+            assertSameOutcome(() -> Legacy.freeArguments(text),
+                    () -> String.join("|", Parser.extractFreeArguments(text)), text);
+
+            // Commands receive their arguments normalized, as parseCommand leaves them
+            String selection = CommandTokenizer.normalize(randomInput(random, SELECTION_PIECES, 7));
+            assertEquals(Legacy.isTaskSelection(selection), Parser.isTaskSelection(selection), selection);
+            assertSameOutcome(() -> describe(Legacy.parseTaskSelection(selection)),
+                    () -> describe(Parser.parseTaskSelection(selection)), selection);
+        }
+    }
+
+    private static String randomInput(Random random, String[] pieces, int maxPieces) {
+        StringBuilder input = new StringBuilder();
+        int count = random.nextInt(maxPieces + 1);
+        for (int p = 0; p < count; p++) {
+            input.append(pieces[random.nextInt(pieces.length)]);
+        }
+        return input.toString();
+    }
+
+    private static String describe(TaskSelection selection) {
+        String description = selection.getKind() + "|" + selection.getLastIndex();
+        if (selection.getLastIndex() <= MAX_LISTED_INDEX) {
+            description += "|" + Arrays.toString(selection.toIndices());
+        }
+        return description;
+    }
+
+    /**
+     * Checks that the parser gives the same result or error message as the regex version.
+     * Where the regex version crashed, the parser must report a user-facing error instead.
+     */
+    private static void assertSameOutcome(Outcome legacy, Outcome current, String input) {
+        String expected;
+        boolean isCrash = false;
+        try {
+            expected = legacy.get();
+        } catch (JimmyException e) {
+            expected = "error: " + e.getMessage();
+        } catch (RuntimeException e) {
+            expected = null;
+            isCrash = true;
+        }
+        if (isCrash) {
+            assertThrows(JimmyException.class, current::get, input);
+            return;
+        }
+        String actual;
+        try {
+            actual = current.get();
+        } catch (JimmyException e) {
+            actual = "error: " + e.getMessage();
+        }
+        assertEquals(expected, actual, input);
+    }
+
+    private interface Outcome {
+        String get();
+    }
+
+    /**
+     * The regular expression and split based parsing the tokenizer replaced, kept as a reference.
+     */
+    private static final class Legacy {
+        static String parseCommand(String userInput) {
+            String normalizedInput = userInput.trim().replaceAll("\\s+", " ");
+            if (normalizedInput.isEmpty()) {
+                throw new JimmyException("Input cannot be empty or contain only whitespace.");
+            }
+            String withoutIds = normalizedInput.replaceAll("(^|\\s)#(\\d+)(?=\\s|$)", "$1$2");
+            if (!withoutIds.matches("^[a-zA-Z0-9\\s.,!?/\\-:]+$")) {
+                throw new JimmyException("Input contains invalid special characters.");
+            }
+            String[] inputParts = normalizedInput.split(" ", 2);
+            return inputParts[0] + "|" + (inputParts.length > 1 ? inputParts[1] : "");
+        }
+
+        static String deadline(String fullInput) {
+            if (fullInput.trim().isEmpty()) {
+                throw new JimmyException("Description cannot be empty.");
+            }
+            int byCount = (fullInput.length() - fullInput.replace("/by", "").length()) / 3;
+            if (byCount > 1) {
+                throw new JimmyException("Keyword appears multiple times in the command. (/by)");
+            }
+            if (!fullInput.contains("/by")) {
+                throw new JimmyException("Deadline command must include '/by' keyword.");
+            }
+            String[] parts = fullInput.split("/by");
+            if (parts[0].trim().isEmpty()) {
+                throw new JimmyException("Description cannot be empty.");
+            }
+            if (parts.length < 2 || parts[1].trim().isEmpty()) {
+                throw new JimmyException("Date/time parameter is missing or empty.");
+            }
+            return "true|" + parts[0].trim() + "|" + parts[1].trim();
+        }
+
+        static String event(String fullInput) {
+            if (fullInput.trim().isEmpty()) {
+                throw new JimmyException("Description cannot be empty.");
+            }
+            int fromCount = (fullInput.length() - fullInput.replace("/from", "").length()) / 5;
+            int toCount = (fullInput.length() - fullInput.replace("/to", "").length()) / 3;
+            if (fromCount > 1) {
+                throw new JimmyException("Keyword appears multiple times in the command. (/from)");
+            }
+            if (toCount > 1) {
+                throw new JimmyException("Keyword appears multiple times in the command. (/to)");
+            }
+            if (!fullInput.contains("/from") || !fullInput.contains("/to")) {
+                throw new JimmyException("Event command must include both '/from' and '/to' keywords.");
+            }
+            String[] fromParts = fullInput.split("/from");
+            if (fromParts[0].trim().isEmpty()) {
+                throw new JimmyException("Description cannot be empty.");
+            }
+            String[] toParts = fromParts[1].split("/to");
+            if (toParts[0].trim().isEmpty()) {
+                throw new JimmyException("Start time cannot be empty.");
+            }
+            if (toParts.length < 2 || toParts[1].trim().isEmpty()) {
+                throw new JimmyException("End time cannot be empty.");
+            }
+            return "true|" + fromParts[0].trim() + "|" + toParts[0].trim() + "|" + fullInput.split("/to")[1].trim();
+        }
+
+        static String dateRange(String fullInput) {
+            String[] dates = fullInput.trim().split("\\s+");
+            if (dates.length != 2 || dates[0].isEmpty()) {
+                throw new JimmyException("A between command needs a start and an end date, "
+                        + "like 'between 1/12/2024 31/12/2024'.");
+            }
+            return String.join("|", dates);
+        }
+
+        static String freeArguments(String fullInput) {
+            String[] arguments = fullInput.trim().split("\\s+");
+            if (arguments.length < 3 || arguments.length > 4) {
+                throw new JimmyException("A free command needs a start date, an end date and a length, "
+                        + "like 'free 1/12/2024 7/12/2024 90m'.");
+            }
+            return String.join("|", arguments);
+        }
+
+        static boolean isTaskSelection(String fullInput) {
+            String trimmed = fullInput.trim();
+            return trimmed.equalsIgnoreCase("all") || trimmed.equalsIgnoreCase("done")
+                    || trimmed.contains(",") || trimmed.matches("^\\d+\\s*-.*");
+        }
+
+        static TaskSelection parseTaskSelection(String fullInput) {
+            String trimmed = fullInput.trim();
+            if (trimmed.equalsIgnoreCase("all")) {
+                return TaskSelection.all();
+            }
+            if (trimmed.equalsIgnoreCase("done")) {
+                return TaskSelection.done();
+            }
+            String[] parts = trimmed.split(",", -1);
+            int[] starts = new int[parts.length];
+            int[] ends = new int[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                String part = parts[i].trim();
+                int hyphen = part.indexOf('-');
+                if (hyphen < 0) {
+                    starts[i] = parseTaskNumber(part);
+                    ends[i] = starts[i];
+                    continue;
+                }
+                starts[i] = parseTaskNumber(part.substring(0, hyphen).trim());
+                ends[i] = parseTaskNumber(part.substring(hyphen + 1).trim());
+                if (ends[i] < starts[i]) {
+                    throw new JimmyException("A range of tasks must not end before it starts, like 9-20.");
+                }
+            }
+            return TaskSelection.positions(starts, ends);
+        }
+
+        private static int parseTaskNumber(String part) {
+            if (part.isEmpty() || !part.chars().allMatch(Character::isDigit)) {
+                throw new JimmyException("Task numbers must be numbers or ranges separated by commas, like 3,7,9-20.");
+            }
+            int number;
+            try {
+                number = Integer.parseInt(part);
+            } catch (NumberFormatException e) {
+                throw new JimmyException("Task index must be a valid number.");
+            }
+            if (number < 1) {
+                throw new JimmyException("Task index must be a positive number.");
+            }
+            return number - 1;
+        }
+    }
+}
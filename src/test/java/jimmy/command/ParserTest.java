@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import jimmy.exception.JimmyException;
 
 public class ParserTest {
@@ -139,6 +140,20 @@ public class ParserTest {
         assertThrows(JimmyException.class, () -> Parser.parseTaskIndex(""));
     }
     
+    @Test
+    public void testParseTaskIdReference() {
+        Parser.ParsedCommand parsed = Parser.parseCommand("mark #42");
+        assertEquals("#42", parsed.fullInput);
+        assertTrue(Parser.isTaskIdReference(parsed.fullInput));
+        assertEquals(42L, Parser.parseTaskId(parsed.fullInput));
+        assertFalse(Parser.isTaskIdReference("3"));
+
+        assertThrows(JimmyException.class, () -> Parser.parseCommand("mark #4x"));
+        assertThrows(JimmyException.class, () -> Parser.parseCommand("mark ##4"));
+        assertThrows(JimmyException.class, () -> Parser.parseTaskId("#"));
+        assertThrows(JimmyException.class, () -> Parser.parseTaskId("#0"));
+    }
+
     // Test utility methods
     @Test
     public void testContainsAllKeywords() {
@@ -146,4 +161,65 @@ public class ParserTest {
         assertFalse(Parser.containsAllKeywords("meeting /from 2pm", "/from", "/to"));
         assertTrue(Parser.containsAllKeywords("deadline /by tomorrow", "/by"));
     }
+
+    @Test
+    public void testExtractDateRange() {
+        String[] range = Parser.extractDateRange("1/12/2024 31/12/2024");
+        assertEquals("1/12/2024", range[0]);
+        assertEquals("31/12/2024", range[1]);
+        assertThrows(JimmyException.class, () -> Parser.extractDateRange("1/12/2024"));
+        assertThrows(JimmyException.class, () -> Parser.extractDateRange("1/12/2024 2/12/2024 3/12/2024"));
+        assertThrows(JimmyException.class, () -> Parser.extractDateRange(""));
+    }
+
+    @Test
+    public void testParseFreeArguments() {
+        assertEquals(3, Parser.extractFreeArguments("1/12/2024 7/12/2024 90m").length);
+        assertEquals(4, Parser.extractFreeArguments("1/12/2024 7/12/2024 90m 2").length);
+        assertThrows(JimmyException.class, () -> Parser.extractFreeArguments("1/12/2024 90m"));
+
+        assertEquals(90, Parser.parseDurationMinutes("90"));
+        assertEquals(90, Parser.parseDurationMinutes("90m"));
+        assertEquals(120, Parser.parseDurationMinutes("2H"));
+        assertThrows(JimmyException.class, () -> Parser.parseDurationMinutes("0m"));
+        assertThrows(JimmyException.class, () -> Parser.parseDurationMinutes("h"));
+        assertThrows(JimmyException.class, () -> Parser.parseDurationMinutes("999999999999999999h"));
+
+        assertEquals(3, Parser.parseSlotCount("3"));
+        assertThrows(JimmyException.class, () -> Parser.parseSlotCount("-1"));
+    }
+
+    @Test
+    public void testIsTaskSelection() {
+        assertTrue(Parser.isTaskSelection("1-500"));
+        assertTrue(Parser.isTaskSelection("3,7,9-20"));
+        assertTrue(Parser.isTaskSelection("ALL"));
+        assertTrue(Parser.isTaskSelection("done"));
+        assertFalse(Parser.isTaskSelection("3"));
+        assertFalse(Parser.isTaskSelection("-1"));
+        assertFalse(Parser.isTaskSelection("#12"));
+    }
+
+    @Test
+    public void testParseTaskSelection() {
+        assertEquals(TaskSelection.Kind.ALL, Parser.parseTaskSelection("all").getKind());
+        assertEquals(TaskSelection.Kind.DONE, Parser.parseTaskSelection(" Done ").getKind());
+
+        TaskSelection selection = Parser.parseTaskSelection("9-12, 3,7 ,10-11,4");
+        assertEquals(TaskSelection.Kind.POSITIONS, selection.getKind());
+        assertArrayEquals(new int[] {2, 3, 6, 8, 9, 10, 11}, selection.toIndices());
+        assertEquals(11, selection.getLastIndex());
+        assertEquals(500, Parser.parseTaskSelection("1-500").toIndices().length);
+    }
+
+    @Test
+    public void testParseTaskSelectionInvalid() {
+        assertThrows(JimmyException.class, () -> Parser.parseTaskSelection("9-3"));
+        assertThrows(JimmyException.class, () -> Parser.parseTaskSelection("0-3"));
+        assertThrows(JimmyException.class, () -> Parser.parseTaskSelection("1,,2"));
+        assertThrows(JimmyException.class, () -> Parser.parseTaskSelection("1-"));
+        assertThrows(JimmyException.class, () -> Parser.parseTaskSelection("1-2-3"));
+        assertThrows(JimmyException.class, () -> Parser.parseTaskSelection("1,two"));
+        assertThrows(JimmyException.class, () -> Parser.parseTaskSelection("1,99999999999"));
+    }
 }
@@ -0,0 +1,136 @@
+package jimmy.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import jimmy.task.Task;
+import jimmy.task.Todo;
+import jimmy.task.Deadline;
+import jimmy.task.Event;
+import jimmy.exception.JimmyException;
+
+public class BinaryStorageTest {
+    private static final String BINARY_FILE = "test_binary.bin";
+    private static final String TEXT_FILE = "test_binary.txt";
+
+    @BeforeEach
+    public void setUp() {
+        cleanupTestFiles();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        cleanupTestFiles();
+    }
+
+    private void cleanupTestFiles() {
+        try {
+            Files.deleteIfExists(Paths.get(BINARY_FILE));
+            Files.deleteIfExists(Paths.get(TEXT_FILE));
+        } catch (IOException e) {
+            // Ignore cleanup errors
+        }
+    }
+
+    @Test
+    public void testSaveAndLoadRoundTrip() {
+        BinaryStorage storage = new BinaryStorage(BINARY_FILE);
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("Buy groceries"));
+        Deadline deadline = new Deadline("Submit report", LocalDateTime.of(2024, 12, 25, 23, 59));
+        deadline.markAsDone();
+        tasks.add(deadline);
+        tasks.add(new Event("Caf\u00e9 meeting", LocalDateTime.of(2024, 12, 20, 10, 0),
+                LocalDateTime.of(2024, 12, 20, 11, 30)));
+        storage.save(tasks);
+
+        List<Task> loaded = new BinaryStorage(BINARY_FILE).load();
+        assertEquals(3, loaded.size());
+        assertEquals("T | 0 | Buy groceries", loaded.get(0).toFileString());
+        assertEquals("D | 1 | Submit report | 2024-12-25T23:59:00", loaded.get(1).toFileString());
+        assertEquals("E | 0 | Caf\u00e9 meeting | 2024-12-20T10:00:00 | 2024-12-20T11:30:00",
+                loaded.get(2).toFileString());
+    }
+
+    @Test
+    public void testMigratesFromTextFile() throws IOException {
+        Files.write(Paths.get(TEXT_FILE),
+                "T | 1 | read book\nD | 0 | cs2103 | 2025-08-29T18:00:00\n".getBytes());
+
+        List<Task> loaded = new BinaryStorage(BINARY_FILE, TEXT_FILE).load();
+        assertEquals(2, loaded.size());
+        assertTrue(Files.exists(Paths.get(BINARY_FILE)));
+
+        // Later loads read the binary snapshot even if the text file is gone
+        Files.delete(Paths.get(TEXT_FILE));
+        loaded = new BinaryStorage(BINARY_FILE, TEXT_FILE).load();
+        assertEquals("T | 1 | read book", loaded.get(0).toFileString());
+        assertEquals("D | 0 | cs2103 | 2025-08-29T18:00:00", loaded.get(1).toFileString());
+    }
+
+    @Test
+    public void testLoadWithoutAnyFile() {
+        assertEquals(0, new BinaryStorage(BINARY_FILE, TEXT_FILE).load().size());
+    }
+
+    @Test
+    public void testLoadCorruptedFile() throws IOException {
+        Files.write(Paths.get(BINARY_FILE), "T | 0 | not binary".getBytes());
+        assertThrows(JimmyException.class, () -> new BinaryStorage(BINARY_FILE).load());
+    }
+
+    @Test
+    public void testLoadTruncatedFile() throws IOException {
+        BinaryStorage storage = new BinaryStorage(BINARY_FILE);
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("Buy groceries"));
+        storage.save(tasks);
+        byte[] bytes = Files.readAllBytes(Paths.get(BINARY_FILE));
+        Files.write(Paths.get(BINARY_FILE), java.util.Arrays.copyOf(bytes, bytes.length - 3));
+        assertThrows(JimmyException.class, () -> new BinaryStorage(BINARY_FILE).load());
+    }
+
+    @Test
+    public void testFailedSaveLeavesNoTemporaryFile() throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("Buy groceries"));
+        tasks.add(null);
+        assertThrows(JimmyException.class, () -> new BinaryStorage(BINARY_FILE).save(tasks));
+        assertFalse(Files.exists(Paths.get(BINARY_FILE)));
+        try (Stream<Path> files = Files.list(Paths.get("."))) {
+            assertTrue(files.noneMatch(file -> file.getFileName().toString().startsWith(BINARY_FILE)));
+        }
+    }
+
+    @Test
+    public void testTaskIdsRoundTrip() {
+        List<Task> tasks = new ArrayList<>();
+        Task todo = new Todo("Buy groceries");
+        todo.setId(41);
+        tasks.add(todo);
+        tasks.add(new Todo("Read book"));
+        new BinaryStorage(BINARY_FILE).save(tasks);
+
+        List<Task> loaded = new BinaryStorage(BINARY_FILE).load();
+        assertEquals(41, loaded.get(0).getId());
+        // Tasks saved without an id get one above the largest stored id
+        assertEquals(42, loaded.get(1).getId());
+    }
+
+    @Test
+    public void testDeletedNewestIdIsNotReusedAfterRestart() {
+        StorageTest.assertNewestIdNotReused(new BinaryStorage(BINARY_FILE), () -> new BinaryStorage(BINARY_FILE));
+    }
+}
@@ -0,0 +1,55 @@
+package jimmy.storage;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.List;
+import jimmy.task.Task;
+import jimmy.task.TaskList;
+import jimmy.task.Todo;
+
+public class DeferredStorageTest {
+    @Test
+    public void testChangesAreWrittenOnceWhenFlushed() {
+        InMemoryStorage backend = new InMemoryStorage();
+        DeferredStorage storage = new DeferredStorage(backend);
+        TaskList taskList = new TaskList();
+        for (int i = 0; i < 50; i++) {
+            Task task = new Todo("task " + i);
+            taskList.addTask(task);
+            storage.recordAdd(taskList, task);
+        }
+        taskList.markTaskAsDone(3);
+        storage.recordMark(taskList, 3);
+
+        assertEquals(0, backend.getWriteCount());
+        assertEquals(51, storage.getPendingChanges());
+        storage.flush();
+        storage.flush();
+
+        assertEquals(1, backend.getWriteCount());
+        assertEquals(1, storage.getSaveCount());
+        assertEquals(0, storage.getPendingChanges());
+        List<Task> saved = backend.load();
+        assertEquals(50, saved.size());
+        assertEquals("[T] [X] task 3", saved.get(3).toString());
+    }
+
+    @Test
+    public void testChangesAreWrittenEveryGivenNumber() {
+        InMemoryStorage backend = new InMemoryStorage();
+        DeferredStorage storage = new DeferredStorage(backend, 10);
+        TaskList taskList = new TaskList();
+        for (int i = 0; i < 25; i++) {
+            Task task = new Todo("task " + i);
+            taskList.addTask(task);
+            storage.recordAdd(taskList, task);
+        }
+        assertEquals(2, backend.getWriteCount());
+        assertEquals(5, storage.getPendingChanges());
+
+        storage.save(List.of(new Todo("replaced")));
+        storage.close();
+        assertEquals(3, backend.getWriteCount());
+        assertEquals(List.of("[T] [ ] replaced"), backend.load().stream().map(Task::toString).toList());
+    }
+}
@@ -0,0 +1,124 @@
+package jimmy.storage;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import jimmy.task.Task;
+import jimmy.task.Todo;
+import jimmy.exception.JimmyException;
+
+public class GroupCommitWriterTest {
+    /**
+     * Sink that remembers every batch it receives.
+     */
+    private static class RecordingSink implements GroupCommitWriter.Sink {
+        private final List<List<Task>> snapshots = new ArrayList<>();
+        private final List<List<String>> batches = new ArrayList<>();
+        private boolean isFailing;
+
+        @Override
+        public synchronized void writeSnapshot(List<Task> tasks) {
+            if (isFailing) {
+                throw new JimmyException("disk full");
+            }
+            snapshots.add(tasks);
+        }
+
+        @Override
+        public synchronized void appendRecords(List<String> records) {
+            if (isFailing) {
+                throw new JimmyException("disk full");
+            }
+            batches.add(new ArrayList<>(records));
+        }
+
+        synchronized int batchCount() {
+            return batches.size();
+        }
+    }
+
+    @Test
+    public void testEveryCommandWritesBeforeReturning() {
+        RecordingSink sink = new RecordingSink();
+        GroupCommitWriter writer = new GroupCommitWriter(sink, DurabilityPolicy.everyCommand());
+        writer.submitRecord("MARK | 0");
+        assertEquals(1, sink.batchCount());
+        assertFalse(writer.hasPending());
+    }
+
+    @Test
+    public void testOnExitCoalescesRecordsIntoOneBatch() {
+        RecordingSink sink = new RecordingSink();
+        GroupCommitWriter writer = new GroupCommitWriter(sink, DurabilityPolicy.onExit());
+        for (int i = 0; i < 100; i++) {
+            writer.submitRecord("MARK | " + i);
+        }
+        assertEquals(0, sink.batchCount());
+        assertTrue(writer.hasPending());
+
+        writer.close();
+        assertEquals(1, sink.batchCount());
+        assertEquals(100, sink.batches.get(0).size());
+        assertEquals("MARK | 99", sink.batches.get(0).get(99));
+    }
+
+    @Test
+    public void testSnapshotSupersedesEarlierWork() {
+        RecordingSink sink = new RecordingSink();
+        GroupCommitWriter writer = new GroupCommitWriter(sink, DurabilityPolicy.onExit());
+        List<Task> first = new ArrayList<>();
+        first.add(new Todo("old"));
+        List<Task> second = new ArrayList<>();
+        second.add(new Todo("new"));
+
+        writer.submitSnapshot(first);
+        writer.submitRecord("MARK | 0");
+        writer.submitSnapshot(second);
+        writer.submitRecord("UNMARK | 0");
+        writer.flush();
+
+        assertEquals(1, sink.snapshots.size());
+        assertEquals("new", sink.snapshots.get(0).get(0).getDescription());
+        assertEquals(1, sink.batchCount());
+        assertEquals("UNMARK | 0", sink.batches.get(0).get(0));
+    }
+
+    @Test
+    public void testIntervalWritesInBackground() throws InterruptedException {
+        RecordingSink sink = new RecordingSink();
+        GroupCommitWriter writer = new GroupCommitWriter(sink, DurabilityPolicy.interval(10));
+        writer.submitRecord("MARK | 0");
+        for (int i = 0; i < 200 && sink.batchCount() == 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, sink.batchCount());
+        writer.close();
+    }
+
+    @Test
+    public void testFailedBatchIsReportedAndRetried() {
+        RecordingSink sink = new RecordingSink();
+        sink.isFailing = true;
+        GroupCommitWriter writer = new GroupCommitWriter(sink, DurabilityPolicy.everyCommand());
+        assertThrows(JimmyException.class, () -> writer.submitRecord("MARK | 0"));
+
+        sink.isFailing = false;
+        writer.submitRecord("MARK | 1");
+        assertEquals(1, sink.batchCount());
+        assertEquals(2, sink.batches.get(0).size());
+        assertEquals("MARK | 0", sink.batches.get(0).get(0));
+    }
+
+    @Test
+    public void testParsePolicy() {
+        assertEquals(DurabilityPolicy.Mode.EVERY_COMMAND, DurabilityPolicy.parse("every-command").getMode());
+        assertEquals(DurabilityPolicy.Mode.ON_EXIT, DurabilityPolicy.parse("on-exit").getMode());
+        assertEquals(250, DurabilityPolicy.parse("interval:250").getIntervalMillis());
+        assertThrows(JimmyException.class, () -> DurabilityPolicy.parse("interval:0"));
+        assertThrows(JimmyException.class, () -> DurabilityPolicy.parse("sometimes"));
+    }
+}
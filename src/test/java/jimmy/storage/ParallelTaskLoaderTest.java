@@ -0,0 +1,80 @@
+package jimmy.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import jimmy.task.Task;
+
+public class ParallelTaskLoaderTest {
+    private static final Path TEST_FILE = Paths.get("test_parallel.txt");
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        Files.deleteIfExists(TEST_FILE);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(TEST_FILE);
+    }
+
+    private static List<String> sampleLines(int count) {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (i % 3 == 0) {
+                lines.add("T | " + (i % 2) + " | task " + i);
+            } else if (i % 3 == 1) {
+                lines.add("D | 0 | deadline " + i + " | 2024-12-15T23:59:00");
+            } else {
+                lines.add("E | 1 | event " + i + " | 2024-12-25T14:00:00 | 2024-12-25T16:00:00");
+            }
+        }
+        return lines;
+    }
+
+    @Test
+    public void testParallelLoadMatchesSequentialOrder() throws IOException {
+        List<String> lines = sampleLines(5000);
+        lines.add(2500, "invalid line");
+        lines.add(100, "");
+        Files.write(TEST_FILE, lines);
+
+        // Tiny ranges force many chunks, each starting mid-file
+        List<Task> parallel = ParallelTaskLoader.load(TEST_FILE, null, 1000);
+        List<Task> sequential = new Storage(TEST_FILE.toString()).load();
+        assertEquals(5000, parallel.size());
+        assertEquals(sequential.size(), parallel.size());
+        for (int i = 0; i < parallel.size(); i++) {
+            assertEquals(sequential.get(i).toFileString(), parallel.get(i).toFileString());
+        }
+    }
+
+    @Test
+    public void testHandlesWindowsLineEndings() throws IOException {
+        String content = "T | 0 | first\r\nT | 1 | second\r\nT | 0 | third";
+        Files.write(TEST_FILE, content.getBytes());
+        List<Task> tasks = ParallelTaskLoader.load(TEST_FILE, null, 5);
+        assertEquals(3, tasks.size());
+        assertEquals("T | 1 | second", tasks.get(1).toFileString());
+        assertEquals("T | 0 | third", tasks.get(2).toFileString());
+    }
+
+    @Test
+    public void testChecksumCoversWholeFile() throws IOException {
+        Files.write(TEST_FILE, sampleLines(300));
+        CRC32 expected = new CRC32();
+        expected.update(Files.readAllBytes(TEST_FILE));
+
+        CRC32 actual = new CRC32();
+        ParallelTaskLoader.load(TEST_FILE, actual, 700);
+        assertEquals(expected.getValue(), actual.getValue());
+    }
+}
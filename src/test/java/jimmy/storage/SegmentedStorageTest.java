@@ -0,0 +1,130 @@
+package jimmy.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import jimmy.task.Task;
+import jimmy.task.Todo;
+import jimmy.task.TaskList;
+
+public class SegmentedStorageTest {
+    private static final String SEGMENT_DIR = "test_segments";
+    private static final String TEXT_FILE = "test_segments.txt";
+
+    @BeforeEach
+    public void setUp() {
+        cleanupTestFiles();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        cleanupTestFiles();
+    }
+
+    private void cleanupTestFiles() {
+        try {
+            Files.deleteIfExists(Paths.get(TEXT_FILE));
+            if (Files.exists(Paths.get(SEGMENT_DIR))) {
+                try (Stream<Path> paths = Files.walk(Paths.get(SEGMENT_DIR))) {
+                    for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                        Files.deleteIfExists(path);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // Ignore cleanup errors
+        }
+    }
+
+    private static TaskList addTasks(SegmentedStorage storage, int count) {
+        TaskList taskList = new TaskList(storage.load());
+        for (int i = 0; i < count; i++) {
+            Task task = new Todo("Task " + i);
+            taskList.addTask(task);
+            storage.recordAdd(taskList, task);
+        }
+        return taskList;
+    }
+
+    @Test
+    public void testTasksAreSplitIntoBoundedSegments() {
+        SegmentedStorage storage = new SegmentedStorage(SEGMENT_DIR, null, 4);
+        addTasks(storage, 10);
+        assertEquals(3, storage.getSegmentCount());
+
+        SegmentedStorage reloaded = new SegmentedStorage(SEGMENT_DIR, null, 4);
+        List<Task> tasks = reloaded.load();
+        assertEquals(10, tasks.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("Task " + i, tasks.get(i).getDescription());
+        }
+        assertEquals(3, reloaded.getSegmentCount());
+    }
+
+    @Test
+    public void testMarkRewritesOnlyAffectedSegment() throws IOException {
+        SegmentedStorage storage = new SegmentedStorage(SEGMENT_DIR, null, 4);
+        TaskList taskList = addTasks(storage, 10);
+        Path first = Paths.get(SEGMENT_DIR, "segment-0000.txt");
+        Path second = Paths.get(SEGMENT_DIR, "segment-0001.txt");
+        String firstBefore = new String(Files.readAllBytes(first));
+
+        taskList.markTaskAsDone(5);
+        storage.recordMark(taskList, 5);
+        assertEquals(firstBefore, new String(Files.readAllBytes(first)));
+        assertTrue(new String(Files.readAllBytes(second)).contains("T | 1 | Task 5"));
+
+        List<Task> tasks = new SegmentedStorage(SEGMENT_DIR).load();
+        assertEquals("X", tasks.get(5).getStatusIcon());
+    }
+
+    @Test
+    public void testDeleteDropsEmptySegment() {
+        SegmentedStorage storage = new SegmentedStorage(SEGMENT_DIR, null, 2);
+        TaskList taskList = addTasks(storage, 5);
+        taskList.removeTask(2);
+        storage.recordDelete(taskList, 2);
+        taskList.removeTask(2);
+        storage.recordDelete(taskList, 2);
+        assertEquals(2, storage.getSegmentCount());
+        assertFalse(Files.exists(Paths.get(SEGMENT_DIR, "segment-0001.txt")));
+
+        // Adding after deletions keeps the order intact
+        Task task = new Todo("Task 5");
+        taskList.addTask(task);
+        storage.recordAdd(taskList, task);
+
+        List<Task> tasks = new SegmentedStorage(SEGMENT_DIR).load();
+        assertEquals(4, tasks.size());
+        assertEquals("Task 1", tasks.get(1).getDescription());
+        assertEquals("Task 4", tasks.get(2).getDescription());
+        assertEquals("Task 5", tasks.get(3).getDescription());
+    }
+
+    @Test
+    public void testMigratesFromTextFile() throws IOException {
+        Files.write(Paths.get(TEXT_FILE), "T | 1 | Read book\nT | 0 | Buy milk\n".getBytes());
+        List<Task> tasks = new SegmentedStorage(SEGMENT_DIR, TEXT_FILE).load();
+        assertEquals(2, tasks.size());
+        assertTrue(Files.exists(Paths.get(SEGMENT_DIR, SegmentedStorage.MANIFEST_NAME)));
+
+        List<Task> reloaded = new SegmentedStorage(SEGMENT_DIR).load();
+        assertEquals("X", reloaded.get(0).getStatusIcon());
+        assertEquals("Buy milk", reloaded.get(1).getDescription());
+    }
+
+    @Test
+    public void testDeletedNewestIdIsNotReusedAfterRestart() {
+        StorageTest.assertNewestIdNotReused(new SegmentedStorage(SEGMENT_DIR), () -> new SegmentedStorage(SEGMENT_DIR));
+    }
+}
@@ -0,0 +1,107 @@
+package jimmy.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import jimmy.task.Task;
+import jimmy.task.Todo;
+import jimmy.task.Deadline;
+import jimmy.task.TaskList;
+import jimmy.exception.JimmyException;
+
+public class StorageBackendTest {
+    private static final String DATA_DIR = "test_backends";
+    private static final String DATA_FILE = DATA_DIR + "/jimmy.txt";
+
+    @BeforeEach
+    public void setUp() {
+        cleanupTestFiles();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        cleanupTestFiles();
+    }
+
+    private void cleanupTestFiles() {
+        try {
+            if (Files.exists(Paths.get(DATA_DIR))) {
+                try (Stream<Path> paths = Files.walk(Paths.get(DATA_DIR))) {
+                    for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                        Files.deleteIfExists(path);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // Ignore cleanup errors
+        }
+    }
+
+    /**
+     * Applies the same mutations through the engine as the application would.
+     */
+    private static void runWorkload(StorageEngine engine) {
+        TaskList taskList = new TaskList(engine.load());
+        for (int i = 0; i < 5; i++) {
+            Task task = new Todo("Task " + i);
+            taskList.addTask(task);
+            engine.recordAdd(taskList, task);
+        }
+        Task deadline = new Deadline("Submit assignment", "25/12/2024 2359");
+        taskList.addTask(deadline);
+        engine.recordAdd(taskList, deadline);
+        taskList.markTaskAsDone(5);
+        engine.recordMark(taskList, 5);
+        taskList.markTaskAsDone(0);
+        engine.recordMark(taskList, 0);
+        taskList.markTaskAsNotDone(0);
+        engine.recordUnmark(taskList, 0);
+        taskList.removeTask(2);
+        engine.recordDelete(taskList, 2);
+        engine.close();
+    }
+
+    @Test
+    public void testEveryBackendPersistsTheSameWorkload() {
+        for (StorageBackend backend : StorageBackend.values()) {
+            cleanupTestFiles();
+            StorageEngine engine = backend.open(DATA_FILE, DurabilityPolicy.everyCommand());
+            runWorkload(engine);
+
+            StorageEngine reader = backend == StorageBackend.MEMORY
+                    ? engine : backend.open(DATA_FILE, DurabilityPolicy.everyCommand());
+            List<Task> tasks = reader.load();
+            assertEquals(5, tasks.size(), backend.name());
+            assertEquals("T | 0 | Task 0", tasks.get(0).toFileString(), backend.name());
+            assertEquals("T | 0 | Task 3", tasks.get(2).toFileString(), backend.name());
+            assertEquals("D | 1 | Submit assignment | 2024-12-25T23:59:00", tasks.get(4).toFileString(),
+                    backend.name());
+        }
+    }
+
+    @Test
+    public void testBinaryBackendMigratesTextFile() throws IOException {
+        Files.createDirectories(Paths.get(DATA_DIR));
+        Files.write(Paths.get(DATA_FILE), "T | 1 | Read book\n".getBytes());
+        List<Task> tasks = StorageBackend.BINARY.open(DATA_FILE, DurabilityPolicy.everyCommand()).load();
+        assertEquals(1, tasks.size());
+        assertTrue(Files.exists(Paths.get(DATA_DIR, "jimmy.bin")));
+    }
+
+    @Test
+    public void testParseBackend() {
+        assertEquals(StorageBackend.SEGMENTED, StorageBackend.parse("segmented"));
+        assertEquals(StorageBackend.MEMORY, StorageBackend.parse(" Memory "));
+        assertThrows(JimmyException.class, () -> StorageBackend.parse("cloud"));
+    }
+}
@@ -4,11 +4,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.AfterEach;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -17,11 +19,15 @@ import jimmy.task.Task;
 import jimmy.task.Todo;
 import jimmy.task.Deadline;
 import jimmy.task.Event;
+import jimmy.task.TaskList;
+import jimmy.task.VersionedTaskList;
 import jimmy.exception.JimmyException;
 
 public class StorageTest {
     private static final String TEST_FILE = "test_storage.txt";
     private static final String INVALID_PATH = "/invalid/path/that/does/not/exist/test.txt";
+    private static final String JOURNAL_DIR = "test_journal";
+    private static final String JOURNAL_FILE = JOURNAL_DIR + "/jimmy.txt";
     
     @BeforeEach
     public void setUp() {
@@ -38,6 +44,9 @@ public class StorageTest {
     private void cleanupTestFiles() {
         try {
             Files.deleteIfExists(Paths.get(TEST_FILE));
+            Files.deleteIfExists(Paths.get(JOURNAL_FILE));
+            Files.deleteIfExists(Paths.get(JOURNAL_FILE + ".journal"));
+            Files.deleteIfExists(Paths.get(JOURNAL_DIR));
         } catch (IOException e) {
             // Ignore cleanup errors
         }
@@ -196,4 +205,282 @@ public class StorageTest {
             assertTrue(e instanceof Exception);
         }
     }
+
+    @Test
+    public void testJournalReplaysMutations() {
+        Storage storage = new Storage(JOURNAL_FILE, true);
+        TaskList taskList = new TaskList(storage.load());
+
+        Task first = new Todo("Buy groceries");
+        taskList.addTask(first);
+        storage.recordAdd(taskList, first);
+        Task second = new Deadline("Submit assignment", "25/12/2024 2359");
+        taskList.addTask(second);
+        storage.recordAdd(taskList, second);
+        Task third = new Todo("Read book");
+        taskList.addTask(third);
+        storage.recordAdd(taskList, third);
+        taskList.markTaskAsDone(1);
+        storage.recordMark(taskList, 1);
+        taskList.removeTask(0);
+        storage.recordDelete(taskList, 0);
+
+        // Mutations are only in the journal; the snapshot has not been written
+        assertFalse(Files.exists(Paths.get(JOURNAL_FILE)));
+
+        List<Task> loadedTasks = new Storage(JOURNAL_FILE, true).load();
+        assertEquals(2, loadedTasks.size());
+        assertEquals("Submit assignment", loadedTasks.get(0).getDescription());
+        assertEquals("X", loadedTasks.get(0).getStatusIcon());
+        assertEquals("Read book", loadedTasks.get(1).getDescription());
+    }
+
+    @Test
+    public void testJournalCompactionKeepsTasks() {
+        Storage storage = new Storage(JOURNAL_FILE, true);
+        TaskList taskList = new TaskList(storage.load());
+        for (int i = 0; i < 1500; i++) {
+            Task task = new Todo("Task " + i);
+            taskList.addTask(task);
+            storage.recordAdd(taskList, task);
+        }
+        taskList.markTaskAsDone(1499);
+        storage.recordMark(taskList, 1499);
+
+        // Compaction has folded the journal into the snapshot at least once
+        assertTrue(Files.exists(Paths.get(JOURNAL_FILE)));
+
+        List<Task> loadedTasks = new Storage(JOURNAL_FILE, true).load();
+        assertEquals(1500, loadedTasks.size());
+        assertEquals("Task 0", loadedTasks.get(0).getDescription());
+        assertEquals("X", loadedTasks.get(1499).getStatusIcon());
+    }
+
+    @Test
+    public void testStaleJournalIsIgnored() throws IOException {
+        Storage storage = new Storage(JOURNAL_FILE, true);
+        TaskList taskList = new TaskList(storage.load());
+        Task task = new Todo("Buy groceries");
+        taskList.addTask(task);
+        storage.recordAdd(taskList, task);
+
+        // Snapshot replaced behind the journal's back, e.g. by a crash mid-compaction
+        Files.write(Paths.get(JOURNAL_FILE), "T | 0 | Read book\n".getBytes());
+
+        List<Task> loadedTasks = new Storage(JOURNAL_FILE, true).load();
+        assertEquals(1, loadedTasks.size());
+        assertEquals("Read book", loadedTasks.get(0).getDescription());
+    }
+
+    @Test
+    public void testDeferredSavesReachDiskOnFlush() {
+        Storage storage = new Storage(JOURNAL_FILE, true, DurabilityPolicy.onExit());
+        TaskList taskList = new TaskList(storage.load());
+        Task task = new Todo("Buy groceries");
+        taskList.addTask(task);
+        storage.recordAdd(taskList, task);
+
+        // Nothing is written until the storage is flushed
+        assertFalse(Files.exists(Paths.get(JOURNAL_FILE + ".journal")));
+
+        storage.flush();
+        List<Task> loadedTasks = new Storage(JOURNAL_FILE, true).load();
+        assertEquals(1, loadedTasks.size());
+        storage.close();
+    }
+
+    @Test
+    public void testStatusChangePatchesFileInPlace() throws IOException {
+        Storage storage = new Storage(JOURNAL_FILE);
+        TaskList taskList = new TaskList(storage.load());
+        for (int i = 0; i < 3; i++) {
+            Task task = new Todo("Task " + i);
+            taskList.addTask(task);
+            storage.recordAdd(taskList, task);
+        }
+        File file = new File(JOURNAL_FILE);
+        long length = file.length();
+
+        taskList.markTaskAsDone(1);
+        storage.recordMark(taskList, 1);
+        assertEquals(length, file.length());
+        String lineSeparator = System.lineSeparator();
+        String expected = "T | 0 | Task 0 | 1" + lineSeparator + "T | 1 | Task 1 | 2" + lineSeparator
+                + "T | 0 | Task 2 | 3" + lineSeparator;
+        assertEquals(expected, new String(Files.readAllBytes(Paths.get(JOURNAL_FILE))));
+
+        Task added = new Deadline("Submit assignment", "25/12/2024 2359");
+        taskList.addTask(added);
+        storage.recordAdd(taskList, added);
+        taskList.markTaskAsNotDone(1);
+        storage.recordUnmark(taskList, 1);
+        taskList.removeTask(0);
+        storage.recordDelete(taskList, 0);
+
+        List<Task> loadedTasks = new Storage(JOURNAL_FILE).load();
+        assertEquals(3, loadedTasks.size());
+        assertEquals(" ", loadedTasks.get(0).getStatusIcon());
+        assertEquals("Submit assignment", loadedTasks.get(2).getDescription());
+    }
+
+    @Test
+    public void testMarkAfterLoadPatchesOnlyTheStatusByte() throws IOException {
+        Files.createDirectories(Paths.get(JOURNAL_DIR));
+        String lineSeparator = System.lineSeparator();
+        String contents = "T | 0 | Read book | 1" + lineSeparator + "T | 0 | Buy milk | 2" + lineSeparator
+                + "T | 0 | Call mum | 3" + lineSeparator;
+        Files.write(Paths.get(JOURNAL_FILE), contents.getBytes());
+        Storage storage = new Storage(JOURNAL_FILE);
+        TaskList taskList = new TaskList(storage.load(), storage.getNextId());
+
+        taskList.markTaskAsDone(1);
+        storage.recordMark(taskList, 1);
+        taskList.markTaskAsNotDone(1);
+        storage.recordUnmark(taskList, 1);
+        taskList.markTaskAsDone(2);
+        storage.recordMark(taskList, 2);
+
+        byte[] before = contents.getBytes();
+        byte[] after = Files.readAllBytes(Paths.get(JOURNAL_FILE));
+        int statusOffset = contents.indexOf("T | 0 | Call mum") + "T | ".length();
+        assertEquals(before.length, after.length);
+        for (int i = 0; i < before.length; i++) {
+            assertEquals(i == statusOffset ? '1' : before[i], after[i]);
+        }
+        List<Task> loadedTasks = new Storage(JOURNAL_FILE).load();
+        assertEquals(" ", loadedTasks.get(1).getStatusIcon());
+        assertEquals("X", loadedTasks.get(2).getStatusIcon());
+    }
+
+    @Test
+    public void testSnapshotSaveKeepsFilePatchable() throws IOException {
+        Storage storage = new Storage(JOURNAL_FILE);
+        VersionedTaskList taskList = new VersionedTaskList(storage.load());
+        taskList.addTasks(new Todo("Task 0"), new Todo("Task 1"));
+        taskList.markClean();
+        storage.save(taskList.asList());
+
+        taskList.markTaskAsDone(1);
+        storage.recordMark(taskList, 1);
+        String lineSeparator = System.lineSeparator();
+        String expected = "T | 0 | Task 0 | 1" + lineSeparator + "T | 1 | Task 1 | 2" + lineSeparator;
+        assertEquals(expected, new String(Files.readAllBytes(Paths.get(JOURNAL_FILE))));
+    }
+
+    @Test
+    public void testBatchChangesArePersistedOnce() {
+        Storage storage = new Storage(JOURNAL_FILE);
+        TaskList taskList = new TaskList(storage.load());
+        for (int i = 0; i < 5; i++) {
+            Task task = new Todo("Task " + i);
+            taskList.addTask(task);
+            storage.recordAdd(taskList, task);
+        }
+
+        taskList.markTasksAsDone(new int[] {1, 2, 3});
+        storage.recordBatch(taskList);
+        assertTrue(taskList.getDirtyIndices().isEmpty());
+        taskList.removeTasks(new int[] {0, 2});
+        storage.recordBatch(taskList);
+
+        List<Task> loadedTasks = new Storage(JOURNAL_FILE).load();
+        assertEquals(3, loadedTasks.size());
+        assertEquals("Task 1", loadedTasks.get(0).getDescription());
+        assertEquals("X", loadedTasks.get(0).getStatusIcon());
+        assertEquals("X", loadedTasks.get(1).getStatusIcon());
+        assertEquals("Task 4", loadedTasks.get(2).getDescription());
+        assertEquals(" ", loadedTasks.get(2).getStatusIcon());
+    }
+
+    @Test
+    public void testHandEditedFileIsRewrittenBeforePatching() throws IOException {
+        Files.createDirectories(Paths.get(JOURNAL_DIR));
+        Files.write(Paths.get(JOURNAL_FILE), "T | 0 | Read book\r\n\r\nT | 0 | Buy milk\r\n".getBytes());
+        Storage storage = new Storage(JOURNAL_FILE);
+        TaskList taskList = new TaskList(storage.load());
+
+        taskList.markTaskAsDone(1);
+        storage.recordMark(taskList, 1);
+
+        List<Task> loadedTasks = new Storage(JOURNAL_FILE).load();
+        assertEquals(2, loadedTasks.size());
+        assertEquals(" ", loadedTasks.get(0).getStatusIcon());
+        assertEquals("X", loadedTasks.get(1).getStatusIcon());
+    }
+
+    @Test
+    public void testTaskIdsSurviveReloadAndDeletion() throws IOException {
+        Files.createDirectories(Paths.get(JOURNAL_DIR));
+        // A file written before tasks had ids
+        Files.write(Paths.get(JOURNAL_FILE), "T | 0 | Read book\nT | 0 | Buy milk\nT | 0 | Call mum\n".getBytes());
+        Storage storage = new Storage(JOURNAL_FILE);
+        TaskList taskList = new TaskList(storage.load());
+        long milkId = taskList.getTask(1).getId();
+        long mumId = taskList.getTask(2).getId();
+
+        taskList.removeTask(0);
+        storage.recordDelete(taskList, 0);
+        Task added = new Todo("Water plants");
+        taskList.addTask(added);
+        storage.recordAdd(taskList, added);
+
+        TaskList reloaded = new TaskList(new Storage(JOURNAL_FILE).load());
+        assertEquals("Buy milk", reloaded.getTaskById(milkId).getDescription());
+        assertEquals(1, reloaded.indexOfId(mumId));
+        assertEquals("Water plants", reloaded.getTaskById(added.getId()).getDescription());
+    }
+
+    @Test
+    public void testJournalKeepsTaskIds() {
+        Storage storage = new Storage(JOURNAL_FILE, true);
+        TaskList taskList = new TaskList(storage.load());
+        for (int i = 0; i < 3; i++) {
+            Task task = new Todo("Task " + i);
+            taskList.addTask(task);
+            storage.recordAdd(taskList, task);
+        }
+        long lastId = taskList.getTask(2).getId();
+        taskList.removeTask(0);
+        storage.recordDelete(taskList, 0);
+
+        TaskList reloaded = new TaskList(new Storage(JOURNAL_FILE, true).load());
+        assertEquals(1, reloaded.indexOfId(lastId));
+        Task next = new Todo("Task 3");
+        reloaded.addTask(next);
+        assertTrue(next.getId() > lastId);
+    }
+
+    @Test
+    public void testDeletedNewestIdIsNotReusedAfterRestart() {
+        assertNewestIdNotReused(new Storage(JOURNAL_FILE), () -> new Storage(JOURNAL_FILE));
+    }
+
+    @Test
+    public void testJournalDoesNotReuseDeletedNewestId() {
+        assertNewestIdNotReused(new Storage(JOURNAL_FILE, true), () -> new Storage(JOURNAL_FILE, true));
+    }
+
+    /**
+     * Adds three tasks, deletes the newest one, restarts and checks that the next task gets a fresh id.
+     */
+    static void assertNewestIdNotReused(StorageEngine storage, Supplier<StorageEngine> restart) {
+        TaskList taskList = new TaskList(storage.load(), storage.getNextId());
+        for (int i = 0; i < 3; i++) {
+            Task task = new Todo("Task " + i);
+            taskList.addTask(task);
+            storage.recordAdd(taskList, task);
+        }
+        long deletedId = taskList.getTask(2).getId();
+        taskList.removeTask(2);
+        storage.recordDelete(taskList, 2);
+        storage.close();
+
+        StorageEngine restarted = restart.get();
+        TaskList reloaded = new TaskList(restarted.load(), restarted.getNextId());
+        assertEquals(2, reloaded.getSize());
+        Task next = new Todo("Task 3");
+        reloaded.addTask(next);
+        assertTrue(next.getId() > deletedId);
+        restarted.close();
+    }
 }
@@ -0,0 +1,73 @@
+package jimmy.storage;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.LocalDateTime;
+import jimmy.task.Task;
+import jimmy.task.Deadline;
+import jimmy.task.Event;
+import jimmy.exception.JimmyException;
+
+public class TaskRecordParserTest {
+    @Test
+    public void testParseStoredRecords() {
+        Task todo = TaskRecordParser.parse("T | 1 | read book");
+        assertEquals("T | 1 | read book", todo.toFileString());
+
+        Task deadline = TaskRecordParser.parse("D | 0 | cs2103 | 2025-08-29T18:00:00");
+        assertTrue(deadline instanceof Deadline);
+        assertEquals(LocalDateTime.of(2025, 8, 29, 18, 0), ((Deadline) deadline).getBy());
+
+        Task event = TaskRecordParser.parse("E | 0 | team meeting | 2024-12-25T14:00 | 2024-12-25T16:00");
+        assertTrue(event instanceof Event);
+        assertEquals(LocalDateTime.of(2024, 12, 25, 16, 0), ((Event) event).getTo());
+    }
+
+    @Test
+    public void testSkipsMalformedRecords() {
+        assertNull(TaskRecordParser.parse("   "));
+        assertNull(TaskRecordParser.parse("invalid task data"));
+        assertNull(TaskRecordParser.parse("T|0|Invalid task format"));
+        assertNull(TaskRecordParser.parse("0 | hi!"));
+        assertNull(TaskRecordParser.parse("T | 0 | "));
+        assertNull(TaskRecordParser.parse("D | 0 | Missing date"));
+        assertNull(TaskRecordParser.parse("X | 0 | unknown type"));
+    }
+
+    @Test
+    public void testNonIsoDatesUseTaskParsing() {
+        Task deadline = TaskRecordParser.parse("D | 0 | hand edited | 2/12/2019 1800");
+        assertEquals(LocalDateTime.of(2019, 12, 2, 18, 0), ((Deadline) deadline).getBy());
+        assertThrows(JimmyException.class, () -> TaskRecordParser.parse("D | 0 | bad | 2023-02-30T10:00:00"));
+        assertThrows(JimmyException.class,
+                () -> TaskRecordParser.parse("E | 0 | backwards | 2024-12-25T16:00 | 2024-12-25T14:00"));
+    }
+
+    @Test
+    public void testSplitMatchesStringSplit() {
+        String[] samples = {"T | 0 | a", "T | 0 | ", " | 0 | a", "E | 1 | a | b | c | d", "T | 0 | a | | "};
+        for (String sample : samples) {
+            String[] parts = new String[8];
+            String[] expected = sample.split(" \\| ");
+            assertEquals(expected.length, TaskRecordParser.split(sample, parts));
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i], parts[i]);
+            }
+        }
+    }
+
+    @Test
+    public void testParseIsoDateTime() {
+        assertEquals(LocalDateTime.of(2024, 2, 29, 23, 59, 30),
+                TaskRecordParser.parseIsoDateTime("2024-02-29T23:59:30"));
+        assertEquals(LocalDateTime.of(2024, 1, 1, 0, 0), TaskRecordParser.parseIsoDateTime(" 2024-01-01T00:00 "));
+        assertNull(TaskRecordParser.parseIsoDateTime("2023-02-29T10:00"));
+        assertNull(TaskRecordParser.parseIsoDateTime("2024-13-01T10:00"));
+        assertNull(TaskRecordParser.parseIsoDateTime("2024-01-01T24:00"));
+        assertNull(TaskRecordParser.parseIsoDateTime("2024-01-01 10:00"));
+        assertNull(TaskRecordParser.parseIsoDateTime("2/12/2019 1800"));
+    }
+}
@@ -0,0 +1,89 @@
+package jimmy.task;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class CompactTaskListTest {
+    private static List<String> render(List<Task> tasks) {
+        List<String> lines = new ArrayList<>();
+        for (Task task : tasks) {
+            lines.add(task.getId() + " " + task.toString());
+        }
+        return lines;
+    }
+
+    @Test
+    public void testTasksRoundTripThroughColumns() {
+        Deadline deadline = new Deadline("Return book", LocalDateTime.of(2024, 12, 2, 18, 0));
+        Event event = new Event("Concert", LocalDateTime.of(2024, 12, 1, 19, 0),
+                LocalDateTime.of(2024, 12, 2, 1, 0));
+        Todo todo = new Todo("Buy caf\u00e9 beans");
+        todo.markAsDone();
+        CompactTaskList compact = new CompactTaskList(List.of(deadline, event, todo));
+
+        assertEquals(3, compact.getSize());
+        assertEquals(List.of("1 " + deadline, "2 " + event, "3 " + todo), render(compact.getAllTasks()));
+        assertTrue(compact.isDone(2));
+        assertEquals(2, compact.countPending());
+
+        compact.markTaskAsDone(0);
+        assertTrue(compact.getTask(0).isDone());
+        compact.markTaskAsNotDone(2);
+        assertFalse(compact.getTask(2).isDone());
+
+        compact.removeTask(1);
+        assertEquals("Buy caf\u00e9 beans", compact.getDescription(1));
+        assertEquals(3, compact.getId(1));
+        assertEquals(1, compact.findTasksByDate(LocalDate.of(2024, 12, 2)).size());
+        assertEquals(0, compact.findTasksByDate("01/12/2024").size());
+    }
+
+    @Test
+    public void testMatchesTaskListUnderRandomOperations() {
+        Random random = new Random(15);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        TaskList reference = new TaskList();
+        CompactTaskList compact = new CompactTaskList();
+        for (int i = 0; i < 3000; i++) {
+            int operation = random.nextInt(10);
+            if (operation < 2 && reference.getSize() > 0) {
+                int index = random.nextInt(reference.getSize());
+                reference.removeTask(index);
+                compact.removeTask(index);
+            } else if (operation < 4 && reference.getSize() > 0) {
+                int index = random.nextInt(reference.getSize());
+                reference.markTaskAsDone(index);
+                compact.markTaskAsDone(index);
+            } else {
+                LocalDateTime date = base.plusMinutes(random.nextInt(60 * 24 * 60));
+                Task task;
+                switch (operation % 3) {
+                case 0:
+                    task = new Deadline("Deadline " + i, date);
+                    break;
+                case 1:
+                    task = new Event("Event " + i, date, date.plusHours(random.nextInt(48)));
+                    break;
+                default:
+                    task = new Todo("Todo " + i);
+                    break;
+                }
+                reference.addTask(task);
+                compact.addTask(task);
+            }
+        }
+
+        assertEquals(render(reference.getAllTasks()), render(compact.getAllTasks()));
+        for (int day = 0; day < 60; day++) {
+            LocalDate date = base.toLocalDate().plusDays(day);
+            assertEquals(render(reference.findTasksOn(date)), render(compact.findTasksByDate(date)));
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package jimmy.task;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ConcurrentTaskListTest {
+    private static final int WRITERS = 8;
+    private static final int TASKS_PER_WRITER = 2000;
+
+    @Test
+    public void testConcurrentWritersLoseNoUpdates() throws Exception {
+        ConcurrentTaskList taskList = new ConcurrentTaskList();
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS + 2);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean isWriting = new AtomicBoolean(true);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            int writer = w;
+            writers.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < TASKS_PER_WRITER; i++) {
+                    Todo todo = new Todo("writer" + writer + " task" + i);
+                    // Add and mark as one step, so the index cannot go stale in between
+                    taskList.callExclusively(() -> {
+                        taskList.addTask(todo);
+                        taskList.markTaskAsDone(taskList.indexOfId(todo.getId()));
+                        return null;
+                    });
+                    if (i % 4 == 0) {
+                        taskList.callExclusively(() -> {
+                            taskList.removeTask(taskList.indexOfId(todo.getId()));
+                            return null;
+                        });
+                    }
+                }
+                return null;
+            }));
+        }
+        List<Future<?>> readers = new ArrayList<>();
+        for (int r = 0; r < 2; r++) {
+            readers.add(pool.submit(() -> {
+                start.await();
+                while (isWriting.get()) {
+                    for (Task task : taskList.findByKeyword("writer1 task")) {
+                        assertNotNull(task);
+                    }
+                    int count = 0;
+                    for (Task task : taskList) {
+                        count++;
+                    }
+                    assertTrue(count <= WRITERS * TASKS_PER_WRITER);
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> writer : writers) {
+            writer.get(1, TimeUnit.MINUTES);
+        }
+        isWriting.set(false);
+        for (Future<?> reader : readers) {
+            reader.get(1, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+
+        int expected = WRITERS * (TASKS_PER_WRITER - TASKS_PER_WRITER / 4);
+        assertEquals(expected, taskList.getSize());
+        Set<Long> ids = new HashSet<>();
+        for (Task task : taskList.getAllTasks()) {
+            assertTrue(task.isDone());
+            assertTrue(ids.add(task.getId()));
+            assertEquals(ids.size() - 1, taskList.indexOfId(task.getId()));
+        }
+        assertEquals(TASKS_PER_WRITER - TASKS_PER_WRITER / 4, taskList.findByKeyword("writer3 ").size());
+    }
+
+    @Test
+    public void testNestedCallsDoNotDeadlock() {
+        ConcurrentTaskList taskList = new ConcurrentTaskList(List.of(new Todo("read book")));
+        int size = taskList.callExclusively(() -> {
+            taskList.insertTask(0, new Todo("buy milk"));
+            taskList.forEach(task -> assertNotNull(taskList.getTaskById(task.getId())));
+            return taskList.getSize();
+        });
+        assertEquals(2, size);
+        assertEquals("buy milk", taskList.asList().get(0).getDescription());
+    }
+
+    @Test
+    public void testReadersOnlySeeCompletedWrites() throws Exception {
+        ConcurrentTaskList taskList = new ConcurrentTaskList();
+        int[] all = new int[64];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = i;
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        AtomicBoolean isWriting = new AtomicBoolean(true);
+        Future<?> writer = pool.submit(() -> {
+            for (int round = 0; round < 2000; round++) {
+                Task[] batch = new Task[all.length];
+                for (int i = 0; i < batch.length; i++) {
+                    batch[i] = new Todo("round" + round + " task" + i);
+                }
+                taskList.addTasks(batch);
+                // Removing every task takes the path that rebuilds the tree
+                taskList.removeTasks(all);
+            }
+            isWriting.set(false);
+            return null;
+        });
+        List<Future<?>> readers = new ArrayList<>();
+        for (int r = 0; r < 2; r++) {
+            readers.add(pool.submit(() -> {
+                while (isWriting.get()) {
+                    int size = taskList.getSize();
+                    assertTrue(size == 0 || size == all.length);
+                }
+                return null;
+            }));
+        }
+        writer.get(1, TimeUnit.MINUTES);
+        for (Future<?> reader : readers) {
+            reader.get(1, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+        assertEquals(0, taskList.getSize());
+    }
+
+    @Test
+    public void testChangingWhileReadingIsRejected() {
+        ConcurrentTaskList taskList = new ConcurrentTaskList(List.of(new Todo("read book")));
+        assertThrows(IllegalStateException.class,
+                () -> taskList.forEach(task -> taskList.addTask(new Todo("buy milk"))));
+        assertEquals(1, taskList.getSize());
+
+        // The read lock was released, so writers can go ahead
+        taskList.addTask(new Todo("buy milk"));
+        assertEquals(2, taskList.getSize());
+    }
+}
@@ -0,0 +1,152 @@
+package jimmy.task;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+import jimmy.exception.JimmyException;
+
+public class DateTimeCodecTest {
+    private static final String[] SEPARATORS = {"/", "-", " ", ":", "T", "t", "+", ".", "x"};
+
+    @Test
+    public void testParsesEveryFormat() {
+        LocalDateTime expected = LocalDateTime.of(2024, 12, 2, 18, 0);
+        assertEquals(expected, DateTimeCodec.parse("2/12/2024 1800"));
+        assertEquals(expected, DateTimeCodec.parse(" 02/12/2024 1800 "));
+        assertEquals(expected, DateTimeCodec.parse("2024-12-02 18:00"));
+        assertEquals(expected, DateTimeCodec.parse("02-12-2024 18:00"));
+        assertEquals(expected, DateTimeCodec.parse("2024-12-02T18:00"));
+        assertEquals(expected.withSecond(30), DateTimeCodec.parse("2024-12-02T18:00:30"));
+        assertEquals(expected.withNano(500_000_000), DateTimeCodec.parse("2024-12-02T18:00:00.5"));
+    }
+
+    @Test
+    public void testResolvesLikeFormatters() {
+        // The user formats move days past the end of the month back and read 2400 as the next midnight
+        assertEquals(LocalDateTime.of(2024, 2, 29, 10, 0), DateTimeCodec.parse("31/2/2024 1000"));
+        assertEquals(LocalDateTime.of(2024, 12, 3, 0, 0), DateTimeCodec.parse("2/12/2024 2400"));
+        assertThrows(JimmyException.class, () -> DateTimeCodec.parse("32/1/2024 1000"));
+        assertThrows(JimmyException.class, () -> DateTimeCodec.parse("2024-02-30T10:00"));
+        assertNull(DateTimeCodec.parseIso("2024-02-30T10:00"));
+    }
+
+    @Test
+    public void testErrorMessages() {
+        JimmyException empty = assertThrows(JimmyException.class, () -> DateTimeCodec.parse("  "));
+        assertEquals("Date cannot be empty.", empty.getMessage());
+        JimmyException invalid = assertThrows(JimmyException.class, () -> DateTimeCodec.parse(" tomorrow "));
+        assertEquals("Invalid date format: 'tomorrow'. Expected formats: dd/MM/yyyy HHmm, yyyy-MM-dd HH:mm, "
+                + "dd-MM-yyyy HH:mm, or ISO format", invalid.getMessage());
+    }
+
+    @Test
+    public void testRepeatedTextIsServedFromCache() {
+        LocalDateTime first = DateTimeCodec.parse("7/3/2031 0915");
+        assertSame(first, DateTimeCodec.parse("  7/3/2031 0915"));
+    }
+
+    @Test
+    public void testMatchesFormatterCascade() {
+        Random random = new Random(22);
+        for (int i = 0; i < 50000; i++) {
+            String text = random.nextBoolean() ? likelyDate(random) : noise(random);
+            String expected;
+            try {
+                expected = Legacy.parse(text).toString();
+            } catch (JimmyException e) {
+                expected = "error: " + e.getMessage();
+            }
+            String actual;
+            try {
+                actual = DateTimeCodec.parse(text).toString();
+            } catch (JimmyException e) {
+                actual = "error: " + e.getMessage();
+            }
+            assertEquals(expected, actual, text);
+        }
+    }
+
+    /**
+     * Builds text in one of the accepted layouts with fields that may be out of range or oddly padded.
+     */
+    private static String likelyDate(Random random) {
+        String year = number(random, random.nextInt(10001), random.nextInt(10) == 0 ? 5 : 4);
+        String month = number(random, random.nextInt(14), random.nextInt(3) + 1);
+        String day = number(random, random.nextInt(33), random.nextInt(3) + 1);
+        String hour = number(random, random.nextInt(26), 2);
+        String minute = number(random, random.nextInt(61), 2);
+        if (random.nextInt(10) == 0) {
+            year = "+" + year;
+        }
+        switch (random.nextInt(4)) {
+        case 0:
+            return day + "/" + month + "/" + year + " " + hour + minute;
+        case 1:
+            return year + "-" + month + "-" + day + " " + hour + ":" + minute;
+        case 2:
+            return day + "-" + month + "-" + year + " " + hour + ":" + minute;
+        default:
+            String time = year + "-" + month + "-" + day + (random.nextBoolean() ? "T" : "t") + hour + ":" + minute;
+            return random.nextBoolean() ? time : time + ":" + number(random, random.nextInt(61), 2)
+                    + (random.nextInt(4) == 0 ? "." + random.nextInt(1000) : "");
+        }
+    }
+
+    private static String number(Random random, int value, int minDigits) {
+        StringBuilder digits = new StringBuilder(Integer.toString(value));
+        while (digits.length() < minDigits) {
+            digits.insert(0, '0');
+        }
+        return digits.toString();
+    }
+
+    private static String noise(Random random) {
+        StringBuilder text = new StringBuilder();
+        int pieces = random.nextInt(8);
+        for (int i = 0; i < pieces; i++) {
+            if (random.nextBoolean()) {
+                text.append(random.nextInt(100000));
+            } else {
+                text.append(SEPARATORS[random.nextInt(SEPARATORS.length)]);
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * The exception cascade the codec replaced, kept as a reference.
+     */
+    private static final class Legacy {
+        static LocalDateTime parse(String dateTimeStr) {
+            if (dateTimeStr == null || dateTimeStr.trim().isEmpty()) {
+                throw new JimmyException("Date cannot be empty.");
+            }
+            String trimmed = dateTimeStr.trim();
+            try {
+                return LocalDateTime.parse(trimmed, DateTimeFormatter.ofPattern("d/M/yyyy HHmm"));
+            } catch (DateTimeParseException e) {
+                try {
+                    return LocalDateTime.parse(trimmed, DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
+                } catch (DateTimeParseException e2) {
+                    try {
+                        return LocalDateTime.parse(trimmed, DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm"));
+                    } catch (DateTimeParseException e3) {
+                        try {
+                            return LocalDateTime.parse(trimmed, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+                        } catch (DateTimeParseException e4) {
+                            throw new JimmyException("Invalid date format: '" + trimmed
+                                    + "'. Expected formats: dd/MM/yyyy HHmm, yyyy-MM-dd HH:mm, dd-MM-yyyy HH:mm, "
+                                    + "or ISO format");
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -20,4 +20,16 @@ public class DeadlineTest {
         assertEquals("X", deadline.getStatusIcon()); 
         assertEquals(LocalDateTime.of(2024, 1, 20, 14, 0), deadline.getBy());
     }
+
+    @Test
+    public void testEpochSecondStorage() {
+        LocalDateTime by = LocalDateTime.of(2024, 1, 15, 18, 0, 30);
+        Deadline deadline = new Deadline("Submit report", by);
+        assertEquals(by, deadline.getBy());
+        assertEquals(new Deadline("Submit report", deadline.getByEpochSecond()).toString(), deadline.toString());
+        assertEquals("D | 0 | Submit report | 2024-01-15T18:00:30", deadline.toFileString());
+
+        deadline.markAsDone();
+        assertEquals("[D] [X] Submit report (by: Jan 15 2024, 6:00 PM)", deadline.toString());
+    }
 }
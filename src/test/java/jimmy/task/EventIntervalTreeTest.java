@@ -0,0 +1,163 @@
+package jimmy.task;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class EventIntervalTreeTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private static boolean overlaps(Event a, Event b) {
+        return a.getFrom().isBefore(b.getTo()) && b.getFrom().isBefore(a.getTo());
+    }
+
+    private static Event randomEvent(Random random, int i) {
+        LocalDateTime from = BASE.plusMinutes(random.nextInt(60 * 24 * 30));
+        return new Event("Event " + i, from, from.plusMinutes(1 + random.nextInt(600)));
+    }
+
+    @Test
+    public void testHalfOpenSpans() {
+        TaskList taskList = new TaskList();
+        Event morning = new Event("Morning", BASE.withHour(9), BASE.withHour(11));
+        Event noon = new Event("Noon", BASE.withHour(11), BASE.withHour(12));
+        Event brunch = new Event("Brunch", BASE.withHour(10), BASE.withHour(13));
+        taskList.addTasks(morning, noon, new Todo("Not an event"), brunch);
+
+        assertEquals(List.of(brunch), taskList.findOverlappingEvents(morning));
+        assertEquals(List.of(brunch), taskList.findOverlappingEvents(noon));
+        assertEquals(List.of(morning, noon), taskList.findOverlappingEvents(brunch));
+        assertTrue(taskList.findOverlappingEvents(BASE.withHour(13), BASE.withHour(14)).isEmpty());
+
+        List<EventConflict> conflicts = taskList.findConflicts();
+        assertEquals(2, conflicts.size());
+        assertSame(morning, conflicts.get(0).getFirst());
+        assertSame(brunch, conflicts.get(0).getSecond());
+        assertSame(brunch, conflicts.get(1).getFirst());
+        assertSame(noon, conflicts.get(1).getSecond());
+    }
+
+    @Test
+    public void testMatchesPairwiseScanAfterAddsAndRemoves() {
+        Random random = new Random(13);
+        TaskList taskList = new TaskList();
+        for (int i = 0; i < 600; i++) {
+            if (random.nextInt(4) == 0 && taskList.getSize() > 0) {
+                taskList.removeTask(random.nextInt(taskList.getSize()));
+            } else {
+                taskList.addTask(randomEvent(random, i));
+            }
+        }
+
+        List<Task> events = taskList.getAllTasks();
+        Set<String> expectedPairs = new HashSet<>();
+        for (int i = 0; i < events.size(); i++) {
+            Event event = (Event) events.get(i);
+            List<Task> expected = new ArrayList<>();
+            for (int j = 0; j < events.size(); j++) {
+                if (i != j && overlaps(event, (Event) events.get(j))) {
+                    expected.add(events.get(j));
+                    expectedPairs.add(Math.min(event.getId(), events.get(j).getId()) + "-"
+                            + Math.max(event.getId(), events.get(j).getId()));
+                }
+            }
+            assertEquals(expected, taskList.findOverlappingEvents(event));
+        }
+
+        Set<String> pairs = new HashSet<>();
+        for (EventConflict conflict : taskList.findConflicts()) {
+            assertTrue(overlaps(conflict.getFirst(), conflict.getSecond()));
+            assertTrue(!conflict.getSecond().getFrom().isBefore(conflict.getFirst().getFrom()));
+            long a = conflict.getFirst().getId();
+            long b = conflict.getSecond().getId();
+            assertTrue(pairs.add(Math.min(a, b) + "-" + Math.max(a, b)));
+        }
+        assertEquals(expectedPairs, pairs);
+    }
+
+    @Test
+    public void testManyEvents() {
+        List<Task> events = new ArrayList<>();
+        for (int i = 0; i < 300000; i++) {
+            // Back-to-back hour-long events, with every thousandth one running over into the next
+            LocalDateTime from = BASE.plusHours(i);
+            events.add(new Event("Event " + i, from, from.plusMinutes(i % 1000 == 0 ? 90 : 60)));
+        }
+        TaskList taskList = new TaskList(events);
+        assertEquals(300, taskList.findConflicts().size());
+        assertEquals(1, taskList.findOverlappingEvents(BASE.plusHours(5000).plusMinutes(10),
+                BASE.plusHours(5000).plusMinutes(20)).size());
+    }
+
+    @Test
+    public void testFreeSlots() {
+        TaskList taskList = new TaskList();
+        taskList.addTasks(new Event("Overnight", BASE.minusHours(2), BASE.plusHours(8)),
+                new Event("Standup", BASE.plusHours(9), BASE.plusHours(10)),
+                new Event("Review", BASE.plusHours(9).plusMinutes(30), BASE.plusHours(11)),
+                new Event("Lunch", BASE.plusHours(12), BASE.plusHours(13)));
+
+        List<TimeSlot> slots = taskList.findFreeSlots(BASE, BASE.plusDays(1), Duration.ofMinutes(60), 10);
+        assertEquals(3, slots.size());
+        assertEquals(BASE.plusHours(8), slots.get(0).getStart());
+        assertEquals(BASE.plusHours(9), slots.get(0).getEnd());
+        assertEquals(BASE.plusHours(11), slots.get(1).getStart());
+        assertEquals(BASE.plusHours(12), slots.get(1).getEnd());
+        assertEquals(BASE.plusHours(13), slots.get(2).getStart());
+        assertEquals(BASE.plusDays(1), slots.get(2).getEnd());
+
+        assertEquals(1, taskList.findFreeSlots(BASE, BASE.plusDays(1), Duration.ofMinutes(90), 10).size());
+        assertEquals(2, taskList.findFreeSlots(BASE, BASE.plusDays(1), Duration.ofMinutes(60), 2).size());
+        assertTrue(taskList.findFreeSlots(BASE.plusHours(9), BASE.plusHours(11), Duration.ofMinutes(1), 10)
+                .isEmpty());
+    }
+
+    @Test
+    public void testFreeSlotsMatchMinuteScan() {
+        Random random = new Random(14);
+        TaskList taskList = new TaskList();
+        for (int i = 0; i < 200; i++) {
+            LocalDateTime from = BASE.plusMinutes(random.nextInt(60 * 24 * 7));
+            taskList.addTask(new Event("Event " + i, from, from.plusMinutes(1 + random.nextInt(240))));
+        }
+        LocalDateTime start = BASE.plusDays(2);
+        LocalDateTime end = BASE.plusDays(5);
+
+        // Mark every busy minute of the span, then read the free runs off in order
+        int minutes = (int) Duration.between(start, end).toMinutes();
+        boolean[] busy = new boolean[minutes];
+        for (Task task : taskList.getAllTasks()) {
+            Event event = (Event) task;
+            for (int m = 0; m < minutes; m++) {
+                LocalDateTime time = start.plusMinutes(m);
+                if (!time.isBefore(event.getFrom()) && time.isBefore(event.getTo())) {
+                    busy[m] = true;
+                }
+            }
+        }
+        List<String> expected = new ArrayList<>();
+        for (int m = 0; m < minutes; m++) {
+            int runStart = m;
+            while (m < minutes && !busy[m]) {
+                m++;
+            }
+            if (m - runStart >= 30) {
+                expected.add(new TimeSlot(start.plusMinutes(runStart), start.plusMinutes(m)).toString());
+            }
+        }
+
+        List<String> actual = new ArrayList<>();
+        for (TimeSlot slot : taskList.findFreeSlots(start, end, Duration.ofMinutes(30), Integer.MAX_VALUE)) {
+            actual.add(slot.toString());
+        }
+        assertEquals(expected, actual);
+    }
+}
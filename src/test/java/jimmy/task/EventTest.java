@@ -22,4 +22,17 @@ public class EventTest {
         assertEquals(LocalDateTime.of(2024, 1, 16, 14, 0), event.getFrom()); 
         assertEquals(LocalDateTime.of(2024, 1, 16, 15, 0), event.getTo()); 
     }
+
+    @Test
+    public void testEpochSecondStorage() {
+        Event event = new Event("Team meeting", "15/1/2024 0900", "15/1/2024 1000");
+        Event copy = new Event("Team meeting", event.getFromEpochSecond(), event.getToEpochSecond());
+        assertEquals(event.getFrom(), copy.getFrom());
+        assertEquals(event.getTo(), copy.getTo());
+        assertEquals(3600, event.getToEpochSecond() - event.getFromEpochSecond());
+
+        assertEquals("[E] [ ] Team meeting (from: Jan 15 2024, 9:00 AM to: Jan 15 2024, 10:00 AM)", event.toString());
+        event.markAsDone();
+        assertEquals("[E] [X] Team meeting (from: Jan 15 2024, 9:00 AM to: Jan 15 2024, 10:00 AM)", event.toString());
+    }
 }
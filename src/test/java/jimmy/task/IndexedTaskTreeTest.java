@@ -0,0 +1,57 @@
+package jimmy.task;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class IndexedTaskTreeTest {
+    @Test
+    public void testMatchesArrayListUnderRandomOperations() {
+        List<Task> initial = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            initial.add(new Todo("Initial " + i));
+        }
+        List<IndexedTaskTree.Node> nodes = new ArrayList<>();
+        IndexedTaskTree tree = new IndexedTaskTree(initial, nodes);
+        List<Task> expected = new ArrayList<>(initial);
+        assertEquals(100, nodes.size());
+
+        Random random = new Random(11);
+        for (int i = 0; i < 20000; i++) {
+            int operation = random.nextInt(3);
+            if (operation == 0 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                Task task = new Todo("Task " + i);
+                IndexedTaskTree.Node node = tree.insert(index, task);
+                expected.add(index, task);
+                assertEquals(index, tree.indexOf(node));
+            } else if (operation == 1) {
+                int index = random.nextInt(expected.size());
+                IndexedTaskTree.Node removed = tree.remove(index);
+                assertSame(expected.remove(index), removed.getTask());
+                assertEquals(-1, tree.indexOf(removed));
+            } else {
+                int index = random.nextInt(expected.size());
+                assertSame(expected.get(index), tree.get(index));
+                assertEquals(index, tree.indexOf(tree.nodeAt(index)));
+            }
+            assertEquals(expected.size(), tree.size());
+        }
+        assertEquals(expected, tree.toList());
+    }
+
+    @Test
+    public void testEmptyTree() {
+        IndexedTaskTree tree = new IndexedTaskTree(new ArrayList<>(), new ArrayList<>());
+        assertEquals(0, tree.size());
+        assertEquals(0, tree.toList().size());
+        Task task = new Todo("Only");
+        IndexedTaskTree.Node node = tree.insert(0, task);
+        assertSame(task, tree.remove(0).getTask());
+        assertEquals(-1, tree.indexOf(node));
+        assertEquals(0, tree.size());
+    }
+}
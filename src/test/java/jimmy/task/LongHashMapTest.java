@@ -0,0 +1,47 @@
+package jimmy.task;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class LongHashMapTest {
+    @Test
+    public void testPutGetRemove() {
+        LongHashMap<String> map = new LongHashMap<>();
+        assertNull(map.put(42L, "a"));
+        assertEquals("a", map.put(42L, "b"));
+        assertEquals("b", map.get(42L));
+        assertTrue(map.containsKey(42L));
+        assertEquals(1, map.size());
+
+        assertEquals("b", map.remove(42L));
+        assertNull(map.remove(42L));
+        assertFalse(map.containsKey(42L));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testMatchesHashMapUnderRandomOperations() {
+        LongHashMap<Long> map = new LongHashMap<>();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 200000; i++) {
+            // A small key range forces long probe runs and many removals inside them
+            long key = random.nextInt(5000) * 1024L;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (long key = 0; key < 5000 * 1024L; key += 1024) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+}
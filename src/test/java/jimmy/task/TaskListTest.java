@@ -4,7 +4,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import static org.junit.jupiter.api.Assertions.*;
 import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Random;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 /**
@@ -165,4 +169,265 @@ public class TaskListTest {
         // These would throw AssertionError in debug mode, not IndexOutOfBoundsException
         // In production builds, assertions are typically disabled
     }
+
+    @Test
+    public void testDirtyTrackingRecordsChangesSinceClean() {
+        List<Task> initial = new ArrayList<>();
+        initial.add(todoTask);
+        initial.add(deadlineTask);
+        TaskList trackedList = new TaskList(initial);
+        assertEquals(2, trackedList.getCleanSize());
+        long version = trackedList.getVersion();
+
+        trackedList.markTaskAsDone(1);
+        trackedList.addTask(eventTask);
+        trackedList.markTaskAsDone(2);
+        assertTrue(trackedList.getVersion() > version);
+        assertEquals(List.of(1), trackedList.getDirtyIndices());
+        assertEquals(List.of(eventTask), trackedList.getAddedTasks());
+        assertFalse(trackedList.hasStructuralChanges());
+
+        trackedList.markClean();
+        assertEquals(3, trackedList.getCleanSize());
+        assertTrue(trackedList.getDirtyIndices().isEmpty());
+        assertTrue(trackedList.getAddedTasks().isEmpty());
+
+        trackedList.removeTask(0);
+        assertTrue(trackedList.hasStructuralChanges());
+    }
+
+    @Test
+    public void testTasksAreIndexedByStableId() {
+        taskList.addTask(todoTask);
+        taskList.addTask(deadlineTask);
+        taskList.addTask(eventTask);
+        long eventId = eventTask.getId();
+        assertTrue(eventId > 0);
+        assertNotEquals(todoTask.getId(), deadlineTask.getId());
+
+        taskList.removeTask(0);
+        assertEquals(eventId, eventTask.getId());
+        assertSame(eventTask, taskList.getTaskById(eventId));
+        assertEquals(1, taskList.indexOfId(eventId));
+        assertNull(taskList.getTaskById(todoTask.getId()));
+        assertEquals(-1, taskList.indexOfId(todoTask.getId()));
+    }
+
+    @Test
+    public void testAssignMissingIdsIsDeterministic() {
+        Task stored = new Todo("Stored");
+        stored.setId(7);
+        Task duplicate = new Todo("Duplicate");
+        duplicate.setId(7);
+        Task fresh = new Todo("Fresh");
+        List<Task> tasks = new ArrayList<>(List.of(fresh, stored, duplicate));
+
+        TaskList.assignMissingIds(tasks);
+        assertEquals(8, fresh.getId());
+        assertEquals(7, stored.getId());
+        assertEquals(9, duplicate.getId());
+
+        TaskList loaded = new TaskList(tasks);
+        Task added = new Todo("Added");
+        loaded.addTask(added);
+        assertEquals(10, added.getId());
+    }
+
+    @Test
+    public void testInsertTaskShiftsLaterTasks() {
+        taskList.addTask(todoTask);
+        taskList.addTask(eventTask);
+        taskList.insertTask(1, deadlineTask);
+        assertEquals(3, taskList.getSize());
+        assertSame(deadlineTask, taskList.getTask(1));
+        assertSame(eventTask, taskList.getTask(2));
+        assertEquals(2, taskList.indexOfId(eventTask.getId()));
+        assertTrue(taskList.hasStructuralChanges());
+    }
+
+    @Test
+    public void testRemovingFromFrontOfLargeList() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 200000; i++) {
+            tasks.add(new Todo("Task " + i));
+        }
+        TaskList largeList = new TaskList(tasks);
+        long lastId = largeList.getTask(199999).getId();
+        for (int i = 0; i < 100000; i++) {
+            largeList.removeTask(0);
+        }
+        assertEquals(100000, largeList.getSize());
+        assertEquals("Task 100000", largeList.getTask(0).getDescription());
+        assertEquals(99999, largeList.indexOfId(lastId));
+    }
+
+    @Test
+    public void testDateQueries() {
+        Deadline due = new Deadline("Submit report", LocalDateTime.of(2024, 12, 24, 23, 59));
+        Event party = new Event("Party", LocalDateTime.of(2024, 12, 25, 18, 0),
+                LocalDateTime.of(2024, 12, 26, 1, 0));
+        Deadline later = new Deadline("Pay rent", LocalDateTime.of(2025, 1, 1, 0, 0));
+        taskList.addTasks(later, todoTask, party, due);
+
+        assertEquals(List.of(party), taskList.findTasksByDate("2024-12-25"));
+        assertEquals(List.of(party), taskList.findTasksOn(LocalDate.of(2024, 12, 26)));
+        assertEquals(List.of(due), taskList.findTasksByDate("24/12/2024"));
+        assertEquals(List.of(party, due), taskList.findTasksBetween(LocalDate.of(2024, 12, 24),
+                LocalDate.of(2024, 12, 31)));
+        assertTrue(taskList.findTasksBetween(LocalDate.of(2024, 12, 31), LocalDate.of(2024, 12, 24)).isEmpty());
+
+        LocalDateTime now = LocalDateTime.of(2024, 12, 28, 12, 0);
+        assertEquals(List.of(due), taskList.findOverdueTasks(now));
+        taskList.markTaskAsDone(3);
+        assertTrue(taskList.findOverdueTasks(now).isEmpty());
+
+        taskList.removeTask(2);
+        assertTrue(taskList.findTasksOn(LocalDate.of(2024, 12, 26)).isEmpty());
+        assertEquals(List.of(later), taskList.findTasksByDate("01-01-2025"));
+        assertTrue(taskList.findTasksByDate("not a date").isEmpty());
+    }
+
+    @Test
+    public void testOverdueWithinTheSameMinute() {
+        Deadline due = new Deadline("Submit report", LocalDateTime.of(2024, 1, 1, 10, 0, 30));
+        taskList.addTask(due);
+
+        assertTrue(taskList.findOverdueTasks(LocalDateTime.of(2024, 1, 1, 10, 0, 15)).isEmpty());
+        assertTrue(taskList.findOverdueTasks(LocalDateTime.of(2024, 1, 1, 10, 0, 30)).isEmpty());
+        assertEquals(List.of(due), taskList.findOverdueTasks(LocalDateTime.of(2024, 1, 1, 10, 0, 30, 1)));
+        assertEquals(List.of(due), taskList.findOverdueTasks(LocalDateTime.of(2024, 1, 1, 10, 0, 45)));
+    }
+
+    @Test
+    public void testDateRangeMatchesScan() {
+        Random random = new Random(12);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Task> initial = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            LocalDateTime start = base.plusMinutes(random.nextInt(60 * 24 * 90));
+            initial.add(random.nextBoolean() ? new Deadline("D" + i, start)
+                    : new Event("E" + i, start, start.plusMinutes(random.nextInt(60 * 24 * 5))));
+        }
+        TaskList dated = new TaskList(initial);
+        for (int i = 0; i < 100; i++) {
+            dated.removeTask(random.nextInt(dated.getSize()));
+        }
+
+        for (int i = 0; i < 50; i++) {
+            LocalDate start = base.toLocalDate().plusDays(random.nextInt(90));
+            LocalDate end = start.plusDays(random.nextInt(10));
+            List<Task> expected = new ArrayList<>();
+            for (Task task : dated.getAllTasks()) {
+                List<LocalDateTime> dates = task instanceof Deadline
+                        ? List.of(((Deadline) task).getBy())
+                        : List.of(((Event) task).getFrom(), ((Event) task).getTo());
+                for (LocalDateTime date : dates) {
+                    if (!date.toLocalDate().isBefore(start) && !date.toLocalDate().isAfter(end)) {
+                        expected.add(task);
+                        break;
+                    }
+                }
+            }
+            assertEquals(expected, dated.findTasksBetween(start, end));
+        }
+    }
+
+    @Test
+    public void testAsListIsLiveReadOnlyView() {
+        List<Task> view = taskList.asList();
+        assertSame(view, taskList.asList());
+        assertTrue(view.isEmpty());
+
+        taskList.addTasks(todoTask, deadlineTask);
+        assertEquals(List.of(todoTask, deadlineTask), view);
+        assertSame(deadlineTask, view.get(1));
+        assertThrows(UnsupportedOperationException.class, () -> view.add(eventTask));
+        assertThrows(UnsupportedOperationException.class, () -> view.remove(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> view.get(2));
+
+        taskList.removeTask(0);
+        assertEquals(List.of(deadlineTask), view);
+    }
+
+    @Test
+    public void testIteratorDetectsStructuralChanges() {
+        taskList.addTasks(todoTask, deadlineTask, eventTask);
+        List<Task> seen = new ArrayList<>();
+        for (Task task : taskList) {
+            seen.add(task);
+            taskList.markTaskAsDone(seen.size() - 1);
+        }
+        assertEquals(List.of(todoTask, deadlineTask, eventTask), seen);
+        assertTrue(eventTask.isDone());
+
+        Iterator<Task> iterator = taskList.iterator();
+        iterator.next();
+        taskList.removeTask(0);
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+
+    @Test
+    public void testMarkTasksInBatch() {
+        taskList.addTasks(todoTask, deadlineTask, eventTask);
+        taskList.markClean();
+        long version = taskList.getVersion();
+
+        taskList.markTasksAsDone(new int[] {0, 2});
+        assertTrue(todoTask.isDone());
+        assertFalse(deadlineTask.isDone());
+        assertTrue(eventTask.isDone());
+        assertEquals(List.of(0, 2), taskList.getDirtyIndices());
+        assertTrue(taskList.getVersion() > version);
+
+        taskList.markTasksAsNotDone(new int[] {2});
+        assertFalse(eventTask.isDone());
+    }
+
+    @Test
+    public void testRemoveTasksMatchesRemovingOneByOne() {
+        Random random = new Random(20);
+        for (int size : new int[] {1, 40, 500}) {
+            for (int round = 0; round < 20; round++) {
+                List<Task> initial = new ArrayList<>();
+                for (int i = 0; i < size; i++) {
+                    initial.add(i % 3 == 0 ? new Deadline("task " + i, i * 3600L) : new Todo("task " + i));
+                }
+                TaskList batch = new TaskList(initial);
+                List<Integer> chosen = new ArrayList<>();
+                // Remove a few tasks in some rounds and most of them in others, to use both strategies
+                int percent = round % 2 == 0 ? 5 : 60;
+                for (int i = 0; i < size; i++) {
+                    if (random.nextInt(100) < percent) {
+                        chosen.add(i);
+                    }
+                }
+                int[] indices = chosen.stream().mapToInt(Integer::intValue).toArray();
+                List<Task> expectedRemoved = new ArrayList<>();
+                List<Task> expectedKept = new ArrayList<>(initial);
+                for (int i = indices.length - 1; i >= 0; i--) {
+                    expectedRemoved.add(0, expectedKept.remove(indices[i]));
+                }
+
+                assertEquals(expectedRemoved, batch.removeTasks(indices));
+                assertEquals(expectedKept, batch.getAllTasks());
+                assertEquals(indices.length > 0, batch.hasStructuralChanges());
+                for (Task task : expectedRemoved) {
+                    assertNull(batch.getTaskById(task.getId()));
+                }
+                for (int i = 0; i < expectedKept.size(); i++) {
+                    assertEquals(i, batch.indexOfId(expectedKept.get(i).getId()));
+                }
+                List<Task> expectedMatches = new ArrayList<>();
+                for (Task task : expectedKept) {
+                    if (task.getDescription().endsWith("1")) {
+                        expectedMatches.add(task);
+                    }
+                }
+                assertEquals(expectedMatches.size(), batch.findByKeyword("1").stream()
+                        .filter(task -> task.getDescription().endsWith("1")).count());
+                assertEquals(expectedKept.stream().filter(task -> task instanceof Deadline).count(),
+                        batch.findOverdueTasks(LocalDateTime.of(2100, 1, 1, 0, 0)).size());
+            }
+        }
+    }
 }
@@ -2,6 +2,8 @@ package jimmy.task;
 
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TaskTest {
     @Test
@@ -19,4 +21,19 @@ public class TaskTest {
         task.markAsNotDone();
         assertEquals(" ", task.getStatusIcon());
     }
+
+    @Test
+    public void testCopyIsIndependentOfOriginal() {
+        Deadline deadline = new Deadline("Submit report", 1_735_171_140L);
+        deadline.setId(7);
+        Task copy = deadline.copy();
+        assertEquals(deadline.toFileString(), copy.toFileString());
+        assertEquals(7, copy.getId());
+        assertTrue(copy.isCopyOf(deadline));
+        assertTrue(copy.copy().isCopyOf(deadline));
+        assertFalse(deadline.isCopyOf(copy));
+
+        deadline.markAsDone();
+        assertEquals(" ", copy.getStatusIcon());
+    }
 }
@@ -0,0 +1,83 @@
+package jimmy.task;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+public class TrigramIndexTest {
+    private static final String[] WORDS = {"read", "book", "buy", "milk", "bread", "meeting", "project",
+        "report", "call", "mum", "Review", "PLAN", "caf\u00e9"};
+
+    /**
+     * The original scanning implementation of keyword search.
+     */
+    private static List<Task> scan(List<Task> tasks, String keyword) {
+        String[] tokens = keyword.toLowerCase().trim().split("\\s+");
+        return tasks.stream().filter(task -> {
+            StringBuilder sb = new StringBuilder(task.getDescription().toLowerCase());
+            if (task instanceof Deadline) {
+                sb.append(' ').append(String.valueOf(((Deadline) task).getBy()));
+            } else if (task instanceof Event) {
+                sb.append(' ').append(String.valueOf(((Event) task).getFrom()))
+                        .append(' ').append(String.valueOf(((Event) task).getTo()));
+            }
+            String haystack = sb.toString();
+            for (String token : tokens) {
+                if (!haystack.contains(token)) {
+                    return false;
+                }
+            }
+            return true;
+        }).collect(Collectors.toList());
+    }
+
+    private static Task randomTask(Random random, int i) {
+        String description = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + i;
+        LocalDateTime start = LocalDateTime.of(2024, 1 + random.nextInt(12), 1 + random.nextInt(28), 9, 0);
+        switch (random.nextInt(3)) {
+        case 0:
+            return new Deadline(description, start);
+        case 1:
+            return new Event(description, start, start.plusHours(2));
+        default:
+            return new Todo(description);
+        }
+    }
+
+    @Test
+    public void testSearchMatchesScanAfterAddsAndRemoves() {
+        Random random = new Random(5);
+        List<Task> initial = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            initial.add(randomTask(random, i));
+        }
+        TaskList taskList = new TaskList(initial);
+        for (int i = 500; i < 1500; i++) {
+            if (random.nextInt(3) == 0 && taskList.getSize() > 0) {
+                taskList.removeTask(random.nextInt(taskList.getSize()));
+            } else {
+                taskList.addTask(randomTask(random, i));
+            }
+        }
+
+        String[] queries = {"book", "read boo", "ook 2024-03", "milk1", "bread 12", "2024-0", "t09",
+            "review", "plan", "caf\u00e9", "eeting proj", "zzz", "bo", "b m", "09:00"};
+        for (String query : queries) {
+            assertEquals(scan(taskList.getAllTasks(), query), taskList.findByKeyword(query), query);
+        }
+    }
+
+    @Test
+    public void testShortKeywordsCannotUseIndex() {
+        TrigramIndex index = new TrigramIndex(id -> true);
+        index.add(1, "buy milk");
+        assertNull(index.candidates(new String[] {"bu", "mi"}));
+        assertEquals(1, index.candidates(new String[] {"mil"}).length);
+        assertEquals(0, index.candidates(new String[] {"y m"}).length);
+    }
+}
@@ -0,0 +1,234 @@
+package jimmy.task;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class VersionedTaskListTest {
+    private static final int READERS = 4;
+    private static final int WRITES = 5000;
+
+    @Test
+    public void testSnapshotIgnoresLaterChanges() {
+        VersionedTaskList taskList = new VersionedTaskList(List.of(new Todo("Read book"), new Todo("Buy milk")));
+        TaskListSnapshot before = taskList.snapshot();
+
+        taskList.markTaskAsDone(0);
+        taskList.addTask(new Deadline("Submit report", 1_735_171_140L));
+        taskList.removeTask(1);
+        TaskListSnapshot after = taskList.snapshot();
+        taskList.clear();
+
+        assertEquals(2, before.size());
+        assertEquals("[T] [ ] Read book", before.get(0).toString());
+        assertEquals("[T] [ ] Buy milk", before.get(1).toString());
+        assertEquals(2, after.size());
+        assertEquals("[T] [X] Read book", after.get(0).toString());
+        assertEquals("Submit report", after.get(1).getDescription());
+        assertTrue(after.getVersion() > before.getVersion());
+        assertEquals(0, taskList.snapshot().size());
+    }
+
+    @Test
+    public void testSnapshotMatchesListAfterRandomChanges() {
+        Random random = new Random(19);
+        List<Task> initial = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            initial.add(new Todo("task " + i));
+        }
+        VersionedTaskList taskList = new VersionedTaskList(initial);
+        for (int step = 0; step < 3000; step++) {
+            int size = taskList.getSize();
+            int choice = random.nextInt(5);
+            if (choice == 0 || size == 0) {
+                taskList.insertTask(random.nextInt(size + 1), new Todo("inserted " + step));
+            } else if (choice == 1) {
+                taskList.addTasks(new Todo("bulk " + step), new Event("event " + step, step * 60L, step * 60L + 30));
+            } else if (choice == 2) {
+                taskList.removeTask(random.nextInt(size));
+            } else if (choice == 3) {
+                taskList.markTaskAsDone(random.nextInt(size));
+            } else {
+                taskList.markTaskAsNotDone(random.nextInt(size));
+            }
+        }
+
+        List<String> expected = new ArrayList<>();
+        for (Task task : taskList.getAllTasks()) {
+            expected.add(task.toFileString());
+        }
+        List<String> actual = new ArrayList<>();
+        for (Task task : taskList.snapshot()) {
+            actual.add(task.toFileString());
+        }
+        assertEquals(expected, actual);
+        assertEquals(taskList.getTask(taskList.getSize() / 2).toFileString(),
+                taskList.snapshot().get(taskList.getSize() / 2).toFileString());
+    }
+
+    @Test
+    public void testBatchChangesPublishOneVersion() {
+        List<Task> initial = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            initial.add(new Todo("task " + i));
+        }
+        VersionedTaskList taskList = new VersionedTaskList(initial);
+        TaskListSnapshot before = taskList.snapshot();
+
+        taskList.markTasksAsDone(new int[] {0, 1, 2, 50});
+        assertEquals(4, taskList.snapshot().stream().filter(Task::isDone).count());
+        assertEquals(0, before.stream().filter(Task::isDone).count());
+
+        // Few removals take the per-task path, many take the rebuild path
+        taskList.removeTasks(new int[] {1, 50});
+        int[] most = new int[60];
+        for (int i = 0; i < most.length; i++) {
+            most[i] = i + 10;
+        }
+        taskList.removeTasks(most);
+
+        List<String> expected = new ArrayList<>();
+        for (Task task : taskList.getAllTasks()) {
+            expected.add(task.toFileString());
+        }
+        List<String> actual = new ArrayList<>();
+        for (Task task : taskList.snapshot()) {
+            actual.add(task.toFileString());
+        }
+        assertEquals(38, actual.size());
+        assertEquals(expected, actual);
+        assertEquals(100, before.size());
+    }
+
+    @Test
+    public void testTasksAreKeptOnceAndCopiedOnlyWhenMarked() {
+        Todo book = new Todo("Read book");
+        Todo milk = new Todo("Buy milk");
+        VersionedTaskList taskList = new VersionedTaskList(List.of(book, milk));
+        TaskListSnapshot before = taskList.snapshot();
+        assertSame(book, before.get(0));
+        assertSame(milk, before.get(1));
+
+        taskList.markTaskAsDone(1);
+        TaskListSnapshot after = taskList.snapshot();
+        assertSame(book, after.get(0));
+        assertFalse(milk.isDone());
+        assertTrue(after.get(1).isDone());
+        assertTrue(after.get(1).isSameRecordAs(milk));
+        assertSame(after.get(1), taskList.getTaskById(milk.getId()));
+    }
+
+    @Test
+    public void testIndexedQueriesSeeMarkedCopies() {
+        VersionedTaskList taskList = new VersionedTaskList();
+        Deadline report = new Deadline("Submit report", LocalDateTime.of(2024, 1, 1, 9, 0));
+        Event meeting = new Event("Team meeting", LocalDateTime.of(2024, 1, 2, 10, 0),
+                LocalDateTime.of(2024, 1, 2, 11, 0));
+        Event lunch = new Event("Team lunch", LocalDateTime.of(2024, 1, 2, 10, 30),
+                LocalDateTime.of(2024, 1, 2, 12, 0));
+        taskList.addTasks(report, meeting, lunch);
+        LocalDateTime now = LocalDateTime.of(2024, 1, 3, 0, 0);
+        assertEquals(List.of(report), taskList.findOverdueTasks(now));
+
+        taskList.markTasksAsDone(new int[] {0, 1});
+        assertTrue(taskList.findOverdueTasks(now).isEmpty());
+        assertTrue(taskList.findByKeyword("team meeting").get(0).isDone());
+        assertTrue(taskList.findTasksOn(LocalDateTime.of(2024, 1, 2, 0, 0).toLocalDate()).get(0).isDone());
+        EventConflict conflict = taskList.findConflicts().get(0);
+        assertSame(taskList.getTask(1), conflict.getFirst());
+        assertTrue(conflict.getFirst().isDone());
+        assertFalse(conflict.getSecond().isDone());
+    }
+
+    @Test
+    public void testPositionsStayCorrectWhenInsertingInOnePlace() {
+        VersionedTaskList taskList = new VersionedTaskList(List.of(new Todo("first"), new Todo("last")));
+        List<Long> ids = new ArrayList<>();
+        // Enough inserts at one position to run out of keys between its neighbours
+        for (int i = 0; i < 100; i++) {
+            Todo todo = new Todo("inserted " + i);
+            taskList.insertTask(1, todo);
+            taskList.insertTask(0, new Todo("front " + i));
+            ids.add(todo.getId());
+        }
+        for (Task task : taskList) {
+            assertSame(task, taskList.getTask(taskList.indexOfId(task.getId())));
+        }
+        assertEquals(taskList.getSize() - 2, taskList.indexOfId(ids.get(0)));
+        assertEquals("last", taskList.getTask(taskList.getSize() - 1).getDescription());
+    }
+
+    @Test
+    public void testFindByKeywordSearchesSnapshot() {
+        VersionedTaskList taskList = new VersionedTaskList();
+        taskList.addTasks(new Todo("Read book"), new Todo("Return library book"), new Todo("Buy milk"));
+        TaskListSnapshot before = taskList.snapshot();
+        taskList.removeTask(0);
+
+        assertEquals(2, before.findByKeyword("book").size());
+        assertEquals(List.of("Return library book"),
+                taskList.findByKeyword("BOOK").stream().map(Task::getDescription).toList());
+        assertEquals(0, taskList.findByKeyword("  ").size());
+    }
+
+    @Test
+    public void testReadersSeeConsistentVersionsWhileWriting() throws Exception {
+        VersionedTaskList taskList = new VersionedTaskList();
+        ExecutorService pool = Executors.newFixedThreadPool(READERS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean isWriting = new AtomicBoolean(true);
+        Future<?> writer = pool.submit(() -> {
+            start.await();
+            for (int i = 0; i < WRITES; i++) {
+                // Add and mark as separate changes, so readers can land between them
+                taskList.addTask(new Todo("task " + i));
+                taskList.markTaskAsDone(i);
+            }
+            isWriting.set(false);
+            return null;
+        });
+        List<Future<?>> readers = new ArrayList<>();
+        for (int r = 0; r < READERS; r++) {
+            readers.add(pool.submit(() -> {
+                start.await();
+                long lastVersion = -1;
+                while (isWriting.get()) {
+                    TaskListSnapshot snapshot = taskList.snapshot();
+                    assertTrue(snapshot.getVersion() >= lastVersion);
+                    lastVersion = snapshot.getVersion();
+                    int pending = 0;
+                    int count = 0;
+                    for (Task task : snapshot) {
+                        pending += task.isDone() ? 0 : 1;
+                        count++;
+                    }
+                    // Every task but the newest has been marked before the next one was added
+                    assertTrue(pending <= 1);
+                    assertEquals(snapshot.size(), count);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        writer.get(30, TimeUnit.SECONDS);
+        for (Future<?> reader : readers) {
+            reader.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(WRITES, taskList.snapshot().size());
+        assertEquals(WRITES, taskList.snapshot().stream().filter(Task::isDone).count());
+    }
+}